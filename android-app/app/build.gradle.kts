@@ -4,8 +4,10 @@ plugins {
     alias(libs.plugins.android.application)
     alias(libs.plugins.kotlin.android)
     alias(libs.plugins.kotlin.compose)
+    alias(libs.plugins.kotlin.serialization)
     alias(libs.plugins.kotlin.ksp)
     alias(libs.plugins.hilt.android)
+    alias(libs.plugins.baselineprofile)
 }
 
 android {
@@ -22,6 +24,8 @@ android {
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
 
         buildConfigField("String", "API_BASE_URL", "\"http://192.168.8.64:3000/api/\"")
+        // Upper bound for the LRU cache of streamed media segments
+        buildConfigField("long", "MEDIA_CACHE_SIZE_BYTES", "512L * 1024 * 1024")
     }
 
     buildTypes {
@@ -57,10 +61,34 @@ android {
     }
 }
 
+composeCompiler {
+    stabilityConfigurationFiles.add(layout.projectDirectory.file("compose-stability.conf"))
+}
+
+// ./gradlew :app:generateReleaseBaselineProfile (needs a device or emulator on API 28+)
+baselineProfile {
+    // Generation drives the UI for minutes; run it on demand and commit the result
+    automaticGenerationDuringBuild = false
+    saveInSrc = true
+}
+
+androidComponents {
+    // Release has no signing config yet; the benchmark builds must be installable
+    onVariants(selector().withBuildType("benchmarkRelease")) { variant ->
+        variant.signingConfig.setConfig(android.signingConfigs.getByName("debug"))
+    }
+    onVariants(selector().withBuildType("nonMinifiedRelease")) { variant ->
+        variant.signingConfig.setConfig(android.signingConfigs.getByName("debug"))
+    }
+}
+
 dependencies {
     // Core
     implementation(libs.androidx.core.ktx)
     implementation(libs.androidx.activity.compose)
+    // Installs the bundled Baseline Profile on sideloaded and pre-Play installs
+    implementation(libs.androidx.profileinstaller)
+    baselineProfile(project(":benchmark"))
 
     // Lifecycle
     implementation(libs.bundles.lifecycle)
@@ -74,6 +102,8 @@ dependencies {
     implementation(libs.hilt.android)
     ksp(libs.hilt.android.compiler)
     implementation(libs.androidx.hilt.navigation.compose)
+    implementation(libs.androidx.hilt.work)
+    ksp(libs.androidx.hilt.compiler)
 
     // Networking
     implementation(libs.bundles.networking)
@@ -89,9 +119,21 @@ dependencies {
     implementation(libs.bundles.room)
     ksp(libs.androidx.room.compiler)
 
+    // Paging
+    implementation(libs.bundles.paging)
+
     // Coroutines
     implementation(libs.bundles.coroutines)
 
+    // Immutable collections for stable Compose state
+    implementation(libs.kotlinx.collections.immutable)
+
+    // JankStats
+    implementation(libs.androidx.metrics.performance)
+
+    // WorkManager
+    implementation(libs.androidx.work.runtime.ktx)
+
     // DataStore
     implementation(libs.androidx.datastore.preferences)
 
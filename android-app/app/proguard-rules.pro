@@ -1,6 +1,4 @@
 # Add project specific ProGuard rules here.
 -keepattributes *Annotation*
--keepclassmembers class * {
-    @com.google.gson.annotations.SerializedName <fields>;
-}
+# kotlinx.serialization ships its own consumer rules for the generated serializers
 -keep class com.heritage.app.domain.model.** { *; }
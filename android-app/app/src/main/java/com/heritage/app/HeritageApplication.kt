@@ -1,7 +1,39 @@
 package com.heritage.app
 
 import android.app.Application
+import androidx.hilt.work.HiltWorkerFactory
+import androidx.work.Configuration
+import coil3.ImageLoader
+import coil3.PlatformContext
+import coil3.SingletonImageLoader
+import com.heritage.app.data.startup.StartupOrchestrator
+import com.heritage.app.util.ThumbnailMapper
 import dagger.hilt.android.HiltAndroidApp
+import javax.inject.Inject
 
 @HiltAndroidApp
-class HeritageApplication : Application()
+class HeritageApplication : Application(), Configuration.Provider, SingletonImageLoader.Factory {
+
+    @Inject
+    lateinit var workerFactory: HiltWorkerFactory
+
+    @Inject
+    lateinit var startupOrchestrator: StartupOrchestrator
+
+    override fun onCreate() {
+        super.onCreate()
+        // Runs while the activity is still being created; the splash waits on it
+        startupOrchestrator.start()
+    }
+
+    override val workManagerConfiguration: Configuration
+        get() = Configuration.Builder()
+            .setWorkerFactory(workerFactory)
+            .build()
+
+    override fun newImageLoader(context: PlatformContext): ImageLoader {
+        return ImageLoader.Builder(context)
+            .components { add(ThumbnailMapper()) }
+            .build()
+    }
+}
@@ -7,24 +7,49 @@ import androidx.activity.enableEdgeToEdge
 import androidx.compose.foundation.layout.fillMaxSize
 import androidx.compose.material3.MaterialTheme
 import androidx.compose.material3.Surface
+import androidx.compose.ui.ExperimentalComposeUiApi
 import androidx.compose.ui.Modifier
+import androidx.compose.ui.semantics.semantics
+import androidx.compose.ui.semantics.testTagsAsResourceId
+import androidx.metrics.performance.JankStats
 import com.heritage.app.presentation.navigation.HeritageNavigation
 import com.heritage.app.presentation.theme.HeritageTheme
+import com.heritage.app.util.JankReporter
 import dagger.hilt.android.AndroidEntryPoint
 
 @AndroidEntryPoint
 class MainActivity : ComponentActivity() {
+
+    private val jankReporter = JankReporter()
+    private lateinit var jankStats: JankStats
+
+    @OptIn(ExperimentalComposeUiApi::class)
     override fun onCreate(savedInstanceState: Bundle?) {
         super.onCreate(savedInstanceState)
         enableEdgeToEdge()
         setContent {
             HeritageTheme {
                 Surface(
-                    modifier = Modifier.fillMaxSize(),
+                    // Test tags double as resource ids so the :benchmark journeys can find lists
+                    modifier = Modifier
+                        .fillMaxSize()
+                        .semantics { testTagsAsResourceId = true },
                 ) {
                     HeritageNavigation()
                 }
             }
         }
+        jankStats = JankStats.createAndTrack(window, jankReporter)
+    }
+
+    override fun onResume() {
+        super.onResume()
+        jankStats.isTrackingEnabled = true
+    }
+
+    override fun onPause() {
+        super.onPause()
+        jankStats.isTrackingEnabled = false
+        jankReporter.flush()
     }
 }
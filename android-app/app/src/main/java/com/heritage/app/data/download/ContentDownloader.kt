@@ -0,0 +1,180 @@
+package com.heritage.app.data.download
+
+import android.content.Context
+import android.net.Uri
+import androidx.media3.common.MediaItem
+import androidx.work.BackoffPolicy
+import androidx.work.Constraints
+import androidx.work.ExistingWorkPolicy
+import androidx.work.NetworkType
+import androidx.work.OneTimeWorkRequestBuilder
+import androidx.work.WorkManager
+import androidx.work.workDataOf
+import com.heritage.app.data.local.DownloadDao
+import com.heritage.app.data.local.DownloadEntity
+import com.heritage.app.data.local.DownloadStatus
+import com.heritage.app.domain.model.Content
+import com.heritage.app.util.MediaUrls
+import dagger.hilt.android.qualifiers.ApplicationContext
+import java.io.File
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Entry point for offline downloads: creates the [DownloadEntity] row and either hands an
+ * HLS stream to [HlsDownloader] or schedules [DownloadWorker] for a progressive file, as
+ * unique work per content so repeated taps never start two transfers.
+ */
+@Singleton
+class ContentDownloader @Inject constructor(
+    @ApplicationContext context: Context,
+    private val downloadDao: DownloadDao,
+    private val hlsDownloader: HlsDownloader
+) {
+
+    private val workManager = WorkManager.getInstance(context)
+    private val downloadDirectory = File(context.getExternalFilesDir(null) ?: context.filesDir, "downloads")
+
+    /**
+     * Returns false when the content has no downloadable source file.
+     */
+    suspend fun enqueue(content: Content): Boolean {
+        // Videos are kept as their HLS stream; the MP4 original is only a fallback
+        val streamUrl = content.hlsUrl?.takeIf { content.isVideo }?.let(MediaUrls::resolve)
+        val sourceUrl = (streamUrl ?: if (content.isVideo) content.originalFileUrl else content.audioUrl)
+            ?.let(MediaUrls::resolve)
+            ?: return false
+
+        val existing = downloadDao.getDownloadById(content.id)
+        if (existing?.status == DownloadStatus.COMPLETED) return true
+        if (existing == null) {
+            downloadDao.insertDownload(
+                DownloadEntity(
+                    contentId = content.id,
+                    title = content.title,
+                    performerName = content.performer?.name,
+                    thumbnailUrl = content.thumbnailUrl,
+                    localFilePath = if (streamUrl != null) {
+                        ""
+                    } else {
+                        File(downloadDirectory, content.id + extensionOf(sourceUrl, content.isVideo)).path
+                    },
+                    fileSize = content.fileSize,
+                    duration = content.duration,
+                    isVideo = content.isVideo,
+                    downloadedAt = System.currentTimeMillis(),
+                    status = DownloadStatus.PENDING,
+                    sourceUrl = sourceUrl,
+                    streamUrl = streamUrl
+                )
+            )
+        } else {
+            downloadDao.updateDownloadStatus(content.id, DownloadStatus.PENDING)
+        }
+
+        if (streamUrl != null) {
+            try {
+                hlsDownloader.enqueue(content.id, streamUrl)
+            } catch (e: IOException) {
+                downloadDao.updateDownloadStatus(content.id, DownloadStatus.FAILED)
+                return false
+            }
+        } else {
+            schedule(content.id, existing?.fileSize ?: content.fileSize)
+        }
+        return true
+    }
+
+    suspend fun pause(contentId: String) {
+        val download = downloadDao.getDownloadById(contentId) ?: return
+        if (download.streamUrl != null) {
+            hlsDownloader.pause(contentId)
+        } else {
+            workManager.cancelUniqueWork(workName(contentId))
+        }
+        downloadDao.updateDownloadStatus(contentId, DownloadStatus.PAUSED)
+    }
+
+    suspend fun resume(contentId: String) {
+        val download = downloadDao.getDownloadById(contentId) ?: return
+        if (download.status == DownloadStatus.COMPLETED) return
+        downloadDao.updateDownloadStatus(contentId, DownloadStatus.PENDING)
+        when {
+            download.streamUrl == null -> schedule(contentId, download.fileSize)
+            // A failed stream has no queued request left to un-stop
+            download.status == DownloadStatus.FAILED -> try {
+                hlsDownloader.enqueue(contentId, download.streamUrl)
+            } catch (e: IOException) {
+                downloadDao.updateDownloadStatus(contentId, DownloadStatus.FAILED)
+            }
+            else -> hlsDownloader.resume(contentId)
+        }
+    }
+
+    /**
+     * What the player should load for [content] when a finished download exists, or null to stream.
+     */
+    suspend fun offlineMediaItem(content: Content): MediaItem? {
+        val download = downloadDao.getDownloadById(content.id)
+            ?.takeIf { it.status == DownloadStatus.COMPLETED }
+            ?: return null
+        return if (download.streamUrl != null) {
+            hlsDownloader.completedMediaItem(content.id)
+        } else {
+            File(download.localFilePath).takeIf { it.exists() }?.let { MediaItem.fromUri(Uri.fromFile(it)) }
+        }
+    }
+
+    suspend fun delete(download: DownloadEntity) {
+        if (download.streamUrl != null) hlsDownloader.remove(download.contentId)
+        workManager.cancelUniqueWork(workName(download.contentId))
+        if (download.localFilePath.isNotEmpty()) {
+            File(download.localFilePath).delete()
+            File(download.localFilePath + ChunkedDownloader.PART_SUFFIX).delete()
+        }
+        downloadDao.deleteChunks(download.contentId)
+        downloadDao.deleteDownloadById(download.contentId)
+    }
+
+    private fun schedule(contentId: String, expectedSize: Long) {
+        // Small files may use mobile data; large or unknown sizes wait for an unmetered network
+        val networkType = if (expectedSize in 1..METERED_SIZE_LIMIT) {
+            NetworkType.CONNECTED
+        } else {
+            NetworkType.UNMETERED
+        }
+        val constraints = Constraints.Builder()
+            .setRequiredNetworkType(networkType)
+            .setRequiresBatteryNotLow(true)
+            .setRequiresStorageNotLow(true)
+            .build()
+
+        val request = OneTimeWorkRequestBuilder<DownloadWorker>()
+            .setInputData(workDataOf(DownloadWorker.KEY_CONTENT_ID to contentId))
+            .setConstraints(constraints)
+            .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+            .addTag(TAG)
+            .build()
+
+        workManager.enqueueUniqueWork(workName(contentId), ExistingWorkPolicy.KEEP, request)
+    }
+
+    private fun extensionOf(url: String, isVideo: Boolean): String {
+        val path = url.substringBefore('?').substringAfterLast('/')
+        val extension = path.substringAfterLast('.', "")
+        return when {
+            extension.length in 2..4 -> ".$extension"
+            isVideo -> ".mp4"
+            else -> ".mp3"
+        }
+    }
+
+    private fun workName(contentId: String) = "download_$contentId"
+
+    companion object {
+        const val TAG = "content_download"
+        private const val METERED_SIZE_LIMIT = 25L * 1024 * 1024
+    }
+}
@@ -0,0 +1,122 @@
+package com.heritage.app.data.download
+
+import android.app.NotificationChannel
+import android.app.NotificationManager
+import android.content.Context
+import android.content.pm.ServiceInfo
+import android.os.Build
+import androidx.core.app.NotificationCompat
+import androidx.hilt.work.HiltWorker
+import androidx.work.CoroutineWorker
+import androidx.work.ForegroundInfo
+import androidx.work.WorkerParameters
+import androidx.work.workDataOf
+import com.heritage.app.R
+import com.heritage.app.data.local.DownloadDao
+import com.heritage.app.data.local.DownloadStatus
+import dagger.assisted.Assisted
+import dagger.assisted.AssistedInject
+import kotlinx.coroutines.CancellationException
+import java.io.IOException
+
+/**
+ * Runs one download as a foreground job so multi-hundred-MB recordings are not cut off by
+ * the background execution limit. Network failures are retried with backoff and resume
+ * from the persisted chunk offsets.
+ */
+@HiltWorker
+class DownloadWorker @AssistedInject constructor(
+    @Assisted context: Context,
+    @Assisted params: WorkerParameters,
+    private val downloader: ChunkedDownloader,
+    private val downloadDao: DownloadDao
+) : CoroutineWorker(context, params) {
+
+    private val contentId = inputData.getString(KEY_CONTENT_ID).orEmpty()
+
+    override suspend fun doWork(): Result {
+        val download = downloadDao.getDownloadById(contentId) ?: return Result.failure()
+        if (download.status == DownloadStatus.COMPLETED) return Result.success()
+
+        val isForeground = try {
+            setForeground(createForegroundInfo(download.title, 0, 0))
+            true
+        } catch (e: IllegalStateException) {
+            // Foreground start refused while the app is in the background; run as a normal job
+            false
+        }
+        downloadDao.updateDownloadStatus(contentId, DownloadStatus.DOWNLOADING)
+
+        return try {
+            var lastPercent = -1
+            downloader.download(download) { done, total ->
+                setProgress(workDataOf(KEY_DOWNLOADED to done, KEY_TOTAL to total))
+                val percent = if (total > 0) (done * 100 / total).toInt() else 0
+                if (isForeground && percent != lastPercent) {
+                    lastPercent = percent
+                    setForeground(createForegroundInfo(download.title, done, total))
+                }
+            }
+            Result.success()
+        } catch (e: IOException) {
+            if (runAttemptCount < MAX_ATTEMPTS) {
+                downloadDao.updateDownloadStatus(contentId, DownloadStatus.PENDING)
+                Result.retry()
+            } else {
+                downloadDao.updateDownloadStatus(contentId, DownloadStatus.FAILED)
+                Result.failure()
+            }
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            // Not retryable (malformed URL, storage or database error); a row left at
+            // DOWNLOADING could never be restarted from the downloads screen
+            downloadDao.updateDownloadStatus(contentId, DownloadStatus.FAILED)
+            Result.failure()
+        }
+    }
+
+    override suspend fun getForegroundInfo(): ForegroundInfo {
+        val title = downloadDao.getDownloadById(contentId)?.title.orEmpty()
+        return createForegroundInfo(title, 0, 0)
+    }
+
+    private fun createForegroundInfo(title: String, done: Long, total: Long): ForegroundInfo {
+        val notificationManager = applicationContext.getSystemService(NotificationManager::class.java)
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            notificationManager.createNotificationChannel(
+                NotificationChannel(
+                    CHANNEL_ID,
+                    applicationContext.getString(R.string.downloads),
+                    NotificationManager.IMPORTANCE_LOW
+                )
+            )
+        }
+
+        val notification = NotificationCompat.Builder(applicationContext, CHANNEL_ID)
+            .setSmallIcon(R.drawable.ic_download)
+            .setContentTitle(title)
+            .setContentText(applicationContext.getString(R.string.downloading))
+            .setProgress(100, if (total > 0) (done * 100 / total).toInt() else 0, total <= 0)
+            .setOngoing(true)
+            .setOnlyAlertOnce(true)
+            .build()
+
+        val notificationId = NOTIFICATION_ID_BASE + contentId.hashCode()
+        return if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            ForegroundInfo(notificationId, notification, ServiceInfo.FOREGROUND_SERVICE_TYPE_DATA_SYNC)
+        } else {
+            ForegroundInfo(notificationId, notification)
+        }
+    }
+
+    companion object {
+        const val KEY_CONTENT_ID = "content_id"
+        const val KEY_DOWNLOADED = "downloaded_bytes"
+        const val KEY_TOTAL = "total_bytes"
+
+        private const val CHANNEL_ID = "downloads"
+        private const val NOTIFICATION_ID_BASE = 0x4000
+        private const val MAX_ATTEMPTS = 5
+    }
+}
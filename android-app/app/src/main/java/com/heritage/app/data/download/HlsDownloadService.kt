@@ -0,0 +1,61 @@
+package com.heritage.app.data.download
+
+import android.app.Notification
+import androidx.media3.exoplayer.offline.Download
+import androidx.media3.exoplayer.offline.DownloadManager
+import androidx.media3.exoplayer.offline.DownloadNotificationHelper
+import androidx.media3.exoplayer.offline.DownloadService
+import androidx.media3.exoplayer.scheduler.Scheduler
+import androidx.media3.exoplayer.workmanager.WorkManagerScheduler
+import com.heritage.app.R
+import dagger.hilt.android.AndroidEntryPoint
+import javax.inject.Inject
+
+@AndroidEntryPoint
+class HlsDownloadService : DownloadService(
+    FOREGROUND_NOTIFICATION_ID,
+    DEFAULT_FOREGROUND_NOTIFICATION_UPDATE_INTERVAL,
+    CHANNEL_ID,
+    R.string.downloads,
+    0
+) {
+
+    @Inject
+    lateinit var mediaDownloadManager: DownloadManager
+
+    @Inject
+    lateinit var hlsDownloader: HlsDownloader
+
+    private val notificationHelper by lazy { DownloadNotificationHelper(this, CHANNEL_ID) }
+
+    override fun onCreate() {
+        super.onCreate()
+        // Restarted by the scheduler after process death: resume mirroring progress into Room
+        hlsDownloader.start()
+    }
+
+    override fun getDownloadManager(): DownloadManager = mediaDownloadManager
+
+    override fun getScheduler(): Scheduler = WorkManagerScheduler(this, SCHEDULER_WORK_NAME)
+
+    override fun getForegroundNotification(
+        downloads: MutableList<Download>,
+        notMetRequirements: Int
+    ): Notification {
+        return notificationHelper.buildProgressNotification(
+            this,
+            R.drawable.ic_download,
+            null,
+            null,
+            downloads,
+            notMetRequirements
+        )
+    }
+
+    companion object {
+        private const val FOREGROUND_NOTIFICATION_ID = 0x4100
+        // Shares the channel with progressive downloads
+        private const val CHANNEL_ID = "downloads"
+        private const val SCHEDULER_WORK_NAME = "hls_download_scheduler"
+    }
+}
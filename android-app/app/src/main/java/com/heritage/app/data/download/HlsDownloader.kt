@@ -0,0 +1,200 @@
+package com.heritage.app.data.download
+
+import android.content.Context
+import android.net.Uri
+import androidx.media3.common.C
+import androidx.media3.common.MediaItem
+import androidx.media3.common.MimeTypes
+import androidx.media3.datasource.DataSource
+import androidx.media3.exoplayer.DefaultRenderersFactory
+import androidx.media3.exoplayer.offline.Download
+import androidx.media3.exoplayer.offline.DownloadHelper
+import androidx.media3.exoplayer.offline.DownloadManager
+import androidx.media3.exoplayer.offline.DownloadService
+import com.heritage.app.data.local.DownloadDao
+import com.heritage.app.data.local.DownloadStatus
+import com.heritage.app.di.MediaHttp
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.withContext
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Singleton
+import kotlin.coroutines.resume
+import kotlin.coroutines.resumeWithException
+
+/**
+ * Offline HLS through Media3: segments go into the download cache via [HlsDownloadService],
+ * and state changes plus byte progress are mirrored into [DownloadDao] so the downloads
+ * screen treats streams and progressive files alike.
+ */
+@Singleton
+class HlsDownloader @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val downloadManager: DownloadManager,
+    @MediaHttp private val httpDataSourceFactory: DataSource.Factory,
+    private val downloadDao: DownloadDao
+) {
+
+    // DownloadManager callbacks and accessors belong to the main looper
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Main.immediate)
+    private var progressJob: Job? = null
+    private var isTracking = false
+
+    private val listener = object : DownloadManager.Listener {
+        override fun onDownloadChanged(
+            downloadManager: DownloadManager,
+            download: Download,
+            finalException: Exception?
+        ) {
+            val contentId = download.request.id
+            scope.launch {
+                when (download.state) {
+                    Download.STATE_COMPLETED -> downloadDao.markCompleted(
+                        contentId,
+                        download.bytesDownloaded,
+                        System.currentTimeMillis()
+                    )
+                    else -> download.toStatus()?.let { downloadDao.updateDownloadStatus(contentId, it) }
+                }
+            }
+            if (download.state == Download.STATE_DOWNLOADING) startProgressUpdates()
+        }
+    }
+
+    /**
+     * Mirrors DownloadManager state into Room. Safe to call repeatedly.
+     */
+    fun start() {
+        scope.launch {
+            if (isTracking) return@launch
+            isTracking = true
+            downloadManager.addListener(listener)
+            startProgressUpdates()
+        }
+    }
+
+    /**
+     * Prepares the stream, keeps a single video rendition (up to 720p) plus audio, and hands
+     * the request to [HlsDownloadService]. Throws [IOException] when the playlist cannot be loaded.
+     */
+    suspend fun enqueue(contentId: String, streamUrl: String) = withContext(Dispatchers.Main) {
+        start()
+        val helper = DownloadHelper.forMediaItem(
+            context,
+            MediaItem.Builder()
+                .setUri(Uri.parse(streamUrl))
+                .setMimeType(MimeTypes.APPLICATION_M3U8)
+                .build(),
+            DefaultRenderersFactory(context),
+            httpDataSourceFactory
+        )
+        try {
+            helper.awaitPrepared()
+            val parameters = DownloadHelper.getDefaultTrackSelectorParameters(context)
+                .buildUpon()
+                .setMaxVideoSize(MAX_VIDEO_WIDTH, MAX_VIDEO_HEIGHT)
+                .build()
+            for (periodIndex in 0 until helper.periodCount) {
+                helper.clearTrackSelections(periodIndex)
+                helper.addTrackSelection(periodIndex, parameters)
+            }
+            DownloadService.sendAddDownload(
+                context,
+                HlsDownloadService::class.java,
+                helper.getDownloadRequest(contentId, null),
+                false
+            )
+        } finally {
+            helper.release()
+        }
+    }
+
+    fun pause(contentId: String) {
+        DownloadService.sendSetStopReason(context, HlsDownloadService::class.java, contentId, STOP_REASON_PAUSED, false)
+    }
+
+    fun resume(contentId: String) {
+        DownloadService.sendSetStopReason(
+            context,
+            HlsDownloadService::class.java,
+            contentId,
+            Download.STOP_REASON_NONE,
+            false
+        )
+    }
+
+    fun remove(contentId: String) {
+        DownloadService.sendRemoveDownload(context, HlsDownloadService::class.java, contentId, false)
+    }
+
+    /**
+     * Media item limited to the downloaded renditions, or null when the stream is not fully cached.
+     */
+    suspend fun completedMediaItem(contentId: String): MediaItem? = withContext(Dispatchers.IO) {
+        downloadManager.downloadIndex.getDownload(contentId)
+            ?.takeIf { it.state == Download.STATE_COMPLETED }
+            ?.request
+            ?.toMediaItem()
+    }
+
+    private fun startProgressUpdates() {
+        if (progressJob?.isActive == true) return
+        progressJob = scope.launch {
+            while (isActive) {
+                val active = downloadManager.currentDownloads.filter { it.state == Download.STATE_DOWNLOADING }
+                if (active.isEmpty()) break
+                active.forEach { download ->
+                    downloadDao.updateStreamProgress(
+                        download.request.id,
+                        download.bytesDownloaded,
+                        download.estimatedSize()
+                    )
+                }
+                delay(PROGRESS_INTERVAL_MS)
+            }
+        }
+    }
+
+    private fun Download.estimatedSize(): Long = when {
+        contentLength != C.LENGTH_UNSET.toLong() -> contentLength
+        // HLS rarely knows its total size up front; extrapolate from the segment percentage
+        percentDownloaded > 0f -> (bytesDownloaded * 100 / percentDownloaded).toLong()
+        else -> 0
+    }
+
+    private fun Download.toStatus(): DownloadStatus? = when (state) {
+        Download.STATE_QUEUED -> DownloadStatus.PENDING
+        Download.STATE_DOWNLOADING -> DownloadStatus.DOWNLOADING
+        Download.STATE_STOPPED -> DownloadStatus.PAUSED
+        Download.STATE_FAILED -> DownloadStatus.FAILED
+        Download.STATE_COMPLETED -> DownloadStatus.COMPLETED
+        else -> null
+    }
+
+    private suspend fun DownloadHelper.awaitPrepared() = suspendCancellableCoroutine { continuation ->
+        prepare(object : DownloadHelper.Callback {
+            override fun onPrepared(helper: DownloadHelper) {
+                continuation.resume(Unit)
+            }
+
+            override fun onPrepareError(helper: DownloadHelper, e: IOException) {
+                continuation.resumeWithException(e)
+            }
+        })
+    }
+
+    companion object {
+        private const val STOP_REASON_PAUSED = 1
+        private const val MAX_VIDEO_WIDTH = 1280
+        private const val MAX_VIDEO_HEIGHT = 720
+        private const val PROGRESS_INTERVAL_MS = 1000L
+    }
+}
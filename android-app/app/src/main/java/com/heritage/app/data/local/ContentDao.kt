@@ -0,0 +1,71 @@
+package com.heritage.app.data.local
+
+import androidx.paging.PagingSource
+import androidx.room.*
+import kotlinx.coroutines.flow.Flow
+
+@Dao
+interface ContentDao {
+    
+    @Transaction
+    @Query(
+        """
+        SELECT content.* FROM content
+        INNER JOIN feed_entries ON feed_entries.contentId = content.id
+        WHERE feed_entries.feedKey = :feedKey
+        ORDER BY feed_entries.position
+        """
+    )
+    fun observeFeed(feedKey: String): Flow<List<ContentWithPerformer>>
+    
+    @Transaction
+    @Query(
+        """
+        SELECT content.* FROM content
+        INNER JOIN feed_entries ON feed_entries.contentId = content.id
+        WHERE feed_entries.feedKey = :feedKey
+        ORDER BY feed_entries.position
+        """
+    )
+    suspend fun getFeed(feedKey: String): List<ContentWithPerformer>
+    
+    @Transaction
+    @Query(
+        """
+        SELECT content.* FROM content
+        INNER JOIN feed_entries ON feed_entries.contentId = content.id
+        WHERE feed_entries.feedKey = :feedKey
+        ORDER BY feed_entries.position
+        """
+    )
+    fun pagingSource(feedKey: String): PagingSource<Int, ContentWithPerformer>
+    
+    @Transaction
+    @Query("SELECT * FROM content WHERE id = :id")
+    fun observeContentById(id: String): Flow<ContentWithPerformer?>
+    
+    @Transaction
+    @Query("SELECT * FROM content WHERE id = :id")
+    suspend fun getContentById(id: String): ContentWithPerformer?
+    
+    @Upsert
+    suspend fun upsertContent(content: List<ContentEntity>)
+    
+    @Query("DELETE FROM content_fts WHERE contentId IN (:contentIds)")
+    suspend fun deleteFts(contentIds: List<String>)
+    
+    @Insert
+    suspend fun insertFts(rows: List<ContentFtsEntity>)
+    
+    @Transaction
+    @Query(
+        """
+        SELECT content.* FROM content
+        INNER JOIN content_fts ON content_fts.contentId = content.id
+        WHERE content_fts MATCH :ftsQuery
+        ORDER BY content.viewCount DESC
+        LIMIT :limit
+        """
+    )
+    suspend fun search(ftsQuery: String, limit: Int): List<ContentWithPerformer>
+}
@@ -0,0 +1,42 @@
+package com.heritage.app.data.local
+
+import androidx.room.Embedded
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+import androidx.room.Relation
+import com.heritage.app.domain.model.ContentType
+
+@Entity(
+    tableName = "content",
+    indices = [Index("performerId")]
+)
+data class ContentEntity(
+    @PrimaryKey
+    val id: String,
+    val title: String,
+    val description: String?,
+    val type: ContentType,
+    val thumbnailUrl: String?,
+    val thumbnails: Map<String, String>?,
+    val thumbHash: String?,
+    val hlsUrl: String?,
+    val audioUrl: String?,
+    val originalFileUrl: String?,
+    val fileSize: Long,
+    val duration: Int,
+    val viewCount: Int,
+    val downloadCount: Int,
+    val performerId: String,
+    val originalDate: String?,
+    val createdAt: String,
+    val isProcessed: Boolean,
+    val cachedAt: Long
+)
+
+data class ContentWithPerformer(
+    @Embedded
+    val content: ContentEntity,
+    @Relation(parentColumn = "performerId", entityColumn = "id")
+    val performer: PerformerEntity?
+)
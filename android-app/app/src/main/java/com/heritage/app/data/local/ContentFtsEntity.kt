@@ -0,0 +1,23 @@
+package com.heritage.app.data.local
+
+import androidx.room.ColumnInfo
+import androidx.room.Entity
+import androidx.room.Fts4
+import androidx.room.FtsOptions
+import androidx.room.PrimaryKey
+
+/**
+ * Full-text mirror of cached content. Text is stored already normalized
+ * (see ArabicNormalizer) because unicode61 does not fold Arabic variants.
+ */
+@Fts4(tokenizer = FtsOptions.TOKENIZER_UNICODE61, notIndexed = ["contentId"])
+@Entity(tableName = "content_fts")
+data class ContentFtsEntity(
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "rowid")
+    val rowId: Int = 0,
+    val contentId: String,
+    val title: String,
+    val performerName: String,
+    val description: String
+)
@@ -0,0 +1,21 @@
+package com.heritage.app.data.local
+
+import androidx.room.TypeConverter
+import kotlinx.serialization.builtins.MapSerializer
+import kotlinx.serialization.builtins.serializer
+import kotlinx.serialization.json.Json
+
+class Converters {
+    
+    private val stringMapSerializer = MapSerializer(String.serializer(), String.serializer())
+    
+    @TypeConverter
+    fun fromStringMap(value: Map<String, String>?): String? {
+        return value?.let { Json.encodeToString(stringMapSerializer, it) }
+    }
+    
+    @TypeConverter
+    fun toStringMap(value: String?): Map<String, String>? {
+        return value?.let { Json.decodeFromString(stringMapSerializer, it) }
+    }
+}
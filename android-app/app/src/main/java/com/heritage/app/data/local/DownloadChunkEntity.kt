@@ -0,0 +1,22 @@
+package com.heritage.app.data.local
+
+import androidx.room.Entity
+
+/**
+ * One byte range of an in-progress download. [endByte] is inclusive, or -1 when the
+ * server did not report a length and the file is fetched as a single stream.
+ */
+@Entity(
+    tableName = "download_chunks",
+    primaryKeys = ["contentId", "chunkIndex"]
+)
+data class DownloadChunkEntity(
+    val contentId: String,
+    val chunkIndex: Int,
+    val startByte: Long,
+    val endByte: Long,
+    val downloadedBytes: Long = 0
+) {
+    val isComplete: Boolean
+        get() = endByte >= 0 && startByte + downloadedBytes > endByte
+}
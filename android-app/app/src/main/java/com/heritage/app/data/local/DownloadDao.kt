@@ -26,4 +26,45 @@ interface DownloadDao {
     
     @Query("SELECT EXISTS(SELECT 1 FROM downloads WHERE contentId = :contentId)")
     suspend fun isDownloaded(contentId: String): Boolean
+    
+    @Query("SELECT * FROM downloads WHERE contentId = :contentId")
+    fun observeDownload(contentId: String): Flow<DownloadEntity?>
+    
+    @Query("UPDATE downloads SET downloadedBytes = :downloadedBytes WHERE contentId = :contentId")
+    suspend fun updateProgress(contentId: String, downloadedBytes: Long)
+    
+    @Query("UPDATE downloads SET downloadedBytes = :downloadedBytes, fileSize = :fileSize WHERE contentId = :contentId")
+    suspend fun updateStreamProgress(contentId: String, downloadedBytes: Long, fileSize: Long)
+    
+    @Query("UPDATE downloads SET fileSize = :fileSize, etag = :etag WHERE contentId = :contentId")
+    suspend fun updateRemoteInfo(contentId: String, fileSize: Long, etag: String?)
+    
+    @Query(
+        "UPDATE downloads SET status = 'COMPLETED', fileSize = :fileSize, downloadedBytes = :fileSize, " +
+            "downloadedAt = :completedAt WHERE contentId = :contentId"
+    )
+    suspend fun markCompleted(contentId: String, fileSize: Long, completedAt: Long)
+    
+    // Chunk bookkeeping for resumable downloads
+    
+    @Query("SELECT * FROM download_chunks WHERE contentId = :contentId ORDER BY chunkIndex")
+    suspend fun getChunks(contentId: String): List<DownloadChunkEntity>
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertChunks(chunks: List<DownloadChunkEntity>)
+    
+    @Query(
+        "UPDATE download_chunks SET downloadedBytes = :downloadedBytes " +
+            "WHERE contentId = :contentId AND chunkIndex = :chunkIndex"
+    )
+    suspend fun updateChunkProgress(contentId: String, chunkIndex: Int, downloadedBytes: Long)
+    
+    @Query("DELETE FROM download_chunks WHERE contentId = :contentId")
+    suspend fun deleteChunks(contentId: String)
+    
+    @Transaction
+    suspend fun replaceChunks(contentId: String, chunks: List<DownloadChunkEntity>) {
+        deleteChunks(contentId)
+        insertChunks(chunks)
+    }
 }
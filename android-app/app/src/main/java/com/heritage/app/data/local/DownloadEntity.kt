@@ -1,5 +1,6 @@
 package com.heritage.app.data.local
 
+import androidx.room.ColumnInfo
 import androidx.room.Entity
 import androidx.room.PrimaryKey
 
@@ -15,7 +16,15 @@ data class DownloadEntity(
     val duration: Int,
     val isVideo: Boolean,
     val downloadedAt: Long,
-    val status: DownloadStatus = DownloadStatus.COMPLETED
+    val status: DownloadStatus = DownloadStatus.COMPLETED,
+    @ColumnInfo(defaultValue = "''")
+    val sourceUrl: String = "",
+    @ColumnInfo(defaultValue = "0")
+    val downloadedBytes: Long = 0,
+    // Validator sent as If-Range so resumed chunks are never stitched onto a changed file
+    val etag: String? = null,
+    // Set for HLS downloads, which live in the Media3 download cache instead of localFilePath
+    val streamUrl: String? = null
 )
 
 enum class DownloadStatus {
@@ -0,0 +1,37 @@
+package com.heritage.app.data.local
+
+import androidx.room.*
+
+@Dao
+interface FeedDao {
+    
+    @Query("DELETE FROM feed_entries WHERE feedKey = :feedKey")
+    suspend fun clearFeed(feedKey: String)
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertEntries(entries: List<FeedEntryEntity>)
+    
+    @Query("DELETE FROM performer_feed_entries WHERE feedKey = :feedKey")
+    suspend fun clearPerformerFeed(feedKey: String)
+    
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertPerformerEntries(entries: List<PerformerFeedEntryEntity>)
+    
+    @Query("SELECT contentId FROM feed_entries WHERE feedKey = :feedKey AND contentId IN (:contentIds)")
+    suspend fun getExistingContentIds(feedKey: String, contentIds: List<String>): List<String>
+    
+    @Query("SELECT MAX(position) FROM feed_entries WHERE feedKey = :feedKey")
+    suspend fun getMaxPosition(feedKey: String): Int?
+    
+    @Query("SELECT * FROM remote_keys WHERE feedKey = :feedKey")
+    suspend fun getRemoteKey(feedKey: String): RemoteKeyEntity?
+    
+    @Upsert
+    suspend fun upsertRemoteKey(remoteKey: RemoteKeyEntity)
+    
+    @Query("SELECT fetchedAt FROM cache_timestamps WHERE cacheKey = :cacheKey")
+    suspend fun getFetchedAt(cacheKey: String): Long?
+    
+    @Upsert
+    suspend fun upsertTimestamp(timestamp: CacheTimestampEntity)
+}
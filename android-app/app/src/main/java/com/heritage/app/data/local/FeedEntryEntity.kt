@@ -0,0 +1,46 @@
+package com.heritage.app.data.local
+
+import androidx.room.Entity
+import androidx.room.Index
+import androidx.room.PrimaryKey
+
+/**
+ * Ordered membership of a content row in a server feed (trending, recent, a performer's list...).
+ * Content rows are shared between feeds; only the ordering lives here.
+ */
+@Entity(
+    tableName = "feed_entries",
+    primaryKeys = ["feedKey", "position"],
+    indices = [Index("contentId")]
+)
+data class FeedEntryEntity(
+    val feedKey: String,
+    val position: Int,
+    val contentId: String
+)
+
+/**
+ * Ordered membership of a performer row in a server list (the performers screen, Home's row).
+ * Performer rows are also upserted from nested `content.performer`, so lists read through here
+ * instead of every cached performer.
+ */
+@Entity(
+    tableName = "performer_feed_entries",
+    primaryKeys = ["feedKey", "position"],
+    indices = [Index("performerId")]
+)
+data class PerformerFeedEntryEntity(
+    val feedKey: String,
+    val position: Int,
+    val performerId: String
+)
+
+/**
+ * When a cached query was last revalidated against the API, used for per-query freshness.
+ */
+@Entity(tableName = "cache_timestamps")
+data class CacheTimestampEntity(
+    @PrimaryKey
+    val cacheKey: String,
+    val fetchedAt: Long
+)
@@ -2,12 +2,29 @@ package com.heritage.app.data.local
 
 import androidx.room.Database
 import androidx.room.RoomDatabase
+import androidx.room.TypeConverters
 
 @Database(
-    entities = [DownloadEntity::class],
-    version = 1,
+    entities = [
+        DownloadEntity::class,
+        ContentEntity::class,
+        PerformerEntity::class,
+        FeedEntryEntity::class,
+        CacheTimestampEntity::class,
+        RemoteKeyEntity::class,
+        ContentFtsEntity::class,
+        DownloadChunkEntity::class,
+        PlaybackEventEntity::class,
+        PerformerFeedEntryEntity::class
+    ],
+    version = 11,
     exportSchema = false
 )
+@TypeConverters(Converters::class)
 abstract class HeritageDatabase : RoomDatabase() {
     abstract fun downloadDao(): DownloadDao
+    abstract fun contentDao(): ContentDao
+    abstract fun performerDao(): PerformerDao
+    abstract fun feedDao(): FeedDao
+    abstract fun playbackEventDao(): PlaybackEventDao
 }
@@ -0,0 +1,127 @@
+package com.heritage.app.data.local
+
+import androidx.room.migration.Migration
+import androidx.sqlite.db.SupportSQLiteDatabase
+
+val MIGRATION_1_2 = object : Migration(1, 2) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `content` (`id` TEXT NOT NULL, `title` TEXT NOT NULL, " +
+                "`description` TEXT, `type` TEXT NOT NULL, `thumbnailUrl` TEXT, `hlsUrl` TEXT, " +
+                "`audioUrl` TEXT, `duration` INTEGER NOT NULL, `viewCount` INTEGER NOT NULL, " +
+                "`downloadCount` INTEGER NOT NULL, `performerId` TEXT NOT NULL, `originalDate` TEXT, " +
+                "`createdAt` TEXT NOT NULL, `isProcessed` INTEGER NOT NULL, `cachedAt` INTEGER NOT NULL, " +
+                "PRIMARY KEY(`id`))"
+        )
+        db.execSQL("CREATE INDEX IF NOT EXISTS `index_content_performerId` ON `content` (`performerId`)")
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `performers` (`id` TEXT NOT NULL, `name` TEXT NOT NULL, " +
+                "`bio` TEXT, `imageUrl` TEXT, `location` TEXT, `socialLinks` TEXT, " +
+                "`isActive` INTEGER NOT NULL, `createdAt` TEXT NOT NULL, `contentCount` INTEGER NOT NULL, " +
+                "`cachedAt` INTEGER NOT NULL, PRIMARY KEY(`id`))"
+        )
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `feed_entries` (`feedKey` TEXT NOT NULL, `position` INTEGER NOT NULL, " +
+                "`contentId` TEXT NOT NULL, PRIMARY KEY(`feedKey`, `position`))"
+        )
+        db.execSQL("CREATE INDEX IF NOT EXISTS `index_feed_entries_contentId` ON `feed_entries` (`contentId`)")
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `cache_timestamps` (`cacheKey` TEXT NOT NULL, " +
+                "`fetchedAt` INTEGER NOT NULL, PRIMARY KEY(`cacheKey`))"
+        )
+    }
+}
+
+val MIGRATION_2_3 = object : Migration(2, 3) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `remote_keys` (`feedKey` TEXT NOT NULL, `nextPage` INTEGER, " +
+                "PRIMARY KEY(`feedKey`))"
+        )
+    }
+}
+
+val MIGRATION_3_4 = object : Migration(3, 4) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL(
+            "CREATE VIRTUAL TABLE IF NOT EXISTS `content_fts` USING FTS4(`contentId` TEXT NOT NULL, " +
+                "`title` TEXT NOT NULL, `performerName` TEXT NOT NULL, `description` TEXT NOT NULL, " +
+                "tokenize=unicode61, notindexed=`contentId`)"
+        )
+        // Existing rows are indexed the next time their feed revalidates
+        db.execSQL("DELETE FROM `cache_timestamps`")
+    }
+}
+
+val MIGRATION_4_5 = object : Migration(4, 5) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL("ALTER TABLE `content` ADD COLUMN `originalFileUrl` TEXT")
+        db.execSQL("ALTER TABLE `content` ADD COLUMN `fileSize` INTEGER NOT NULL DEFAULT 0")
+        db.execSQL("ALTER TABLE `downloads` ADD COLUMN `sourceUrl` TEXT NOT NULL DEFAULT ''")
+        db.execSQL("ALTER TABLE `downloads` ADD COLUMN `downloadedBytes` INTEGER NOT NULL DEFAULT 0")
+        db.execSQL("ALTER TABLE `downloads` ADD COLUMN `etag` TEXT")
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `download_chunks` (`contentId` TEXT NOT NULL, " +
+                "`chunkIndex` INTEGER NOT NULL, `startByte` INTEGER NOT NULL, `endByte` INTEGER NOT NULL, " +
+                "`downloadedBytes` INTEGER NOT NULL, PRIMARY KEY(`contentId`, `chunkIndex`))"
+        )
+        // Cached rows predate the download source columns
+        db.execSQL("DELETE FROM `cache_timestamps`")
+    }
+}
+
+val MIGRATION_5_6 = object : Migration(5, 6) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL("ALTER TABLE `downloads` ADD COLUMN `streamUrl` TEXT")
+    }
+}
+
+val MIGRATION_6_7 = object : Migration(6, 7) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `playback_events` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                "`sessionId` TEXT NOT NULL, `contentId` TEXT NOT NULL, `type` TEXT NOT NULL, " +
+                "`occurredAt` INTEGER NOT NULL, `positionMs` INTEGER NOT NULL, `durationMs` INTEGER, " +
+                "`bitrate` INTEGER, `errorCode` TEXT)"
+        )
+    }
+}
+
+val MIGRATION_7_8 = object : Migration(7, 8) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL("ALTER TABLE `content` ADD COLUMN `thumbnails` TEXT")
+        // Refetch cached rows so they pick up the thumbnail variants
+        db.execSQL("DELETE FROM `cache_timestamps`")
+    }
+}
+
+val MIGRATION_8_9 = object : Migration(8, 9) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL("ALTER TABLE `content` ADD COLUMN `thumbHash` TEXT")
+        db.execSQL("ALTER TABLE `performers` ADD COLUMN `thumbHash` TEXT")
+        // Refetch cached rows so they pick up the placeholders
+        db.execSQL("DELETE FROM `cache_timestamps`")
+    }
+}
+
+val MIGRATION_9_10 = object : Migration(9, 10) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        // Feeds without a cursor keep appending by page until their next refresh
+        db.execSQL("ALTER TABLE `remote_keys` ADD COLUMN `nextCursor` TEXT")
+    }
+}
+
+val MIGRATION_10_11 = object : Migration(10, 11) {
+    override fun migrate(db: SupportSQLiteDatabase) {
+        db.execSQL(
+            "CREATE TABLE IF NOT EXISTS `performer_feed_entries` (`feedKey` TEXT NOT NULL, " +
+                "`position` INTEGER NOT NULL, `performerId` TEXT NOT NULL, PRIMARY KEY(`feedKey`, `position`))"
+        )
+        db.execSQL(
+            "CREATE INDEX IF NOT EXISTS `index_performer_feed_entries_performerId` " +
+                "ON `performer_feed_entries` (`performerId`)"
+        )
+        // Lists used to read every cached performer; refetch them into the new membership table
+        db.execSQL("DELETE FROM `cache_timestamps` WHERE `cacheKey` = 'performers' OR `cacheKey` LIKE 'home_%'")
+    }
+}
@@ -0,0 +1,37 @@
+package com.heritage.app.data.local
+
+import androidx.room.*
+import kotlinx.coroutines.flow.Flow
+
+@Dao
+interface PerformerDao {
+    
+    @Query(
+        """
+        SELECT performers.* FROM performers
+        INNER JOIN performer_feed_entries ON performer_feed_entries.performerId = performers.id
+        WHERE performer_feed_entries.feedKey = :feedKey
+        ORDER BY performer_feed_entries.position
+        """
+    )
+    fun observeFeed(feedKey: String): Flow<List<PerformerEntity>>
+    
+    @Query(
+        """
+        SELECT performers.* FROM performers
+        INNER JOIN performer_feed_entries ON performer_feed_entries.performerId = performers.id
+        WHERE performer_feed_entries.feedKey = :feedKey
+        ORDER BY performer_feed_entries.position
+        """
+    )
+    suspend fun getFeed(feedKey: String): List<PerformerEntity>
+    
+    @Query("SELECT * FROM performers WHERE id = :id")
+    fun observePerformerById(id: String): Flow<PerformerEntity?>
+    
+    @Query("SELECT * FROM performers WHERE id = :id")
+    suspend fun getPerformerById(id: String): PerformerEntity?
+    
+    @Upsert
+    suspend fun upsertPerformers(performers: List<PerformerEntity>)
+}
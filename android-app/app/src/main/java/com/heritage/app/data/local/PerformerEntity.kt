@@ -0,0 +1,20 @@
+package com.heritage.app.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+@Entity(tableName = "performers")
+data class PerformerEntity(
+    @PrimaryKey
+    val id: String,
+    val name: String,
+    val bio: String?,
+    val imageUrl: String?,
+    val thumbHash: String?,
+    val location: String?,
+    val socialLinks: Map<String, String>?,
+    val isActive: Boolean,
+    val createdAt: String,
+    val contentCount: Int,
+    val cachedAt: Long
+)
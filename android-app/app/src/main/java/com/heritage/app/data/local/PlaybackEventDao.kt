@@ -0,0 +1,22 @@
+package com.heritage.app.data.local
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.Query
+
+@Dao
+interface PlaybackEventDao {
+
+    @Insert
+    suspend fun insert(event: PlaybackEventEntity)
+
+    @Query("SELECT * FROM playback_events ORDER BY id LIMIT :limit")
+    suspend fun getOldest(limit: Int): List<PlaybackEventEntity>
+
+    @Query("DELETE FROM playback_events WHERE id <= :id")
+    suspend fun deleteUpTo(id: Long)
+
+    // Long offline stretches must not grow the buffer without bound; the oldest go first
+    @Query("DELETE FROM playback_events WHERE id NOT IN (SELECT id FROM playback_events ORDER BY id DESC LIMIT :maxRows)")
+    suspend fun trimTo(maxRows: Int)
+}
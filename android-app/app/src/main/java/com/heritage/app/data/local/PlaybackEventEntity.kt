@@ -0,0 +1,32 @@
+package com.heritage.app.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * One playback quality event, buffered until [com.heritage.app.data.playback.TelemetryUploadWorker]
+ * sends it. [durationMs] is the time to first frame, the stall length or the watch time,
+ * depending on [type].
+ */
+@Entity(tableName = "playback_events")
+data class PlaybackEventEntity(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val sessionId: String,
+    val contentId: String,
+    val type: PlaybackEventType,
+    val occurredAt: Long,
+    val positionMs: Long,
+    val durationMs: Long? = null,
+    val bitrate: Int? = null,
+    val errorCode: String? = null
+)
+
+enum class PlaybackEventType {
+    START,
+    FIRST_FRAME,
+    STALL,
+    BITRATE_SWITCH,
+    ERROR,
+    END
+}
@@ -0,0 +1,16 @@
+package com.heritage.app.data.local
+
+import androidx.room.Entity
+import androidx.room.PrimaryKey
+
+/**
+ * Next server page to request when appending to a paged feed; null once the feed is exhausted.
+ * Keyset-paged feeds also keep the server's cursor for that page.
+ */
+@Entity(tableName = "remote_keys")
+data class RemoteKeyEntity(
+    @PrimaryKey
+    val feedKey: String,
+    val nextPage: Int?,
+    val nextCursor: String? = null
+)
@@ -1,5 +1,8 @@
 package com.heritage.app.data.mapper
 
+import com.heritage.app.data.local.ContentEntity
+import com.heritage.app.data.local.ContentWithPerformer
+import com.heritage.app.data.local.PerformerEntity
 import com.heritage.app.data.remote.dto.ContentDto
 import com.heritage.app.data.remote.dto.PerformerDto
 import com.heritage.app.domain.model.Content
@@ -11,12 +14,10 @@ fun ContentDto.toDomain(): Content {
         id = id ?: "",
         title = title ?: "Untitled",
         description = description,
-        type = when (type?.lowercase()) {
-            "video" -> ContentType.VIDEO
-            "audio" -> ContentType.AUDIO
-            else -> ContentType.VIDEO
-        },
+        type = type.toContentType(),
         thumbnailUrl = thumbnailUrl,
+        thumbnails = thumbnails.toWidthMap(),
+        thumbHash = thumbHash,
         hlsUrl = hlsUrl,
         audioUrl = audioUrl,
         duration = duration ?: 0,
@@ -26,7 +27,9 @@ fun ContentDto.toDomain(): Content {
         performerId = performerId ?: "",
         originalDate = originalDate,
         createdAt = createdAt ?: "",
-        isProcessed = isProcessed ?: false
+        isProcessed = isProcessed ?: false,
+        originalFileUrl = originalFileUrl,
+        fileSize = fileSize ?: 0
     )
 }
 
@@ -36,6 +39,7 @@ fun PerformerDto.toDomain(): Performer {
         name = name ?: "Unknown",
         bio = bio,
         imageUrl = imageUrl,
+        thumbHash = thumbHash,
         location = location,
         socialLinks = socialLinks,
         isActive = isActive ?: true,
@@ -43,3 +47,94 @@ fun PerformerDto.toDomain(): Performer {
         contentCount = contentCount ?: 0
     )
 }
+
+fun ContentDto.toEntity(cachedAt: Long): ContentEntity {
+    return ContentEntity(
+        id = id ?: "",
+        title = title ?: "Untitled",
+        description = description,
+        type = type.toContentType(),
+        thumbnailUrl = thumbnailUrl,
+        thumbnails = thumbnails,
+        thumbHash = thumbHash,
+        hlsUrl = hlsUrl,
+        audioUrl = audioUrl,
+        originalFileUrl = originalFileUrl,
+        fileSize = fileSize ?: 0,
+        duration = duration ?: 0,
+        viewCount = viewCount ?: 0,
+        downloadCount = downloadCount ?: 0,
+        performerId = performerId ?: performer?.id ?: "",
+        originalDate = originalDate,
+        createdAt = createdAt ?: "",
+        isProcessed = isProcessed ?: false,
+        cachedAt = cachedAt
+    )
+}
+
+fun PerformerDto.toEntity(cachedAt: Long): PerformerEntity {
+    return PerformerEntity(
+        id = id ?: "",
+        name = name ?: "Unknown",
+        bio = bio,
+        imageUrl = imageUrl,
+        thumbHash = thumbHash,
+        location = location,
+        socialLinks = socialLinks,
+        isActive = isActive ?: true,
+        createdAt = createdAt ?: "",
+        contentCount = contentCount ?: 0,
+        cachedAt = cachedAt
+    )
+}
+
+fun ContentWithPerformer.toDomain(): Content {
+    return Content(
+        id = content.id,
+        title = content.title,
+        description = content.description,
+        type = content.type,
+        thumbnailUrl = content.thumbnailUrl,
+        thumbnails = content.thumbnails.toWidthMap(),
+        thumbHash = content.thumbHash,
+        hlsUrl = content.hlsUrl,
+        audioUrl = content.audioUrl,
+        duration = content.duration,
+        viewCount = content.viewCount,
+        downloadCount = content.downloadCount,
+        performer = performer?.toDomain(),
+        performerId = content.performerId,
+        originalDate = content.originalDate,
+        createdAt = content.createdAt,
+        isProcessed = content.isProcessed,
+        originalFileUrl = content.originalFileUrl,
+        fileSize = content.fileSize
+    )
+}
+
+fun PerformerEntity.toDomain(): Performer {
+    return Performer(
+        id = id,
+        name = name,
+        bio = bio,
+        imageUrl = imageUrl,
+        thumbHash = thumbHash,
+        location = location,
+        socialLinks = socialLinks,
+        isActive = isActive,
+        createdAt = createdAt,
+        contentCount = contentCount
+    )
+}
+
+private fun Map<String, String>?.toWidthMap(): Map<Int, String> {
+    return this?.mapNotNull { (width, url) -> width.toIntOrNull()?.let { it to url } }?.toMap().orEmpty()
+}
+
+private fun String?.toContentType(): ContentType {
+    return when (this?.lowercase()) {
+        "video" -> ContentType.VIDEO
+        "audio" -> ContentType.AUDIO
+        else -> ContentType.VIDEO
+    }
+}
@@ -0,0 +1,17 @@
+package com.heritage.app.data.mapper
+
+import com.heritage.app.data.local.PlaybackEventEntity
+import com.heritage.app.data.remote.dto.PlaybackEventDto
+
+fun PlaybackEventEntity.toDto(): PlaybackEventDto {
+    return PlaybackEventDto(
+        sessionId = sessionId,
+        contentId = contentId,
+        type = type.name.lowercase(),
+        occurredAt = occurredAt,
+        positionMs = positionMs,
+        durationMs = durationMs,
+        bitrate = bitrate,
+        errorCode = errorCode
+    )
+}
@@ -0,0 +1,231 @@
+package com.heritage.app.data.playback
+
+import android.content.Context
+import android.net.ConnectivityManager
+import android.net.Uri
+import androidx.media3.common.C
+import androidx.media3.common.Format
+import androidx.media3.common.util.UriUtil
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.DataSourceInputStream
+import androidx.media3.datasource.DataSpec
+import androidx.media3.datasource.cache.Cache
+import androidx.media3.datasource.cache.CacheDataSource
+import androidx.media3.datasource.cache.CacheWriter
+import androidx.media3.exoplayer.hls.playlist.HlsMediaPlaylist
+import androidx.media3.exoplayer.hls.playlist.HlsMultivariantPlaylist
+import androidx.media3.exoplayer.hls.playlist.HlsPlaylist
+import androidx.media3.exoplayer.hls.playlist.HlsPlaylistParser
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter
+import com.heritage.app.di.MediaHttp
+import com.heritage.app.di.PlaybackCache
+import com.heritage.app.domain.model.Content
+import com.heritage.app.util.MediaUrls
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runInterruptible
+import kotlinx.coroutines.sync.Semaphore
+import kotlinx.coroutines.sync.withPermit
+import java.io.IOException
+import java.util.concurrent.atomic.AtomicLong
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Warms the playback cache for content that is on screen: the HLS playlists plus the first
+ * seconds of the rendition the player will start on (or the head of an audio file), so a tap
+ * starts from local bytes. Screens report what is visible per source; anything that scrolls
+ * off is cancelled. Work is capped by [MAX_CONCURRENT_PRELOADS], a per-item byte budget and
+ * a process-wide byte budget, and segments are skipped on metered networks.
+ *
+ * Media3's PreloadManager hands out prepared MediaSources, which cannot cross the
+ * MediaController boundary to [PlaybackService]; writing into the shared cache can.
+ */
+@Singleton
+class MediaPreloader @Inject constructor(
+    @ApplicationContext private val context: Context,
+    @PlaybackCache playbackCache: Cache,
+    @MediaHttp httpDataSourceFactory: DataSource.Factory
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val permits = Semaphore(MAX_CONCURRENT_PRELOADS)
+    private val spentBytes = AtomicLong()
+
+    private val cacheDataSourceFactory = CacheDataSource.Factory()
+        .setCache(playbackCache)
+        .setUpstreamDataSourceFactory(httpDataSourceFactory)
+        .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+
+    // Guarded by [lock]
+    private val lock = Any()
+    private val visible = LinkedHashMap<String, List<Content>>()
+    private val jobs = HashMap<String, Job>()
+    private val preloaded = object : LinkedHashMap<String, Unit>() {
+        override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Unit>?) = size > MAX_REMEMBERED
+    }
+
+    /**
+     * Replaces what [source] (a row, a list) currently shows. An empty list withdraws it.
+     */
+    fun setVisible(source: String, items: List<Content>) = synchronized(lock) {
+        if (items.isEmpty()) visible.remove(source) else visible[source] = items
+        reschedule()
+    }
+
+    private fun reschedule() {
+        val wanted = rankCandidates()
+        jobs.keys.filterNot { it in wanted }.forEach { url -> jobs.remove(url)?.cancel() }
+        wanted.forEach { (url, isHls) ->
+            if (url in jobs || url in preloaded) return@forEach
+            jobs[url] = scope.launch {
+                try {
+                    permits.withPermit {
+                        if (isHls) preloadHls(Uri.parse(url)) else preloadProgressive(Uri.parse(url))
+                    }
+                    synchronized(lock) { preloaded[url] = Unit }
+                } catch (e: IOException) {
+                    // Best effort: the player simply fetches from the network
+                } finally {
+                    synchronized(lock) {
+                        if (jobs[url] === coroutineContext[Job]) jobs.remove(url)
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Leading visible items of every source, interleaved, so each row gets its first card
+     * warmed before any row gets its third.
+     */
+    private fun rankCandidates(): Map<String, Boolean> {
+        val ranked = LinkedHashMap<String, Boolean>()
+        val lists = visible.values.toList()
+        var index = 0
+        while (ranked.size < MAX_PRELOADED_ITEMS && lists.any { index < it.size }) {
+            for (items in lists) {
+                val content = items.getOrNull(index) ?: continue
+                val url = MediaUrls.playbackUrl(content) ?: continue
+                ranked.putIfAbsent(url, content.isVideo)
+                if (ranked.size == MAX_PRELOADED_ITEMS) break
+            }
+            index++
+        }
+        return ranked
+    }
+
+    private suspend fun preloadHls(uri: Uri) {
+        val dataSource = cacheDataSourceFactory.createDataSource()
+        val playlist = loadPlaylist(dataSource, uri)
+        val mediaPlaylist = when (playlist) {
+            is HlsMediaPlaylist -> playlist
+            is HlsMultivariantPlaylist -> {
+                val variantUri = playlist.startVariantUri() ?: return
+                loadPlaylist(dataSource, variantUri) as? HlsMediaPlaylist ?: return
+            }
+            else -> return
+        }
+        if (!segmentsAllowed()) return
+
+        var budget = itemBudget()
+        var bufferedUs = 0L
+        for (segment in mediaPlaylist.segments) {
+            if (bufferedUs >= PRELOAD_DURATION_US || budget <= 0) break
+            segment.initializationSegment?.let { init ->
+                budget -= cacheSegment(dataSource, mediaPlaylist, init, budget)
+            }
+            budget -= cacheSegment(dataSource, mediaPlaylist, segment, budget)
+            bufferedUs += segment.durationUs
+        }
+    }
+
+    private suspend fun preloadProgressive(uri: Uri) {
+        if (!segmentsAllowed()) return
+        val length = minOf(PROGRESSIVE_PRELOAD_BYTES, itemBudget())
+        if (length <= 0) return
+        cache(cacheDataSourceFactory.createDataSource(), DataSpec.Builder().setUri(uri).setLength(length).build())
+    }
+
+    private suspend fun loadPlaylist(dataSource: CacheDataSource, uri: Uri): HlsPlaylist {
+        val dataSpec = DataSpec(uri)
+        cache(dataSource, dataSpec)
+        // Read back from the cache; the player will hit the same entry
+        return runInterruptible {
+            DataSourceInputStream(dataSource, dataSpec).use { HlsPlaylistParser().parse(uri, it) }
+        }
+    }
+
+    private suspend fun cacheSegment(
+        dataSource: CacheDataSource,
+        playlist: HlsMediaPlaylist,
+        segment: HlsMediaPlaylist.Segment,
+        budget: Long
+    ): Long {
+        if (budget <= 0) return 0
+        val length = if (segment.byteRangeLength != C.LENGTH_UNSET.toLong()) {
+            minOf(segment.byteRangeLength, budget)
+        } else {
+            budget
+        }
+        val dataSpec = DataSpec.Builder()
+            .setUri(UriUtil.resolveToUri(playlist.baseUri, segment.url))
+            .setPosition(segment.byteRangeOffset)
+            .setLength(length)
+            .build()
+        return cache(dataSource, dataSpec)
+    }
+
+    /**
+     * Writes [dataSpec] into the playback cache and returns the bytes it now covers.
+     * Cancelling the coroutine interrupts the blocking read.
+     */
+    private suspend fun cache(dataSource: CacheDataSource, dataSpec: DataSpec): Long {
+        var covered = 0L
+        runInterruptible {
+            CacheWriter(dataSource, dataSpec, null) { _, bytesCached, newBytesCached ->
+                covered = bytesCached
+                spentBytes.addAndGet(newBytesCached)
+            }.cache()
+        }
+        return covered
+    }
+
+    /**
+     * The player starts on the best rendition that fits its bandwidth estimate (with the
+     * same 0.7 safety factor as its adaptive selection), so preload that one.
+     */
+    private fun HlsMultivariantPlaylist.startVariantUri(): Uri? {
+        val estimate = DefaultBandwidthMeter.getSingletonInstance(context).bitrateEstimate
+        val affordable = (estimate * BANDWIDTH_FRACTION).toLong()
+        val withBitrate = variants.filter { it.format.bitrate != Format.NO_VALUE }
+        val variant = withBitrate.filter { it.format.bitrate <= affordable }.maxByOrNull { it.format.bitrate }
+            ?: withBitrate.minByOrNull { it.format.bitrate }
+            ?: variants.firstOrNull()
+        return variant?.url
+    }
+
+    private fun itemBudget(): Long =
+        minOf(MAX_ITEM_BYTES, MAX_TOTAL_BYTES - spentBytes.get()).coerceAtLeast(0)
+
+    private fun segmentsAllowed(): Boolean {
+        val connectivityManager = context.getSystemService(ConnectivityManager::class.java)
+        return !connectivityManager.isActiveNetworkMetered && spentBytes.get() < MAX_TOTAL_BYTES
+    }
+
+    companion object {
+        private const val MAX_CONCURRENT_PRELOADS = 2
+        private const val MAX_PRELOADED_ITEMS = 6
+        private const val MAX_REMEMBERED = 200
+        private const val PRELOAD_DURATION_US = 4_000_000L
+        private const val MAX_ITEM_BYTES = 2L * 1024 * 1024
+        private const val PROGRESSIVE_PRELOAD_BYTES = 512L * 1024
+        // Ceiling for the whole process, so idle scrolling cannot eat the data plan or evict replays
+        private const val MAX_TOTAL_BYTES = 48L * 1024 * 1024
+        private const val BANDWIDTH_FRACTION = 0.7
+    }
+}
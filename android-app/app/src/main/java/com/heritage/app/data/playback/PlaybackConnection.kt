@@ -0,0 +1,160 @@
+package com.heritage.app.data.playback
+
+import android.content.ComponentName
+import android.content.Context
+import android.net.Uri
+import androidx.core.content.ContextCompat
+import androidx.media3.common.MediaItem
+import androidx.media3.common.MediaMetadata
+import androidx.media3.common.Player
+import androidx.media3.session.MediaController
+import androidx.media3.session.SessionToken
+import com.google.common.util.concurrent.ListenableFuture
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.first
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * What the service is currently holding, for the mini-player.
+ */
+data class NowPlaying(
+    val contentId: String,
+    val title: String,
+    val subtitle: String?,
+    val artworkUri: Uri?,
+    val isVideo: Boolean,
+    val isPlaying: Boolean
+)
+
+/**
+ * App-wide [MediaController] for [PlaybackService]. Lives as long as the process, so screens
+ * attach to the same player instead of creating and releasing their own.
+ * All methods must be called on the main thread.
+ */
+@Singleton
+class PlaybackConnection @Inject constructor(
+    @ApplicationContext private val context: Context
+) {
+
+    private var controllerFuture: ListenableFuture<MediaController>? = null
+
+    private val _player = MutableStateFlow<Player?>(null)
+    val player: StateFlow<Player?> = _player.asStateFlow()
+
+    private val _nowPlaying = MutableStateFlow<NowPlaying?>(null)
+    val nowPlaying: StateFlow<NowPlaying?> = _nowPlaying.asStateFlow()
+
+    private val playerListener = object : Player.Listener {
+        override fun onEvents(player: Player, events: Player.Events) {
+            if (events.containsAny(
+                    Player.EVENT_MEDIA_ITEM_TRANSITION,
+                    Player.EVENT_MEDIA_METADATA_CHANGED,
+                    Player.EVENT_IS_PLAYING_CHANGED,
+                    Player.EVENT_PLAYBACK_STATE_CHANGED,
+                    Player.EVENT_PLAY_WHEN_READY_CHANGED
+                )
+            ) {
+                publish(player)
+            }
+        }
+    }
+
+    private val controllerListener = object : MediaController.Listener {
+        override fun onDisconnected(controller: MediaController) {
+            // Service was destroyed; the next play request reconnects
+            controller.removeListener(playerListener)
+            controllerFuture = null
+            _player.value = null
+            _nowPlaying.value = null
+        }
+    }
+
+    /**
+     * Binds to [PlaybackService] if not already bound. Cheap to call repeatedly.
+     */
+    fun connect() {
+        if (controllerFuture != null) return
+        val token = SessionToken(context, ComponentName(context, PlaybackService::class.java))
+        val future = MediaController.Builder(context, token)
+            .setListener(controllerListener)
+            .buildAsync()
+        controllerFuture = future
+        future.addListener({
+            val controller = runCatching { future.get() }.getOrNull()
+            if (controller == null) {
+                controllerFuture = null
+                return@addListener
+            }
+            controller.addListener(playerListener)
+            _player.value = controller
+            publish(controller)
+        }, ContextCompat.getMainExecutor(context))
+    }
+
+    suspend fun awaitPlayer(): Player {
+        connect()
+        return player.filterNotNull().first()
+    }
+
+    /**
+     * Plays [mediaItem], keyed by its media id. Re-opening the item that is already loaded
+     * keeps its buffer, position and paused state; [replace] swaps the source (for example
+     * stream to finished download) while holding the current position.
+     */
+    suspend fun play(mediaItem: MediaItem, replace: Boolean = false) {
+        val player = awaitPlayer()
+        val isCurrent = player.currentMediaItem?.mediaId == mediaItem.mediaId
+        if (isCurrent && !replace) {
+            if (player.playbackState == Player.STATE_IDLE) player.prepare()
+            return
+        }
+        if (isCurrent) {
+            player.setMediaItem(mediaItem, player.currentPosition)
+        } else {
+            player.setMediaItem(mediaItem)
+        }
+        player.prepare()
+        player.playWhenReady = true
+    }
+
+    fun togglePlayPause() {
+        val player = _player.value ?: return
+        if (player.isActive()) {
+            player.pause()
+        } else {
+            if (player.playbackState == Player.STATE_ENDED) player.seekTo(0)
+            player.play()
+        }
+    }
+
+    fun stop() {
+        _player.value?.run {
+            stop()
+            clearMediaItems()
+        }
+    }
+
+    private fun publish(player: Player) {
+        val item = player.currentMediaItem
+        _nowPlaying.value = item?.let {
+            val metadata = player.mediaMetadata
+            NowPlaying(
+                contentId = it.mediaId,
+                title = metadata.title?.toString().orEmpty(),
+                subtitle = metadata.artist?.toString(),
+                artworkUri = metadata.artworkUri,
+                isVideo = metadata.mediaType == MediaMetadata.MEDIA_TYPE_VIDEO,
+                isPlaying = player.isActive()
+            )
+        }
+    }
+
+    // Counts buffering with playWhenReady as playing, so the button does not flicker
+    private fun Player.isActive(): Boolean =
+        isPlaying || (playWhenReady && playbackState != Player.STATE_ENDED && playbackState != Player.STATE_IDLE)
+}
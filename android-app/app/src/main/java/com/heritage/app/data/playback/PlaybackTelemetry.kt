@@ -0,0 +1,210 @@
+package com.heritage.app.data.playback
+
+import android.content.Context
+import androidx.media3.common.C
+import androidx.media3.common.Format
+import androidx.media3.common.MediaItem
+import androidx.media3.common.PlaybackException
+import androidx.media3.common.Player
+import androidx.media3.exoplayer.analytics.AnalyticsListener
+import androidx.media3.exoplayer.analytics.AnalyticsListener.EventTime
+import androidx.media3.exoplayer.source.MediaLoadData
+import com.heritage.app.data.local.PlaybackEventDao
+import com.heritage.app.data.local.PlaybackEventEntity
+import com.heritage.app.data.local.PlaybackEventType
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.launch
+import java.util.UUID
+import javax.inject.Inject
+import javax.inject.Singleton
+
+/**
+ * Quality-of-experience collector attached to the [PlaybackService] player. A session
+ * spans one media item. It records time to first frame, stalls (excluding seek buffering),
+ * bitrate switches, errors and watch time. Events are buffered in Room and sent in
+ * batches by [TelemetryUploadWorker].
+ * Callbacks arrive on the player's main thread, so session state needs no locking.
+ */
+@Singleton
+class PlaybackTelemetry @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val playbackEventDao: PlaybackEventDao
+) : AnalyticsListener {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+
+    private var session: Session? = null
+    private var playWhenReady = false
+
+    private class Session(
+        val id: String,
+        val contentId: String,
+        val startedAtMs: Long
+    ) {
+        var firstFrameRendered = false
+        var seeking = false
+        var stallStartedAtMs = C.TIME_UNSET
+        var playingSinceMs = C.TIME_UNSET
+        var watchTimeMs = 0L
+        var bitrate = Format.NO_VALUE
+    }
+
+    override fun onMediaItemTransition(eventTime: EventTime, mediaItem: MediaItem?, reason: Int) {
+        endSession(eventTime)
+        mediaItem?.let { startSession(eventTime, it) }
+    }
+
+    override fun onPlayWhenReadyChanged(eventTime: EventTime, playWhenReady: Boolean, reason: Int) {
+        this.playWhenReady = playWhenReady
+    }
+
+    override fun onIsPlayingChanged(eventTime: EventTime, isPlaying: Boolean) {
+        val session = session ?: return
+        if (isPlaying) {
+            // Audio has no video frame; the first moment it plays is the equivalent
+            markFirstFrame(eventTime)
+            session.playingSinceMs = eventTime.realtimeMs
+        } else if (session.playingSinceMs != C.TIME_UNSET) {
+            session.watchTimeMs += eventTime.realtimeMs - session.playingSinceMs
+            session.playingSinceMs = C.TIME_UNSET
+        }
+    }
+
+    override fun onRenderedFirstFrame(eventTime: EventTime, output: Any, renderTimeMs: Long) {
+        markFirstFrame(eventTime)
+    }
+
+    override fun onPlaybackStateChanged(eventTime: EventTime, state: Int) {
+        val session = session ?: return
+        when (state) {
+            Player.STATE_BUFFERING -> {
+                if (session.firstFrameRendered && !session.seeking && playWhenReady) {
+                    session.stallStartedAtMs = eventTime.realtimeMs
+                }
+            }
+            Player.STATE_READY -> {
+                finishStall(eventTime)
+                session.seeking = false
+            }
+            Player.STATE_ENDED, Player.STATE_IDLE -> {
+                finishStall(eventTime)
+                endSession(eventTime)
+            }
+        }
+    }
+
+    override fun onPositionDiscontinuity(
+        eventTime: EventTime,
+        oldPosition: Player.PositionInfo,
+        newPosition: Player.PositionInfo,
+        reason: Int
+    ) {
+        val session = session ?: return
+        if (reason == Player.DISCONTINUITY_REASON_SEEK) {
+            // Buffering after a seek is expected, not a stall
+            session.seeking = true
+            session.stallStartedAtMs = C.TIME_UNSET
+        }
+    }
+
+    override fun onDownstreamFormatChanged(eventTime: EventTime, mediaLoadData: MediaLoadData) {
+        val session = session ?: return
+        if (mediaLoadData.trackType != C.TRACK_TYPE_VIDEO && mediaLoadData.trackType != C.TRACK_TYPE_DEFAULT) return
+        val bitrate = mediaLoadData.trackFormat?.bitrate ?: return
+        if (bitrate == Format.NO_VALUE || bitrate == session.bitrate) return
+        if (session.bitrate != Format.NO_VALUE) {
+            record(session, PlaybackEventType.BITRATE_SWITCH, eventTime, bitrate = bitrate)
+        }
+        session.bitrate = bitrate
+    }
+
+    override fun onPlayerError(eventTime: EventTime, error: PlaybackException) {
+        val session = session ?: return
+        session.stallStartedAtMs = C.TIME_UNSET
+        record(session, PlaybackEventType.ERROR, eventTime, errorCode = error.errorCodeName)
+    }
+
+    override fun onPlayerReleased(eventTime: EventTime) {
+        endSession(eventTime)
+    }
+
+    /**
+     * Play pressed again after an ended or stopped session (e.g. replay from the mini-player)
+     * opens a new session; it has no startup to measure.
+     */
+    override fun onEvents(player: Player, events: AnalyticsListener.Events) {
+        if (session != null || !events.contains(AnalyticsListener.EVENT_IS_PLAYING_CHANGED) || !player.isPlaying) return
+        val mediaItem = player.currentMediaItem ?: return
+        val eventTime = events.getEventTime(AnalyticsListener.EVENT_IS_PLAYING_CHANGED)
+        startSession(eventTime, mediaItem)
+        session?.apply {
+            firstFrameRendered = true
+            playingSinceMs = eventTime.realtimeMs
+        }
+    }
+
+    private fun startSession(eventTime: EventTime, mediaItem: MediaItem) {
+        val session = Session(
+            id = UUID.randomUUID().toString(),
+            contentId = mediaItem.mediaId,
+            startedAtMs = eventTime.realtimeMs
+        )
+        this.session = session
+        record(session, PlaybackEventType.START, eventTime)
+    }
+
+    private fun markFirstFrame(eventTime: EventTime) {
+        val session = session ?: return
+        if (session.firstFrameRendered) return
+        session.firstFrameRendered = true
+        record(session, PlaybackEventType.FIRST_FRAME, eventTime, durationMs = eventTime.realtimeMs - session.startedAtMs)
+    }
+
+    private fun finishStall(eventTime: EventTime) {
+        val session = session ?: return
+        if (session.stallStartedAtMs == C.TIME_UNSET) return
+        record(session, PlaybackEventType.STALL, eventTime, durationMs = eventTime.realtimeMs - session.stallStartedAtMs)
+        session.stallStartedAtMs = C.TIME_UNSET
+    }
+
+    private fun endSession(eventTime: EventTime) {
+        val session = session ?: return
+        this.session = null
+        if (session.playingSinceMs != C.TIME_UNSET) {
+            session.watchTimeMs += eventTime.realtimeMs - session.playingSinceMs
+        }
+        record(session, PlaybackEventType.END, eventTime, durationMs = session.watchTimeMs)
+        scope.launch {
+            playbackEventDao.trimTo(MAX_BUFFERED_EVENTS)
+            TelemetryUploadWorker.schedule(context)
+        }
+    }
+
+    private fun record(
+        session: Session,
+        type: PlaybackEventType,
+        eventTime: EventTime,
+        durationMs: Long? = null,
+        bitrate: Int? = null,
+        errorCode: String? = null
+    ) {
+        val event = PlaybackEventEntity(
+            sessionId = session.id,
+            contentId = session.contentId,
+            type = type,
+            occurredAt = System.currentTimeMillis(),
+            positionMs = eventTime.currentPlaybackPositionMs.coerceAtLeast(0),
+            durationMs = durationMs,
+            bitrate = bitrate,
+            errorCode = errorCode
+        )
+        scope.launch { playbackEventDao.insert(event) }
+    }
+
+    companion object {
+        private const val MAX_BUFFERED_EVENTS = 5000
+    }
+}
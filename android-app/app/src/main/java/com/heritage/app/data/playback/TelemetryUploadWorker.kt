@@ -0,0 +1,79 @@
+package com.heritage.app.data.playback
+
+import android.content.Context
+import androidx.hilt.work.HiltWorker
+import androidx.work.BackoffPolicy
+import androidx.work.Constraints
+import androidx.work.CoroutineWorker
+import androidx.work.ExistingWorkPolicy
+import androidx.work.NetworkType
+import androidx.work.OneTimeWorkRequestBuilder
+import androidx.work.WorkManager
+import androidx.work.WorkerParameters
+import com.heritage.app.BuildConfig
+import com.heritage.app.data.local.PlaybackEventDao
+import com.heritage.app.data.mapper.toDto
+import com.heritage.app.data.remote.api.HeritageApi
+import com.heritage.app.data.remote.dto.PlaybackEventBatchDto
+import dagger.assisted.Assisted
+import dagger.assisted.AssistedInject
+import retrofit2.HttpException
+import java.io.IOException
+import java.util.concurrent.TimeUnit
+
+/**
+ * Drains the buffered playback events in batches. Scheduled a few minutes after a session
+ * ends, so several sessions usually share one upload and one radio wake-up.
+ */
+@HiltWorker
+class TelemetryUploadWorker @AssistedInject constructor(
+    @Assisted context: Context,
+    @Assisted params: WorkerParameters,
+    private val api: HeritageApi,
+    private val playbackEventDao: PlaybackEventDao
+) : CoroutineWorker(context, params) {
+
+    override suspend fun doWork(): Result {
+        while (true) {
+            val events = playbackEventDao.getOldest(BATCH_SIZE)
+            if (events.isEmpty()) return Result.success()
+            try {
+                api.uploadPlaybackEvents(
+                    PlaybackEventBatchDto(
+                        appVersion = BuildConfig.VERSION_NAME,
+                        events = events.map { it.toDto() }
+                    )
+                )
+            } catch (e: IOException) {
+                return Result.retry()
+            } catch (e: HttpException) {
+                // A rejected batch would be rejected forever; only server errors are retried
+                if (e.code() >= 500) return Result.retry()
+            }
+            playbackEventDao.deleteUpTo(events.last().id)
+        }
+    }
+
+    companion object {
+        private const val WORK_NAME = "playback_telemetry_upload"
+        // Must not exceed MAX_EVENTS_PER_BATCH on the backend
+        private const val BATCH_SIZE = 200
+        private const val UPLOAD_DELAY_MINUTES = 5L
+
+        fun schedule(context: Context) {
+            val request = OneTimeWorkRequestBuilder<TelemetryUploadWorker>()
+                .setConstraints(
+                    Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .setRequiresBatteryNotLow(true)
+                        .build()
+                )
+                .setInitialDelay(UPLOAD_DELAY_MINUTES, TimeUnit.MINUTES)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 1, TimeUnit.MINUTES)
+                .build()
+            // KEEP: sessions ending while an upload is pending ride along with it
+            WorkManager.getInstance(context)
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.KEEP, request)
+        }
+    }
+}
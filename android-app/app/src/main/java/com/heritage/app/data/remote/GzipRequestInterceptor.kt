@@ -0,0 +1,43 @@
+package com.heritage.app.data.remote
+
+import okhttp3.Interceptor
+import okhttp3.MediaType
+import okhttp3.RequestBody
+import okhttp3.Response
+import okio.BufferedSink
+import okio.GzipSink
+import okio.buffer
+
+/**
+ * Compresses the body of requests declared with `Content-Encoding: gzip` (see
+ * [com.heritage.app.data.remote.api.HeritageApi.uploadPlaybackEvents]). Other requests pass through.
+ */
+class GzipRequestInterceptor : Interceptor {
+
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val body = request.body
+        if (body == null || request.header("Content-Encoding") != "gzip") {
+            return chain.proceed(request)
+        }
+        return chain.proceed(
+            request.newBuilder()
+                .method(request.method, body.gzip())
+                .build()
+        )
+    }
+
+    private fun RequestBody.gzip(): RequestBody {
+        val uncompressed = this
+        return object : RequestBody() {
+            override fun contentType(): MediaType? = uncompressed.contentType()
+
+            // Unknown until written; sent chunked
+            override fun contentLength(): Long = -1
+
+            override fun writeTo(sink: BufferedSink) {
+                GzipSink(sink).buffer().use { uncompressed.writeTo(it) }
+            }
+        }
+    }
+}
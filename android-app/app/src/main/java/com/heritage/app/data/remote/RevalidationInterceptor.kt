@@ -0,0 +1,44 @@
+package com.heritage.app.data.remote
+
+import okhttp3.Interceptor
+import okhttp3.Response
+
+/**
+ * Network interceptor that sets how long each endpoint may be served from the OkHttp disk
+ * cache before it is revalidated with `If-None-Match`. The backend answers unchanged
+ * resources with an empty 304, so revalidation costs a few hundred bytes.
+ */
+class RevalidationInterceptor : Interceptor {
+    
+    override fun intercept(chain: Interceptor.Chain): Response {
+        val request = chain.request()
+        val response = chain.proceed(request)
+        if (request.method != "GET" || !response.isSuccessful || response.header("ETag") == null) {
+            return response
+        }
+        
+        val maxAgeSeconds = maxAgeFor(request.url.encodedPath)
+        val cacheControl = if (maxAgeSeconds > 0) {
+            "private, max-age=$maxAgeSeconds"
+        } else {
+            "private, no-cache"
+        }
+        return response.newBuilder()
+            .header("Cache-Control", cacheControl)
+            .removeHeader("Pragma")
+            .build()
+    }
+    
+    private fun maxAgeFor(path: String): Int = when {
+        // Repeating a query while typing or paging back should not touch the network
+        path.endsWith("/content/search") -> 60
+        path.endsWith("/categories") -> 300
+        // Feeds and details: Room already decides when to refresh, so always revalidate
+        else -> 0
+    }
+    
+    companion object {
+        const val CACHE_SIZE_BYTES = 20L * 1024 * 1024
+        const val CACHE_DIRECTORY = "http_cache"
+    }
+}
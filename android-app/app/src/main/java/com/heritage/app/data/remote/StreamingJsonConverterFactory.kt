@@ -0,0 +1,50 @@
+package com.heritage.app.data.remote
+
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.Json
+import kotlinx.serialization.json.decodeFromStream
+import kotlinx.serialization.serializer
+import okhttp3.MediaType.Companion.toMediaType
+import okhttp3.RequestBody
+import okhttp3.RequestBody.Companion.toRequestBody
+import okhttp3.ResponseBody
+import retrofit2.Converter
+import retrofit2.Retrofit
+import java.lang.reflect.Type
+
+/**
+ * Retrofit converter that decodes straight from the response stream with the generated
+ * kotlinx.serialization serializers, instead of buffering the body into a String first.
+ */
+class StreamingJsonConverterFactory(
+    private val json: Json
+) : Converter.Factory() {
+    
+    @OptIn(ExperimentalSerializationApi::class)
+    override fun responseBodyConverter(
+        type: Type,
+        annotations: Array<out Annotation>,
+        retrofit: Retrofit
+    ): Converter<ResponseBody, *> {
+        val deserializer = json.serializersModule.serializer(type)
+        return Converter<ResponseBody, Any?> { body ->
+            body.use { json.decodeFromStream(deserializer, it.byteStream()) }
+        }
+    }
+    
+    override fun requestBodyConverter(
+        type: Type,
+        parameterAnnotations: Array<out Annotation>,
+        methodAnnotations: Array<out Annotation>,
+        retrofit: Retrofit
+    ): Converter<*, RequestBody> {
+        val serializer = json.serializersModule.serializer(type)
+        return Converter<Any?, RequestBody> { value ->
+            json.encodeToString(serializer, value).toRequestBody(MEDIA_TYPE)
+        }
+    }
+    
+    companion object {
+        private val MEDIA_TYPE = "application/json; charset=UTF-8".toMediaType()
+    }
+}
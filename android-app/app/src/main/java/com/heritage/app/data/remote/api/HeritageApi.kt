@@ -2,19 +2,39 @@ package com.heritage.app.data.remote.api
 
 import com.heritage.app.data.remote.dto.ContentDto
 import com.heritage.app.data.remote.dto.ContentListResponse
+import com.heritage.app.data.remote.dto.HomeFeedDto
 import com.heritage.app.data.remote.dto.PerformerDto
+import com.heritage.app.data.remote.dto.PlaybackEventBatchDto
+import retrofit2.http.Body
 import retrofit2.http.GET
+import retrofit2.http.Headers
+import retrofit2.http.POST
 import retrofit2.http.Path
 import retrofit2.http.Query
 
 interface HeritageApi {
     
+    // Home screen sections in one round-trip
+    @GET("home")
+    suspend fun getHomeFeed(
+        @Query("limit") limit: Int = 10
+    ): HomeFeedDto
+    
     // Content endpoints
     @GET("content")
     suspend fun getContent(
         @Query("page") page: Int = 1,
         @Query("limit") limit: Int = 20,
-        @Query("performerId") performerId: String? = null
+        @Query("performerId") performerId: String? = null,
+        // Keyset position "<createdAt>,<id>" from meta.nextCursor; takes precedence over page
+        @Query("after") after: String? = null
+    ): ContentListResponse
+    
+    @GET("content/search")
+    suspend fun searchContent(
+        @Query("q") query: String,
+        @Query("page") page: Int = 1,
+        @Query("limit") limit: Int = 20
     ): ContentListResponse
     
     @GET("content/{id}")
@@ -52,4 +72,19 @@ interface HeritageApi {
         @Query("page") page: Int = 1,
         @Query("limit") limit: Int = 20
     ): ContentListResponse
+    
+    // Categories endpoints
+    @GET("categories/{id}/content")
+    suspend fun getCategoryContent(
+        @Path("id") id: String,
+        @Query("page") page: Int = 1,
+        @Query("limit") limit: Int = 20
+    ): ContentListResponse
+    
+    // Playback telemetry, gzip-compressed by GzipRequestInterceptor
+    @Headers("Content-Encoding: gzip")
+    @POST("analytics/playback/events")
+    suspend fun uploadPlaybackEvents(
+        @Body batch: PlaybackEventBatchDto
+    )
 }
@@ -1,16 +1,27 @@
+@file:OptIn(ExperimentalSerializationApi::class)
+
 package com.heritage.app.data.remote.dto
 
-import com.google.gson.annotations.SerializedName
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.json.JsonNames
 
+@Serializable
 data class ContentDto(
-    @SerializedName("_id")
+    @JsonNames("_id")
     val id: String? = null,
     val title: String? = null,
     val description: String? = null,
     val type: String? = null,
     val thumbnailUrl: String? = null,
+    // WebP variants keyed by pixel width ("160", "320", ...)
+    val thumbnails: Map<String, String>? = null,
+    // ThumbHash of the thumbnail, base64
+    val thumbHash: String? = null,
     val hlsUrl: String? = null,
     val audioUrl: String? = null,
+    val originalFileUrl: String? = null,
+    val fileSize: Long? = null,
     val duration: Int? = null,
     val viewCount: Int? = null,
     val downloadCount: Int? = null,
@@ -21,14 +32,18 @@ data class ContentDto(
     val isProcessed: Boolean? = null
 )
 
+@Serializable
 data class ContentListResponse(
-    val data: List<ContentDto>,
-    val meta: MetaDto?
+    val data: List<ContentDto> = emptyList(),
+    val meta: MetaDto? = null
 )
 
+@Serializable
 data class MetaDto(
     val total: Int,
     val page: Int,
     val limit: Int,
-    val totalPages: Int
+    val totalPages: Int,
+    // Value for `after` that continues a keyset-paged list; null on its last page
+    val nextCursor: String? = null
 )
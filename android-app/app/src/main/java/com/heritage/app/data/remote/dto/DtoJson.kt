@@ -0,0 +1,15 @@
+package com.heritage.app.data.remote.dto
+
+import kotlinx.serialization.json.Json
+
+/**
+ * Shared decoder for API payloads. Serializers are generated at compile time, so nothing
+ * here reflects over the DTO classes.
+ */
+val DtoJson = Json {
+    // The backend returns whole entities; the DTOs only declare what the app reads
+    ignoreUnknownKeys = true
+    // Explicit nulls for non-null fields with defaults (e.g. empty home sections) fall back to the default
+    coerceInputValues = true
+    explicitNulls = false
+}
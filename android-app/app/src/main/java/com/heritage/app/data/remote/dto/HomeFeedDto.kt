@@ -0,0 +1,11 @@
+package com.heritage.app.data.remote.dto
+
+import kotlinx.serialization.Serializable
+
+@Serializable
+data class HomeFeedDto(
+    val trending: List<ContentDto> = emptyList(),
+    val recommended: List<ContentDto> = emptyList(),
+    val recent: List<ContentDto> = emptyList(),
+    val performers: List<PerformerDto> = emptyList()
+)
@@ -1,13 +1,19 @@
+@file:OptIn(ExperimentalSerializationApi::class)
+
 package com.heritage.app.data.remote.dto
 
-import com.google.gson.annotations.SerializedName
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.Serializable
+import kotlinx.serialization.json.JsonNames
 
+@Serializable
 data class PerformerDto(
-    @SerializedName("_id")
+    @JsonNames("_id")
     val id: String? = null,
     val name: String? = null,
     val bio: String? = null,
     val imageUrl: String? = null,
+    val thumbHash: String? = null,
     val location: String? = null,
     val socialLinks: Map<String, String>? = null,
     val isActive: Boolean? = null,
@@ -0,0 +1,22 @@
+package com.heritage.app.data.remote.dto
+
+import kotlinx.serialization.Serializable
+
+@Serializable
+data class PlaybackEventDto(
+    val sessionId: String,
+    val contentId: String,
+    // Lower-case wire names, e.g. "first_frame"
+    val type: String,
+    val occurredAt: Long,
+    val positionMs: Long,
+    val durationMs: Long? = null,
+    val bitrate: Int? = null,
+    val errorCode: String? = null
+)
+
+@Serializable
+data class PlaybackEventBatchDto(
+    val appVersion: String,
+    val events: List<PlaybackEventDto>
+)
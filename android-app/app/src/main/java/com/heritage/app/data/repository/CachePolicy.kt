@@ -0,0 +1,49 @@
+package com.heritage.app.data.repository
+
+import com.heritage.app.domain.model.ContentFeed
+import java.util.concurrent.TimeUnit
+
+/**
+ * How long each cached query is served without revalidating against the API.
+ * Roughly mirrors the backend cache TTLs so we never revalidate faster than the server can change.
+ */
+object CachePolicy {
+    val TRENDING_MAX_AGE = TimeUnit.MINUTES.toMillis(10)
+    val RECOMMENDED_MAX_AGE = TimeUnit.MINUTES.toMillis(10)
+    val RECENT_MAX_AGE = TimeUnit.MINUTES.toMillis(2)
+    val PERFORMERS_MAX_AGE = TimeUnit.MINUTES.toMillis(30)
+    val PERFORMER_MAX_AGE = TimeUnit.MINUTES.toMillis(30)
+    val PERFORMER_CONTENT_MAX_AGE = TimeUnit.MINUTES.toMillis(5)
+    val CATEGORY_CONTENT_MAX_AGE = TimeUnit.MINUTES.toMillis(10)
+    val CONTENT_MAX_AGE = TimeUnit.MINUTES.toMillis(10)
+    // The aggregated home response is cached as one unit with its shortest section (recent)
+    val HOME_MAX_AGE = RECENT_MAX_AGE
+
+    fun trendingKey(limit: Int) = "trending_$limit"
+    fun recommendedKey(limit: Int) = "recommended_$limit"
+    fun recentKey(limit: Int) = "recent_$limit"
+    fun performerContentKey(performerId: String) = "performer_content_$performerId"
+    fun categoryContentKey(categoryId: String) = "category_content_$categoryId"
+    fun performerKey(performerId: String) = "performer_$performerId"
+    fun contentKey(contentId: String) = "content_$contentId"
+    fun homeKey(limit: Int) = "home_$limit"
+    fun homePerformersKey(limit: Int) = "home_performers_$limit"
+    const val PERFORMERS_KEY = "performers"
+    const val ALL_CONTENT_KEY = "all_content"
+
+    fun feedKey(feed: ContentFeed): String = when (feed) {
+        ContentFeed.All -> ALL_CONTENT_KEY
+        is ContentFeed.ByPerformer -> performerContentKey(feed.performerId)
+        is ContentFeed.ByCategory -> categoryContentKey(feed.categoryId)
+    }
+
+    fun maxAge(feed: ContentFeed): Long = when (feed) {
+        ContentFeed.All -> RECENT_MAX_AGE
+        is ContentFeed.ByPerformer -> PERFORMER_CONTENT_MAX_AGE
+        is ContentFeed.ByCategory -> CATEGORY_CONTENT_MAX_AGE
+    }
+
+    fun isStale(fetchedAt: Long?, maxAge: Long, now: Long = System.currentTimeMillis()): Boolean {
+        return fetchedAt == null || now - fetchedAt >= maxAge
+    }
+}
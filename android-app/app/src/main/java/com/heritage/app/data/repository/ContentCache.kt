@@ -0,0 +1,105 @@
+package com.heritage.app.data.repository
+
+import androidx.room.withTransaction
+import com.heritage.app.data.local.CacheTimestampEntity
+import com.heritage.app.data.local.ContentFtsEntity
+import com.heritage.app.data.local.FeedEntryEntity
+import com.heritage.app.data.local.HeritageDatabase
+import com.heritage.app.data.local.PerformerFeedEntryEntity
+import com.heritage.app.data.mapper.toEntity
+import com.heritage.app.data.remote.dto.ContentDto
+import com.heritage.app.data.remote.dto.PerformerDto
+import com.heritage.app.util.ArabicNormalizer
+
+/**
+ * Write side of the offline cache, shared by the repository and the paging mediators.
+ */
+class ContentCache(
+    private val database: HeritageDatabase
+) {
+    
+    private val contentDao = database.contentDao()
+    private val performerDao = database.performerDao()
+    private val feedDao = database.feedDao()
+    
+    suspend fun <R> transaction(block: suspend () -> R): R = database.withTransaction(block)
+    
+    suspend fun saveContent(dtos: List<ContentDto>) {
+        val now = System.currentTimeMillis()
+        val items = dtos.filter { it.id != null }
+        transaction {
+            savePerformers(items.mapNotNull { it.performer })
+            contentDao.upsertContent(items.map { it.toEntity(now) })
+            contentDao.deleteFts(items.map { it.id!! })
+            contentDao.insertFts(
+                items.map { dto ->
+                    ContentFtsEntity(
+                        contentId = dto.id!!,
+                        title = ArabicNormalizer.normalize(dto.title),
+                        performerName = ArabicNormalizer.normalize(dto.performer?.name),
+                        description = ArabicNormalizer.normalize(dto.description)
+                    )
+                }
+            )
+        }
+    }
+    
+    suspend fun savePerformers(dtos: List<PerformerDto>) {
+        val now = System.currentTimeMillis()
+        performerDao.upsertPerformers(dtos.filter { it.id != null }.map { it.toEntity(now) })
+    }
+    
+    /**
+     * Replaces (or, when [append] is set, extends) the ordered membership of [feedKey].
+     */
+    suspend fun saveFeed(feedKey: String, dtos: List<ContentDto>, append: Boolean = false) {
+        val items = dtos.filter { it.id != null }.distinctBy { it.id }
+        transaction {
+            saveContent(items)
+            val start = if (append) {
+                (feedDao.getMaxPosition(feedKey) ?: -1) + 1
+            } else {
+                feedDao.clearFeed(feedKey)
+                0
+            }
+            // Offset pages shift when new content is published; never list the same row twice
+            val existing = if (append) {
+                feedDao.getExistingContentIds(feedKey, items.map { it.id!! }).toSet()
+            } else {
+                emptySet()
+            }
+            feedDao.insertEntries(
+                items.filterNot { it.id in existing }.mapIndexed { index, dto ->
+                    FeedEntryEntity(feedKey = feedKey, position = start + index, contentId = dto.id!!)
+                }
+            )
+            if (!append) touch(feedKey)
+        }
+    }
+    
+    /**
+     * Replaces the ordered membership of the performer list [feedKey]. Performer rows are only
+     * upserted, never pruned: content and detail rows keep referencing them.
+     */
+    suspend fun savePerformerFeed(feedKey: String, dtos: List<PerformerDto>) {
+        val items = dtos.filter { it.id != null }.distinctBy { it.id }
+        transaction {
+            savePerformers(items)
+            feedDao.clearPerformerFeed(feedKey)
+            feedDao.insertPerformerEntries(
+                items.mapIndexed { index, dto ->
+                    PerformerFeedEntryEntity(feedKey = feedKey, position = index, performerId = dto.id!!)
+                }
+            )
+            touch(feedKey)
+        }
+    }
+    
+    suspend fun touch(cacheKey: String) {
+        feedDao.upsertTimestamp(CacheTimestampEntity(cacheKey, System.currentTimeMillis()))
+    }
+    
+    suspend fun isStale(cacheKey: String, maxAge: Long): Boolean {
+        return CachePolicy.isStale(feedDao.getFetchedAt(cacheKey), maxAge)
+    }
+}
@@ -0,0 +1,77 @@
+package com.heritage.app.data.repository
+
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.LoadType
+import androidx.paging.PagingState
+import androidx.paging.RemoteMediator
+import com.heritage.app.data.local.ContentWithPerformer
+import com.heritage.app.data.local.FeedDao
+import com.heritage.app.data.local.RemoteKeyEntity
+import com.heritage.app.data.remote.dto.ContentListResponse
+import kotlinx.coroutines.CancellationException
+
+/**
+ * Fills the Room-backed feed [feedKey] one server page at a time. The UI only ever reads
+ * from Room, so memory and request size stay bounded by the pager config.
+ * With [keyset] the server pages by cursor: pages are exact and the feed ends when the
+ * response carries no next cursor. Otherwise pages are offsets and only an empty page ends it.
+ */
+@OptIn(ExperimentalPagingApi::class)
+class ContentRemoteMediator(
+    private val feedKey: String,
+    private val maxAge: Long,
+    private val cache: ContentCache,
+    private val feedDao: FeedDao,
+    private val keyset: Boolean = false,
+    private val fetchPage: suspend (page: Int, after: String?, limit: Int) -> ContentListResponse
+) : RemoteMediator<Int, ContentWithPerformer>() {
+    
+    override suspend fun initialize(): InitializeAction {
+        return if (cache.isStale(feedKey, maxAge)) {
+            InitializeAction.LAUNCH_INITIAL_REFRESH
+        } else {
+            InitializeAction.SKIP_INITIAL_REFRESH
+        }
+    }
+    
+    override suspend fun load(
+        loadType: LoadType,
+        state: PagingState<Int, ContentWithPerformer>
+    ): MediatorResult {
+        var after: String? = null
+        val page = when (loadType) {
+            LoadType.REFRESH -> 1
+            LoadType.PREPEND -> return MediatorResult.Success(endOfPaginationReached = true)
+            LoadType.APPEND -> {
+                val remoteKey = feedDao.getRemoteKey(feedKey)
+                    ?: return MediatorResult.Success(endOfPaginationReached = false)
+                after = remoteKey.nextCursor
+                remoteKey.nextPage
+                    ?: return MediatorResult.Success(endOfPaginationReached = true)
+            }
+        }
+        
+        return try {
+            val response = fetchPage(page, after, state.config.pageSize)
+            val items = response.data
+            val nextCursor = response.meta?.nextCursor
+            val endOfPaginationReached = if (keyset) nextCursor == null else items.isEmpty()
+            
+            cache.transaction {
+                cache.saveFeed(feedKey, items, append = loadType == LoadType.APPEND)
+                feedDao.upsertRemoteKey(
+                    RemoteKeyEntity(
+                        feedKey = feedKey,
+                        nextPage = if (endOfPaginationReached) null else page + 1,
+                        nextCursor = nextCursor
+                    )
+                )
+            }
+            MediatorResult.Success(endOfPaginationReached = endOfPaginationReached)
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            MediatorResult.Error(e)
+        }
+    }
+}
@@ -1,16 +1,50 @@
 package com.heritage.app.data.repository
 
+import androidx.paging.ExperimentalPagingApi
+import androidx.paging.Pager
+import androidx.paging.PagingConfig
+import androidx.paging.PagingData
+import androidx.paging.map
+import androidx.room.withTransaction
+import com.heritage.app.data.local.HeritageDatabase
 import com.heritage.app.data.mapper.toDomain
 import com.heritage.app.data.remote.api.HeritageApi
+import com.heritage.app.data.remote.dto.ContentDto
+import com.heritage.app.data.remote.dto.HomeFeedDto
 import com.heritage.app.domain.model.Content
+import com.heritage.app.domain.model.ContentFeed
+import com.heritage.app.domain.model.HomeFeed
 import com.heritage.app.domain.model.Performer
 import com.heritage.app.domain.repository.ContentRepository
+import com.heritage.app.util.ArabicNormalizer
+import com.heritage.app.util.Resource
+import com.heritage.app.util.networkBoundResource
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.distinctUntilChanged
+import kotlinx.coroutines.flow.map
+import java.io.IOException
 import javax.inject.Inject
 
 class ContentRepositoryImpl @Inject constructor(
-    private val api: HeritageApi
+    private val api: HeritageApi,
+    private val database: HeritageDatabase
 ) : ContentRepository {
     
+    private val cache = ContentCache(database)
+    private val contentDao = database.contentDao()
+    private val performerDao = database.performerDao()
+    private val feedDao = database.feedDao()
+    
+    // Refreshes are shared by every concurrent caller (e.g. content detail and the player
+    // opening the same id, or startup and Home loading the feed) and outlive any one of them
+    private val inFlight = SingleFlight(CoroutineScope(SupervisorJob() + Dispatchers.IO))
+    private val contentMemory = ExpiringLruCache<String, Content>(MEMORY_CACHE_SIZE, CachePolicy.CONTENT_MAX_AGE)
+    private val performerMemory = ExpiringLruCache<String, Performer>(MEMORY_CACHE_SIZE, CachePolicy.PERFORMER_MAX_AGE)
+    private val performerListMemory = ExpiringLruCache<String, List<Performer>>(1, CachePolicy.PERFORMERS_MAX_AGE)
+    
     override suspend fun getContent(
         page: Int,
         limit: Int,
@@ -20,7 +54,12 @@ class ContentRepositoryImpl @Inject constructor(
     }
     
     override suspend fun getContentById(id: String): Content {
-        return api.getContentById(id).toDomain()
+        contentMemory.get(id)?.let { return it }
+        return try {
+            refreshContent(id)
+        } catch (e: IOException) {
+            contentDao.getContentById(id)?.toDomain() ?: throw e
+        }
     }
     
     override suspend fun getTrendingContent(limit: Int): List<Content> {
@@ -36,11 +75,16 @@ class ContentRepositoryImpl @Inject constructor(
     }
     
     override suspend fun getPerformers(): List<Performer> {
-        return api.getPerformers().map { it.toDomain() }
+        return performerListMemory.get(CachePolicy.PERFORMERS_KEY) ?: refreshPerformers()
     }
     
     override suspend fun getPerformerById(id: String): Performer {
-        return api.getPerformerById(id).toDomain()
+        performerMemory.get(id)?.let { return it }
+        return try {
+            refreshPerformer(id)
+        } catch (e: IOException) {
+            performerDao.getPerformerById(id)?.toDomain() ?: throw e
+        }
     }
     
     override suspend fun getPerformerContent(
@@ -56,12 +100,188 @@ class ContentRepositoryImpl @Inject constructor(
         page: Int,
         limit: Int
     ): List<Content> {
-        // For now, return all content and filter client-side
-        // TODO: Add search endpoint to backend
-        return api.getContent(page, limit).data.map { it.toDomain() }.filter {
-            it.title.contains(query, ignoreCase = true) ||
-            it.description?.contains(query, ignoreCase = true) == true ||
-            it.performer?.name?.contains(query, ignoreCase = true) == true
+        // Always asks the server: its trigram matches and ranking are not a subset of a shorter
+        // query's results. The local FTS answer (searchLocal) is what shows while this is in flight.
+        val results = api.searchContent(query, page, limit).data
+        cache.saveContent(results)
+        return results.map { it.toDomain() }
+    }
+    
+    override suspend fun searchLocal(query: String, limit: Int): List<Content> {
+        val ftsQuery = ArabicNormalizer.toFtsQuery(query) ?: return emptyList()
+        return contentDao.search(ftsQuery, limit).map { it.toDomain() }
+    }
+    
+    override fun observeContentById(id: String): Flow<Resource<Content>> {
+        val cacheKey = CachePolicy.contentKey(id)
+        return networkBoundResource(
+            query = { contentDao.observeContentById(id).map { it?.toDomain() } },
+            fetch = { refreshContent(id) },
+            shouldFetch = { cache.isStale(cacheKey, CachePolicy.CONTENT_MAX_AGE) }
+        )
+    }
+    
+    override fun observeHomeFeed(limit: Int): Flow<Resource<HomeFeed>> {
+        val homeKey = CachePolicy.homeKey(limit)
+        return networkBoundResource(
+            query = { observeHomeSnapshot(limit) },
+            fetch = { refreshHomeFeed(limit) },
+            shouldFetch = { cached -> cached == null || cache.isStale(homeKey, CachePolicy.HOME_MAX_AGE) }
+        )
+    }
+    
+    /**
+     * Re-reads all sections in one transaction whenever any backing table changes, so a
+     * refresh reaches the UI as a single consistent snapshot instead of one emission per section.
+     */
+    private fun observeHomeSnapshot(limit: Int): Flow<HomeFeed?> {
+        return database.invalidationTracker
+            .createFlow("content", "performers", "feed_entries", "performer_feed_entries")
+            .map {
+                database.withTransaction {
+                    HomeFeed(
+                        trending = contentDao.getFeed(CachePolicy.trendingKey(limit)).map { it.toDomain() },
+                        recommended = contentDao.getFeed(CachePolicy.recommendedKey(limit)).map { it.toDomain() },
+                        recent = contentDao.getFeed(CachePolicy.recentKey(limit)).map { it.toDomain() },
+                        performers = performerDao.getFeed(CachePolicy.homePerformersKey(limit)).map { it.toDomain() }
+                    )
+                }.takeUnless { it.isEmpty }
+            }
+            .distinctUntilChanged()
+    }
+    
+    override fun observeTrendingContent(limit: Int): Flow<Resource<List<Content>>> {
+        return observeFeed(CachePolicy.trendingKey(limit), CachePolicy.TRENDING_MAX_AGE) {
+            api.getTrendingContent(limit).data
+        }
+    }
+    
+    override fun observeRecommendedContent(limit: Int): Flow<Resource<List<Content>>> {
+        return observeFeed(CachePolicy.recommendedKey(limit), CachePolicy.RECOMMENDED_MAX_AGE) {
+            api.getRecommendedContent(limit).data
+        }
+    }
+    
+    override fun observeRecentContent(limit: Int): Flow<Resource<List<Content>>> {
+        return observeFeed(CachePolicy.recentKey(limit), CachePolicy.RECENT_MAX_AGE) {
+            api.getRecentContent(limit).data
+        }
+    }
+    
+    @OptIn(ExperimentalPagingApi::class)
+    override fun getContentPager(feed: ContentFeed): Flow<PagingData<Content>> {
+        val feedKey = CachePolicy.feedKey(feed)
+        return Pager(
+            config = PagingConfig(
+                pageSize = PAGE_SIZE,
+                prefetchDistance = PAGE_SIZE / 2,
+                enablePlaceholders = false,
+                maxSize = MAX_CACHED_ITEMS
+            ),
+            remoteMediator = ContentRemoteMediator(
+                feedKey = feedKey,
+                maxAge = CachePolicy.maxAge(feed),
+                cache = cache,
+                feedDao = feedDao,
+                keyset = feed !is ContentFeed.ByCategory
+            ) { page, after, limit ->
+                when (feed) {
+                    ContentFeed.All -> api.getContent(page, limit, after = after)
+                    is ContentFeed.ByPerformer -> api.getContent(page, limit, feed.performerId, after)
+                    is ContentFeed.ByCategory -> api.getCategoryContent(feed.categoryId, page, limit)
+                }
+            },
+            pagingSourceFactory = { contentDao.pagingSource(feedKey) }
+        ).flow.map { pagingData -> pagingData.map { it.toDomain() } }
+    }
+    
+    override fun observePerformers(): Flow<Resource<List<Performer>>> {
+        return networkBoundResource(
+            query = {
+                performerDao.observeFeed(CachePolicy.PERFORMERS_KEY).map { rows -> rows.map { it.toDomain() } }
+            },
+            fetch = { refreshPerformers() },
+            shouldFetch = { cached ->
+                cached.isNullOrEmpty() ||
+                    cache.isStale(CachePolicy.PERFORMERS_KEY, CachePolicy.PERFORMERS_MAX_AGE)
+            }
+        )
+    }
+    
+    override fun observePerformerById(id: String): Flow<Resource<Performer>> {
+        val cacheKey = CachePolicy.performerKey(id)
+        return networkBoundResource(
+            query = { performerDao.observePerformerById(id).map { it?.toDomain() } },
+            fetch = { refreshPerformer(id) },
+            shouldFetch = { cache.isStale(cacheKey, CachePolicy.PERFORMER_MAX_AGE) }
+        )
+    }
+    
+    private fun observeFeed(
+        feedKey: String,
+        maxAge: Long,
+        fetch: suspend () -> List<ContentDto>
+    ): Flow<Resource<List<Content>>> {
+        return networkBoundResource(
+            query = { contentDao.observeFeed(feedKey).map { rows -> rows.map { it.toDomain() } } },
+            fetch = { inFlight.run(feedKey) { cache.saveFeed(feedKey, fetch()) } },
+            shouldFetch = { cached -> cached.isNullOrEmpty() || cache.isStale(feedKey, maxAge) }
+        )
+    }
+    
+    // Each refresh fetches once for all concurrent callers, then writes Room and the memory cache
+    private suspend fun refreshContent(id: String): Content {
+        val cacheKey = CachePolicy.contentKey(id)
+        return inFlight.run(cacheKey) {
+            val dto = api.getContentById(id)
+            cache.transaction {
+                cache.saveContent(listOf(dto))
+                cache.touch(cacheKey)
+            }
+            dto.toDomain().also { contentMemory.put(id, it) }
         }
     }
+    
+    private suspend fun refreshPerformer(id: String): Performer {
+        val cacheKey = CachePolicy.performerKey(id)
+        return inFlight.run(cacheKey) {
+            val dto = api.getPerformerById(id)
+            cache.transaction {
+                cache.savePerformers(listOf(dto))
+                cache.touch(cacheKey)
+            }
+            dto.toDomain().also { performerMemory.put(id, it) }
+        }
+    }
+    
+    private suspend fun refreshPerformers(): List<Performer> {
+        return inFlight.run(CachePolicy.PERFORMERS_KEY) {
+            val dtos = api.getPerformers()
+            // Upsert and record list membership; pruning would drop rows content still references
+            cache.savePerformerFeed(CachePolicy.PERFORMERS_KEY, dtos)
+            dtos.map { it.toDomain() }.also { performerListMemory.put(CachePolicy.PERFORMERS_KEY, it) }
+        }
+    }
+    
+    private suspend fun refreshHomeFeed(limit: Int): HomeFeedDto {
+        val homeKey = CachePolicy.homeKey(limit)
+        return inFlight.run(homeKey) {
+            val dto = api.getHomeFeed(limit)
+            cache.transaction {
+                cache.saveFeed(CachePolicy.trendingKey(limit), dto.trending)
+                cache.saveFeed(CachePolicy.recommendedKey(limit), dto.recommended)
+                cache.saveFeed(CachePolicy.recentKey(limit), dto.recent)
+                cache.savePerformerFeed(CachePolicy.homePerformersKey(limit), dto.performers)
+                cache.touch(homeKey)
+            }
+            dto
+        }
+    }
+    
+    companion object {
+        private const val PAGE_SIZE = 20
+        private const val MEMORY_CACHE_SIZE = 100
+        // Room re-queries dropped pages on scroll back, so we only keep a bounded window in memory
+        private const val MAX_CACHED_ITEMS = 200
+    }
 }
@@ -0,0 +1,31 @@
+package com.heritage.app.data.repository
+
+import android.util.LruCache
+
+/**
+ * Bounded in-memory cache of mapped domain objects in front of Room. Entries older than
+ * [maxAge] are treated as missing, so a repeat read never serves data the disk cache
+ * would already revalidate.
+ */
+class ExpiringLruCache<K : Any, V : Any>(
+    maxSize: Int,
+    private val maxAge: Long
+) {
+
+    private class Entry<V>(val value: V, val storedAt: Long)
+
+    private val entries = LruCache<K, Entry<V>>(maxSize)
+
+    fun get(key: K): V? {
+        val entry = entries.get(key) ?: return null
+        if (CachePolicy.isStale(entry.storedAt, maxAge)) {
+            entries.remove(key)
+            return null
+        }
+        return entry.value
+    }
+
+    fun put(key: K, value: V) {
+        entries.put(key, Entry(value, System.currentTimeMillis()))
+    }
+}
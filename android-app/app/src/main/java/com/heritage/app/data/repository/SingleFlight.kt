@@ -0,0 +1,37 @@
+package com.heritage.app.data.repository
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.async
+
+/**
+ * Coalesces concurrent calls for the same key into one execution whose result (or failure)
+ * every caller receives. The call runs in [scope], so a caller that goes away mid-request
+ * (a cleared ViewModel) does not cancel it for the others. Keys are cache keys from
+ * [CachePolicy], which already encode what type the call returns.
+ */
+class SingleFlight(
+    private val scope: CoroutineScope
+) {
+
+    // Guarded by itself
+    private val calls = HashMap<String, Deferred<*>>()
+
+    @Suppress("UNCHECKED_CAST")
+    suspend fun <T> run(key: String, block: suspend () -> T): T {
+        val call = synchronized(calls) {
+            calls.getOrPut(key) {
+                scope.async(start = CoroutineStart.LAZY) { block() }.also { deferred ->
+                    deferred.invokeOnCompletion {
+                        synchronized(calls) {
+                            if (calls[key] === deferred) calls.remove(key)
+                        }
+                    }
+                }
+            }
+        } as Deferred<T>
+        call.start()
+        return call.await()
+    }
+}
@@ -0,0 +1,152 @@
+package com.heritage.app.data.startup
+
+import android.content.Context
+import coil3.SingletonImageLoader
+import coil3.request.CachePolicy
+import coil3.request.ImageRequest
+import com.heritage.app.BuildConfig
+import com.heritage.app.data.local.HeritageDatabase
+import com.heritage.app.domain.model.HomeFeed
+import com.heritage.app.domain.usecase.GetHomeFeedUseCase
+import com.heritage.app.util.MediaUrls
+import com.heritage.app.util.Resource
+import com.heritage.app.util.thumbnail
+import dagger.hilt.android.qualifiers.ApplicationContext
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
+import okhttp3.HttpUrl
+import okhttp3.HttpUrl.Companion.toHttpUrlOrNull
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import java.io.IOException
+import javax.inject.Inject
+import javax.inject.Provider
+import javax.inject.Singleton
+
+/**
+ * Work the first screen depends on, started from [com.heritage.app.HeritageApplication]
+ * instead of after the splash: opening the database, connecting to the API and media hosts,
+ * loading the home feed into the Room cache and fetching its first images.
+ * HomeViewModel then reads a fresh cache instead of starting its own request.
+ * Dependencies are behind [Provider]s so building them happens off the main thread.
+ */
+@Singleton
+class StartupOrchestrator @Inject constructor(
+    @ApplicationContext private val context: Context,
+    private val database: Provider<HeritageDatabase>,
+    private val okHttpClient: Provider<OkHttpClient>,
+    private val getHomeFeedUseCase: Provider<GetHomeFeedUseCase>
+) {
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val homeFeedReady = MutableStateFlow(false)
+    private var started = false
+
+    fun start() {
+        if (started) return
+        started = true
+
+        scope.launch { database.get().openHelper.writableDatabase }
+        // Relative media paths resolve against the API origin (MediaUrls.SERVER_ORIGIN), so this
+        // one connection serves both
+        scope.launch { preconnect(BuildConfig.API_BASE_URL) }
+        scope.launch { loadHomeFeed() }
+    }
+
+    /**
+     * Suspends until the home feed has something to show (cached or fetched) or has failed.
+     */
+    suspend fun awaitHomeFeed() {
+        homeFeedReady.first { it }
+    }
+
+    private suspend fun loadHomeFeed() {
+        var warmedImages = false
+        try {
+            getHomeFeedUseCase.get().invoke()
+                .onEach { result ->
+                    val feed = result.data
+                    if (feed != null || result !is Resource.Loading) homeFeedReady.value = true
+                    if (feed != null && !warmedImages) {
+                        warmedImages = true
+                        warmUp(feed)
+                    }
+                }
+                // Stop once the fetch has settled; cancelling on cached data would abort it
+                .first { it !is Resource.Loading }
+        } finally {
+            homeFeedReady.value = true
+        }
+    }
+
+    /**
+     * Creates the image loader and fills its disk cache with what Home shows first, at the
+     * thumbnail widths the hero and row cards will pick. Cards decode at their own size, so
+     * these requests skip the memory cache.
+     */
+    private fun warmUp(feed: HomeFeed) {
+        val imageLoader = SingletonImageLoader.get(context)
+        val metrics = context.resources.displayMetrics
+        val cardWidthPx = (CARD_WIDTH_DP * metrics.density).toInt()
+
+        fun warm(data: Any, widthPx: Int) {
+            imageLoader.enqueue(
+                ImageRequest.Builder(context)
+                    .data(data)
+                    .size(widthPx, widthPx)
+                    .memoryCachePolicy(CachePolicy.DISABLED)
+                    .build()
+            )
+        }
+
+        feed.trending.firstOrNull()?.thumbnail()?.let { warm(it, metrics.widthPixels) }
+        (feed.trending.drop(1).take(WARM_ITEMS_PER_ROW) +
+                feed.recommended.take(WARM_ITEMS_PER_ROW) +
+                feed.recent.take(WARM_ITEMS_PER_ROW))
+            .distinctBy { it.id }
+            .mapNotNull { it.thumbnail() }
+            .forEach { warm(it, cardWidthPx) }
+        feed.performers.take(WARM_PERFORMERS)
+            .mapNotNull { it.imageUrl }
+            .distinct()
+            .forEach { warm(MediaUrls.resolve(it), cardWidthPx) }
+
+        // Playback URLs may live on a CDN host distinct from the API
+        val apiOrigin = BuildConfig.API_BASE_URL.toHttpUrlOrNull()?.let { origin(it) }
+        (feed.trending + feed.recommended + feed.recent)
+            .mapNotNull { MediaUrls.playbackUrl(it)?.toHttpUrlOrNull() }
+            .map { origin(it) }
+            .distinct()
+            .filterNot { it == apiOrigin }
+            .forEach { origin -> scope.launch { preconnect(origin) } }
+    }
+
+    private fun origin(url: HttpUrl): String = "${url.scheme}://${url.host}:${url.port}/"
+
+    /**
+     * Opens a pooled connection (DNS, TCP, TLS) to [url]'s host with a HEAD request. The
+     * media client is derived from the same OkHttpClient and shares its pool.
+     */
+    private fun preconnect(url: String) {
+        try {
+            val request = Request.Builder().url(url).head().build()
+            okHttpClient.get().newCall(request).execute().close()
+        } catch (e: IOException) {
+            // Nothing to warm; the real request will report the problem
+        } catch (e: IllegalArgumentException) {
+            // Malformed host from the feed
+        }
+    }
+
+    companion object {
+        private const val WARM_ITEMS_PER_ROW = 3
+        private const val WARM_PERFORMERS = 6
+        // Row card width on a phone (responsiveCardWidth)
+        private const val CARD_WIDTH_DP = 160
+    }
+}
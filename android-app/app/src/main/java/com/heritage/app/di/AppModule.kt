@@ -5,7 +5,22 @@ import androidx.room.Room
 import com.heritage.app.BuildConfig
 import com.heritage.app.data.local.DownloadDao
 import com.heritage.app.data.local.HeritageDatabase
+import com.heritage.app.data.local.MIGRATION_1_2
+import com.heritage.app.data.local.MIGRATION_2_3
+import com.heritage.app.data.local.MIGRATION_3_4
+import com.heritage.app.data.local.MIGRATION_4_5
+import com.heritage.app.data.local.MIGRATION_5_6
+import com.heritage.app.data.local.MIGRATION_6_7
+import com.heritage.app.data.local.MIGRATION_7_8
+import com.heritage.app.data.local.MIGRATION_8_9
+import com.heritage.app.data.local.MIGRATION_9_10
+import com.heritage.app.data.local.MIGRATION_10_11
+import com.heritage.app.data.local.PlaybackEventDao
+import com.heritage.app.data.remote.GzipRequestInterceptor
+import com.heritage.app.data.remote.RevalidationInterceptor
+import com.heritage.app.data.remote.StreamingJsonConverterFactory
 import com.heritage.app.data.remote.api.HeritageApi
+import com.heritage.app.data.remote.dto.DtoJson
 import com.heritage.app.data.repository.ContentRepositoryImpl
 import com.heritage.app.domain.repository.ContentRepository
 import dagger.Module
@@ -13,10 +28,11 @@ import dagger.Provides
 import dagger.hilt.InstallIn
 import dagger.hilt.android.qualifiers.ApplicationContext
 import dagger.hilt.components.SingletonComponent
+import okhttp3.Cache
 import okhttp3.OkHttpClient
 import okhttp3.logging.HttpLoggingInterceptor
 import retrofit2.Retrofit
-import retrofit2.converter.gson.GsonConverterFactory
+import java.io.File
 import javax.inject.Singleton
 
 @Module
@@ -25,13 +41,22 @@ object AppModule {
 
     @Provides
     @Singleton
-    fun provideOkHttpClient(): OkHttpClient {
+    fun provideOkHttpClient(@ApplicationContext context: Context): OkHttpClient {
         return OkHttpClient.Builder()
+            .cache(
+                Cache(
+                    File(context.cacheDir, RevalidationInterceptor.CACHE_DIRECTORY),
+                    RevalidationInterceptor.CACHE_SIZE_BYTES
+                )
+            )
+            .addNetworkInterceptor(RevalidationInterceptor())
             .addInterceptor(
                 HttpLoggingInterceptor().apply {
                     level = HttpLoggingInterceptor.Level.BODY
                 }
             )
+            // After logging, so the log shows the JSON rather than gzip bytes
+            .addInterceptor(GzipRequestInterceptor())
             .build()
     }
 
@@ -41,7 +66,7 @@ object AppModule {
         return Retrofit.Builder()
             .baseUrl(BuildConfig.API_BASE_URL)
             .client(okHttpClient)
-            .addConverterFactory(GsonConverterFactory.create())
+            .addConverterFactory(StreamingJsonConverterFactory(DtoJson))
             .build()
     }
     
@@ -53,8 +78,11 @@ object AppModule {
     
     @Provides
     @Singleton
-    fun provideContentRepository(api: HeritageApi): ContentRepository {
-        return ContentRepositoryImpl(api)
+    fun provideContentRepository(
+        api: HeritageApi,
+        database: HeritageDatabase
+    ): ContentRepository {
+        return ContentRepositoryImpl(api, database)
     }
     
     @Provides
@@ -64,7 +92,9 @@ object AppModule {
             context,
             HeritageDatabase::class.java,
             "heritage_database"
-        ).build()
+        )
+            .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11)
+            .build()
     }
     
     @Provides
@@ -72,4 +102,10 @@ object AppModule {
     fun provideDownloadDao(database: HeritageDatabase): DownloadDao {
         return database.downloadDao()
     }
+    
+    @Provides
+    @Singleton
+    fun providePlaybackEventDao(database: HeritageDatabase): PlaybackEventDao {
+        return database.playbackEventDao()
+    }
 }
@@ -0,0 +1,129 @@
+package com.heritage.app.di
+
+import android.content.Context
+import androidx.media3.database.DatabaseProvider
+import androidx.media3.database.StandaloneDatabaseProvider
+import androidx.media3.datasource.DataSource
+import androidx.media3.datasource.cache.Cache
+import androidx.media3.datasource.cache.CacheDataSource
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor
+import androidx.media3.datasource.cache.NoOpCacheEvictor
+import androidx.media3.datasource.cache.SimpleCache
+import androidx.media3.datasource.okhttp.OkHttpDataSource
+import androidx.media3.exoplayer.offline.DownloadManager
+import androidx.media3.exoplayer.scheduler.Requirements
+import com.heritage.app.BuildConfig
+import dagger.Module
+import dagger.Provides
+import dagger.hilt.InstallIn
+import dagger.hilt.android.qualifiers.ApplicationContext
+import dagger.hilt.components.SingletonComponent
+import okhttp3.OkHttpClient
+import java.io.File
+import java.util.concurrent.Executors
+import javax.inject.Singleton
+
+@Module
+@InstallIn(SingletonComponent::class)
+object MediaModule {
+
+    private const val DOWNLOAD_CACHE_DIRECTORY = "media_downloads"
+    private const val PLAYBACK_CACHE_DIRECTORY = "media_playback"
+    // Never take more than this share of the free space, whatever the configured size
+    private const val PLAYBACK_CACHE_MAX_FREE_SPACE_FRACTION = 0.1
+    private const val MAX_PARALLEL_DOWNLOADS = 2
+    private const val SEGMENT_DOWNLOAD_THREADS = 4
+
+    @Provides
+    @Singleton
+    fun provideMediaDatabaseProvider(@ApplicationContext context: Context): DatabaseProvider {
+        return StandaloneDatabaseProvider(context)
+    }
+
+    /**
+     * Offline HLS segments. Never evicted: entries leave only when the download is removed.
+     */
+    @Provides
+    @Singleton
+    @DownloadCache
+    fun provideDownloadCache(
+        @ApplicationContext context: Context,
+        databaseProvider: DatabaseProvider
+    ): Cache {
+        val directory = File(context.getExternalFilesDir(null) ?: context.filesDir, DOWNLOAD_CACHE_DIRECTORY)
+        return SimpleCache(directory, NoOpCacheEvictor(), databaseProvider)
+    }
+
+    /**
+     * Recently played segments, evicted least-recently-read first, so replays and backward
+     * seeks do not refetch from the CDN. Size comes from `MEDIA_CACHE_SIZE_BYTES`.
+     */
+    @Provides
+    @Singleton
+    @PlaybackCache
+    fun providePlaybackCache(
+        @ApplicationContext context: Context,
+        databaseProvider: DatabaseProvider
+    ): Cache {
+        val directory = File(context.cacheDir, PLAYBACK_CACHE_DIRECTORY)
+        val freeSpaceLimit = (context.cacheDir.usableSpace * PLAYBACK_CACHE_MAX_FREE_SPACE_FRACTION).toLong()
+        val maxBytes = minOf(BuildConfig.MEDIA_CACHE_SIZE_BYTES, freeSpaceLimit)
+        return SimpleCache(directory, LeastRecentlyUsedCacheEvictor(maxBytes), databaseProvider)
+    }
+
+    @Provides
+    @Singleton
+    @MediaHttp
+    fun provideMediaHttpDataSourceFactory(okHttpClient: OkHttpClient): DataSource.Factory {
+        // Segments are binary and large: skip the API client's body logging and JSON cache
+        val mediaClient = okHttpClient.newBuilder()
+            .apply {
+                interceptors().clear()
+                networkInterceptors().clear()
+            }
+            .cache(null)
+            .build()
+        return OkHttpDataSource.Factory(mediaClient)
+    }
+
+    /**
+     * Data source for all players: downloaded renditions are read from the download cache
+     * with no network; everything else goes through the LRU playback cache, which is filled
+     * as it streams. The download cache itself is never written by playback.
+     */
+    @Provides
+    @Singleton
+    fun provideCacheDataSourceFactory(
+        @DownloadCache downloadCache: Cache,
+        @PlaybackCache playbackCache: Cache,
+        @MediaHttp httpDataSourceFactory: DataSource.Factory
+    ): CacheDataSource.Factory {
+        val playbackDataSourceFactory = CacheDataSource.Factory()
+            .setCache(playbackCache)
+            .setUpstreamDataSourceFactory(httpDataSourceFactory)
+            // A corrupt or evicted span falls back to the network instead of failing playback
+            .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+        return CacheDataSource.Factory()
+            .setCache(downloadCache)
+            .setUpstreamDataSourceFactory(playbackDataSourceFactory)
+            .setCacheWriteDataSinkFactory(null)
+    }
+
+    @Provides
+    @Singleton
+    fun provideMediaDownloadManager(
+        @ApplicationContext context: Context,
+        databaseProvider: DatabaseProvider,
+        @DownloadCache downloadCache: Cache,
+        @MediaHttp httpDataSourceFactory: DataSource.Factory
+    ): DownloadManager {
+        // Segment requests are dispatched on this pool
+        val segmentExecutor = Executors.newFixedThreadPool(SEGMENT_DOWNLOAD_THREADS)
+        return DownloadManager(context, databaseProvider, downloadCache, httpDataSourceFactory, segmentExecutor)
+            .apply {
+                maxParallelDownloads = MAX_PARALLEL_DOWNLOADS
+                // Same policy as large progressive downloads: unmetered network only
+                requirements = Requirements(Requirements.NETWORK_UNMETERED or Requirements.DEVICE_STORAGE_NOT_LOW)
+            }
+    }
+}
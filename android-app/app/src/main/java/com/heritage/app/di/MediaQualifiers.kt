@@ -0,0 +1,18 @@
+package com.heritage.app.di
+
+import javax.inject.Qualifier
+
+/** Non-evicting cache that holds offline HLS downloads. */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class DownloadCache
+
+/** Size-bounded LRU cache of streamed segments, shared by every player in the process. */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class PlaybackCache
+
+/** Plain HTTP source for media bytes, without the API client's interceptors. */
+@Qualifier
+@Retention(AnnotationRetention.BINARY)
+annotation class MediaHttp
@@ -6,6 +6,10 @@ data class Content(
     val description: String?,
     val type: ContentType,
     val thumbnailUrl: String?,
+    // Same image at several widths (px -> URL); the UI picks the smallest that fills its slot
+    val thumbnails: Map<Int, String> = emptyMap(),
+    // Blurred preview of the thumbnail shown until it loads, see ThumbHash
+    val thumbHash: String? = null,
     val hlsUrl: String?,
     val audioUrl: String?,
     val duration: Int, // seconds
@@ -15,7 +19,10 @@ data class Content(
     val performerId: String,
     val originalDate: String?,
     val createdAt: String,
-    val isProcessed: Boolean
+    val isProcessed: Boolean,
+    // Progressive source file, used for offline downloads
+    val originalFileUrl: String? = null,
+    val fileSize: Long = 0
 ) {
     val durationFormatted: String
         get() {
@@ -0,0 +1,10 @@
+package com.heritage.app.domain.model
+
+/**
+ * A paginated content listing on the server.
+ */
+sealed class ContentFeed {
+    object All : ContentFeed()
+    data class ByPerformer(val performerId: String) : ContentFeed()
+    data class ByCategory(val categoryId: String) : ContentFeed()
+}
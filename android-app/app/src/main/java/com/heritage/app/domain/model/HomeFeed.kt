@@ -0,0 +1,14 @@
+package com.heritage.app.domain.model
+
+/**
+ * Everything the home screen shows, loaded and replaced as one snapshot.
+ */
+data class HomeFeed(
+    val trending: List<Content> = emptyList(),
+    val recommended: List<Content> = emptyList(),
+    val recent: List<Content> = emptyList(),
+    val performers: List<Performer> = emptyList()
+) {
+    val isEmpty: Boolean
+        get() = trending.isEmpty() && recommended.isEmpty() && recent.isEmpty() && performers.isEmpty()
+}
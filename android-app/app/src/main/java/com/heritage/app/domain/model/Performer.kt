@@ -5,6 +5,7 @@ data class Performer(
     val name: String,
     val bio: String? = null,
     val imageUrl: String? = null,
+    val thumbHash: String? = null,
     val location: String? = null,
     val socialLinks: Map<String, String>? = null,
     val isActive: Boolean = true,
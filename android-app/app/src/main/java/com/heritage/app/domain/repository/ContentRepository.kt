@@ -1,7 +1,12 @@
 package com.heritage.app.domain.repository
 
+import androidx.paging.PagingData
 import com.heritage.app.domain.model.Content
+import com.heritage.app.domain.model.ContentFeed
+import com.heritage.app.domain.model.HomeFeed
 import com.heritage.app.domain.model.Performer
+import com.heritage.app.util.Resource
+import kotlinx.coroutines.flow.Flow
 
 interface ContentRepository {
     
@@ -30,4 +35,24 @@ interface ContentRepository {
     ): List<Content>
     
     suspend fun searchContent(query: String, page: Int = 1, limit: Int = 20): List<Content>
+    
+    suspend fun searchLocal(query: String, limit: Int = 20): List<Content>
+    
+    // Offline-first streams: cached rows first, revalidated in the background when stale
+    
+    fun observeContentById(id: String): Flow<Resource<Content>>
+    
+    fun observeHomeFeed(limit: Int = 10): Flow<Resource<HomeFeed>>
+    
+    fun observeTrendingContent(limit: Int = 10): Flow<Resource<List<Content>>>
+    
+    fun observeRecommendedContent(limit: Int = 10): Flow<Resource<List<Content>>>
+    
+    fun observeRecentContent(limit: Int = 10): Flow<Resource<List<Content>>>
+    
+    fun observePerformers(): Flow<Resource<List<Performer>>>
+    
+    fun observePerformerById(id: String): Flow<Resource<Performer>>
+    
+    fun getContentPager(feed: ContentFeed): Flow<PagingData<Content>>
 }
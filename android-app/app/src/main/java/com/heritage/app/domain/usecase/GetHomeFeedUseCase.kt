@@ -0,0 +1,15 @@
+package com.heritage.app.domain.usecase
+
+import com.heritage.app.domain.model.HomeFeed
+import com.heritage.app.domain.repository.ContentRepository
+import com.heritage.app.util.Resource
+import kotlinx.coroutines.flow.Flow
+import javax.inject.Inject
+
+class GetHomeFeedUseCase @Inject constructor(
+    private val repository: ContentRepository
+) {
+    operator fun invoke(limit: Int = 10): Flow<Resource<HomeFeed>> {
+        return repository.observeHomeFeed(limit)
+    }
+}
@@ -4,23 +4,12 @@ import com.heritage.app.domain.model.Content
 import com.heritage.app.domain.repository.ContentRepository
 import com.heritage.app.util.Resource
 import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.flow
-import retrofit2.HttpException
-import java.io.IOException
 import javax.inject.Inject
 
 class GetRecommendedContentUseCase @Inject constructor(
     private val repository: ContentRepository
 ) {
-    operator fun invoke(limit: Int = 10): Flow<Resource<List<Content>>> = flow {
-        try {
-            emit(Resource.Loading())
-            val content = repository.getRecommendedContent(limit)
-            emit(Resource.Success(content))
-        } catch (e: HttpException) {
-            emit(Resource.Error(e.localizedMessage ?: "An unexpected error occurred"))
-        } catch (e: IOException) {
-            emit(Resource.Error("Couldn't reach server. Check your internet connection."))
-        }
+    operator fun invoke(limit: Int = 10): Flow<Resource<List<Content>>> {
+        return repository.observeRecommendedContent(limit)
     }
 }
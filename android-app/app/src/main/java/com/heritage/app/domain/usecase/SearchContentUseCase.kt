@@ -3,24 +3,38 @@ package com.heritage.app.domain.usecase
 import com.heritage.app.domain.model.Content
 import com.heritage.app.domain.repository.ContentRepository
 import com.heritage.app.util.Resource
+import com.heritage.app.util.toErrorMessage
+import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.flow
 import retrofit2.HttpException
 import java.io.IOException
 import javax.inject.Inject
 
+/**
+ * Emits on-device matches straight away, then the server ranking merged with any local
+ * hits it did not return. [remoteDelayMs] lets callers skip the network while the user types.
+ */
 class SearchContentUseCase @Inject constructor(
     private val repository: ContentRepository
 ) {
-    operator fun invoke(query: String, page: Int = 1, limit: Int = 20): Flow<Resource<List<Content>>> = flow {
+    operator fun invoke(
+        query: String,
+        page: Int = 1,
+        limit: Int = 20,
+        remoteDelayMs: Long = 0
+    ): Flow<Resource<List<Content>>> = flow {
+        val local = if (page == 1) repository.searchLocal(query, limit) else emptyList()
+        emit(Resource.Loading(local))
+        if (remoteDelayMs > 0) delay(remoteDelayMs)
         try {
-            emit(Resource.Loading())
-            val results = repository.searchContent(query, page, limit)
-            emit(Resource.Success(results))
+            val remote = repository.searchContent(query, page, limit)
+            val remoteIds = remote.map { it.id }.toSet()
+            emit(Resource.Success(remote + local.filterNot { it.id in remoteIds }))
         } catch (e: HttpException) {
-            emit(Resource.Error(e.localizedMessage ?: "An unexpected error occurred"))
+            emit(Resource.Error(e.toErrorMessage(), local))
         } catch (e: IOException) {
-            emit(Resource.Error("Couldn't reach server. Check your internet connection."))
+            emit(Resource.Error(e.toErrorMessage(), local))
         }
     }
 }
@@ -18,6 +18,8 @@ import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.dp
 import coil3.compose.AsyncImage
 import com.heritage.app.domain.model.Content
+import com.heritage.app.util.rememberThumbHashPainter
+import com.heritage.app.util.thumbnail
 
 @Composable
 fun CompactContentCard(
@@ -40,9 +42,11 @@ fun CompactContentCard(
                     .fillMaxWidth()
                     .height(120.dp)
             ) {
-                if (content.thumbnailUrl != null) {
+                val thumbnail = content.thumbnail()
+                if (thumbnail != null) {
                     AsyncImage(
-                        model = "http://192.168.8.64:3000${content.thumbnailUrl}",
+                        model = thumbnail,
+                        placeholder = rememberThumbHashPainter(content.thumbHash),
                         contentDescription = content.title,
                         modifier = Modifier.fillMaxSize(),
                         contentScale = ContentScale.Crop
@@ -26,6 +26,8 @@ import androidx.compose.ui.unit.dp
 import coil3.compose.AsyncImage
 import com.heritage.app.R
 import com.heritage.app.domain.model.Content
+import com.heritage.app.util.rememberThumbHashPainter
+import com.heritage.app.util.thumbnail
 
 @Composable
 fun ContentCard(
@@ -74,9 +76,11 @@ fun ContentCard(
                     .size(120.dp, 90.dp)
                     .clip(RoundedCornerShape(12.dp))
             ) {
-                if (content.thumbnailUrl != null) {
+                val thumbnail = content.thumbnail()
+                if (thumbnail != null) {
                     AsyncImage(
-                        model = "http://10.0.2.2:3000${content.thumbnailUrl}",
+                        model = thumbnail,
+                        placeholder = rememberThumbHashPainter(content.thumbHash),
                         contentDescription = content.title,
                         modifier = Modifier.fillMaxSize(),
                         contentScale = ContentScale.Crop
@@ -25,6 +25,8 @@ import androidx.compose.ui.unit.dp
 import coil3.compose.AsyncImage
 import com.heritage.app.R
 import com.heritage.app.domain.model.Performer
+import com.heritage.app.util.MediaUrls
+import com.heritage.app.util.rememberThumbHashPainter
 
 @Composable
 fun PerformerChip(
@@ -91,7 +93,8 @@ fun PerformerChip(
                 // Avatar
                 if (performer.imageUrl != null) {
                     AsyncImage(
-                        model = "http://10.0.2.2:3000${performer.imageUrl}",
+                        model = MediaUrls.resolve(performer.imageUrl),
+                        placeholder = rememberThumbHashPainter(performer.thumbHash),
                         contentDescription = performer.name,
                         modifier = Modifier
                             .size(66.dp)
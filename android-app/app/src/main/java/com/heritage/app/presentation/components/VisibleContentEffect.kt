@@ -0,0 +1,36 @@
+package com.heritage.app.presentation.components
+
+import androidx.compose.foundation.lazy.LazyListState
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.runtime.LaunchedEffect
+import androidx.compose.runtime.getValue
+import androidx.compose.runtime.rememberUpdatedState
+import androidx.compose.runtime.snapshotFlow
+import com.heritage.app.domain.model.Content
+import kotlinx.coroutines.flow.distinctUntilChanged
+
+/**
+ * Reports the content items of a lazy list that are currently laid out, in on-screen order,
+ * and an empty list once the list leaves composition (e.g. its row scrolled off).
+ * Items are matched by their lazy-list key through [contentForKey].
+ */
+@Composable
+fun VisibleContentEffect(
+    listState: LazyListState,
+    contentForKey: (Any) -> Content?,
+    onVisibleContentChanged: (List<Content>) -> Unit
+) {
+    val lookup by rememberUpdatedState(contentForKey)
+    val onChanged by rememberUpdatedState(onVisibleContentChanged)
+
+    LaunchedEffect(listState) {
+        snapshotFlow { listState.layoutInfo.visibleItemsInfo.map { it.key } }
+            .distinctUntilChanged()
+            .collect { keys -> onChanged(keys.mapNotNull { lookup(it) }) }
+    }
+
+    DisposableEffect(listState) {
+        onDispose { onChanged(emptyList()) }
+    }
+}
@@ -4,6 +4,7 @@ import androidx.compose.runtime.State
 import androidx.compose.runtime.mutableStateOf
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import com.heritage.app.data.download.ContentDownloader
 import com.heritage.app.domain.model.Content
 import com.heritage.app.domain.model.Performer
 import com.heritage.app.domain.model.Comment
@@ -24,7 +25,8 @@ data class ContentDetailState(
 
 @HiltViewModel
 class ContentDetailViewModel @Inject constructor(
-    private val repository: ContentRepository
+    private val repository: ContentRepository,
+    private val contentDownloader: ContentDownloader
 ) : ViewModel() {
 
     private val _state = mutableStateOf(ContentDetailState())
@@ -74,7 +76,10 @@ class ContentDetailViewModel @Inject constructor(
     }
 
     fun downloadContent() {
-        // TODO: Implement download
+        val content = _state.value.content ?: return
+        viewModelScope.launch {
+            contentDownloader.enqueue(content)
+        }
     }
 
     fun addComment(text: String) {
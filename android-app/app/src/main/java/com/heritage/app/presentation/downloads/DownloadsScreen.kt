@@ -7,6 +7,8 @@ import androidx.compose.foundation.lazy.items
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.automirrored.filled.ArrowBack
 import androidx.compose.material.icons.filled.Delete
+import androidx.compose.material.icons.filled.Pause
+import androidx.compose.material.icons.filled.PlayArrow
 import androidx.compose.material3.*
 import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
@@ -18,6 +20,7 @@ import androidx.hilt.navigation.compose.hiltViewModel
 import androidx.navigation.NavController
 import com.heritage.app.R
 import com.heritage.app.data.local.DownloadEntity
+import com.heritage.app.data.local.DownloadStatus
 import com.heritage.app.presentation.components.EmptyState
 
 @OptIn(ExperimentalMaterial3Api::class)
@@ -79,6 +82,8 @@ fun DownloadsScreen(
                         onDelete = {
                             viewModel.deleteDownload(download)
                         },
+                        onPause = { viewModel.pauseDownload(download) },
+                        onResume = { viewModel.resumeDownload(download) },
                         modifier = Modifier.animateItem()
                     )
                 }
@@ -93,12 +98,16 @@ private fun DownloadItem(
     download: DownloadEntity,
     onPlay: () -> Unit,
     onDelete: () -> Unit,
+    onPause: () -> Unit,
+    onResume: () -> Unit,
     modifier: Modifier = Modifier
 ) {
     var showDeleteDialog by remember { mutableStateOf(false) }
+    val isCompleted = download.status == DownloadStatus.COMPLETED
     
     Card(
         onClick = onPlay,
+        enabled = isCompleted,
         modifier = modifier.fillMaxWidth(),
         elevation = CardDefaults.cardElevation(2.dp)
     ) {
@@ -137,11 +146,43 @@ private fun DownloadItem(
                     )
                     
                     Text(
-                        text = formatFileSize(download.fileSize),
+                        text = if (isCompleted || download.fileSize <= 0) {
+                            formatFileSize(download.fileSize)
+                        } else {
+                            "${formatFileSize(download.downloadedBytes)} / ${formatFileSize(download.fileSize)}"
+                        },
                         style = MaterialTheme.typography.bodySmall,
                         color = MaterialTheme.colorScheme.onSurfaceVariant
                     )
                 }
+                
+                if (!isCompleted) {
+                    if (download.fileSize > 0) {
+                        LinearProgressIndicator(
+                            progress = { (download.downloadedBytes.toFloat() / download.fileSize).coerceIn(0f, 1f) },
+                            modifier = Modifier.fillMaxWidth()
+                        )
+                    } else if (download.status == DownloadStatus.DOWNLOADING) {
+                        LinearProgressIndicator(modifier = Modifier.fillMaxWidth())
+                    }
+                    if (download.status == DownloadStatus.FAILED) {
+                        Text(
+                            text = stringResource(R.string.download_failed),
+                            style = MaterialTheme.typography.bodySmall,
+                            color = MaterialTheme.colorScheme.error
+                        )
+                    }
+                }
+            }
+            
+            when (download.status) {
+                DownloadStatus.PENDING, DownloadStatus.DOWNLOADING -> IconButton(onClick = onPause) {
+                    Icon(Icons.Default.Pause, contentDescription = null)
+                }
+                DownloadStatus.PAUSED, DownloadStatus.FAILED -> IconButton(onClick = onResume) {
+                    Icon(Icons.Default.PlayArrow, contentDescription = null)
+                }
+                DownloadStatus.COMPLETED -> Unit
             }
             
             IconButton(onClick = { showDeleteDialog = true }) {
@@ -4,6 +4,7 @@ import androidx.compose.runtime.State
 import androidx.compose.runtime.mutableStateOf
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import com.heritage.app.data.download.ContentDownloader
 import com.heritage.app.data.local.DownloadDao
 import com.heritage.app.data.local.DownloadEntity
 import dagger.hilt.android.lifecycle.HiltViewModel
@@ -20,7 +21,8 @@ data class DownloadsState(
 
 @HiltViewModel
 class DownloadsViewModel @Inject constructor(
-    private val downloadDao: DownloadDao
+    private val downloadDao: DownloadDao,
+    private val contentDownloader: ContentDownloader
 ) : ViewModel() {
 
     private val _state = mutableStateOf(DownloadsState())
@@ -42,8 +44,7 @@ class DownloadsViewModel @Inject constructor(
     fun deleteDownload(download: DownloadEntity) {
         viewModelScope.launch {
             try {
-                downloadDao.deleteDownload(download)
-                // TODO: Delete actual file from storage
+                contentDownloader.delete(download)
             } catch (e: Exception) {
                 _state.value = _state.value.copy(
                     error = e.localizedMessage
@@ -51,4 +52,16 @@ class DownloadsViewModel @Inject constructor(
             }
         }
     }
+
+    fun pauseDownload(download: DownloadEntity) {
+        viewModelScope.launch {
+            contentDownloader.pause(download.contentId)
+        }
+    }
+
+    fun resumeDownload(download: DownloadEntity) {
+        viewModelScope.launch {
+            contentDownloader.resume(download.contentId)
+        }
+    }
 }
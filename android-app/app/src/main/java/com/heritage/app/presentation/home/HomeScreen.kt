@@ -1,11 +1,18 @@
 package com.heritage.app.presentation.home
 
+import androidx.activity.compose.ReportDrawnWhen
 import androidx.compose.animation.*
 import androidx.compose.animation.core.*
 import androidx.compose.foundation.layout.*
-import androidx.compose.foundation.lazy.LazyColumn
 import androidx.compose.foundation.lazy.LazyRow
+import androidx.compose.foundation.lazy.grid.GridCells
+import androidx.compose.foundation.lazy.grid.GridItemSpan
+import androidx.compose.foundation.lazy.grid.LazyGridItemSpanScope
+import androidx.compose.foundation.lazy.grid.LazyVerticalGrid
+import androidx.compose.foundation.lazy.grid.items
+import androidx.compose.foundation.lazy.grid.rememberLazyGridState
 import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.Search
@@ -13,12 +20,17 @@ import androidx.compose.material3.*
 import androidx.compose.runtime.*
 import androidx.compose.ui.Alignment
 import androidx.compose.ui.Modifier
+import androidx.compose.ui.platform.testTag
 import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
 import com.heritage.app.R
+import com.heritage.app.domain.model.Content
+import com.heritage.app.domain.model.Performer
 import com.heritage.app.presentation.components.*
+import com.heritage.app.util.TrackScrollJank
+import kotlinx.collections.immutable.ImmutableList
 
 @OptIn(ExperimentalMaterial3Api::class)
 @Composable
@@ -31,6 +43,9 @@ fun HomeScreen(
     val state = viewModel.state.value
     val windowSize = com.heritage.app.util.rememberWindowSizeInfo()
 
+    // Marks time to full display: startup benchmarks measure launch up to a usable feed
+    ReportDrawnWhen { !state.isLoading }
+
     Scaffold(
         topBar = {
             TopAppBar(
@@ -107,12 +122,14 @@ fun HomeScreen(
                 
                 ContentState.Success -> {
                     AllSectionsScreen(
-                        performers = state.performers,
+                        featuredContent = state.featuredContent,
                         trendingContent = state.trendingContent,
                         recommendedContent = state.recommendedContent,
                         recentContent = state.recentContent,
+                        performers = state.performers,
                         onContentClick = onContentClick,
                         onPerformerClick = onPerformerClick,
+                        onVisibleContentChanged = viewModel::onVisibleContentChanged,
                         windowSize = windowSize,
                         modifier = Modifier.padding(padding)
                     )
@@ -128,12 +145,14 @@ private enum class ContentState {
 
 @Composable
 private fun AllSectionsScreen(
-    performers: List<com.heritage.app.domain.model.Performer>,
-    trendingContent: List<com.heritage.app.domain.model.Content>,
-    recommendedContent: List<com.heritage.app.domain.model.Content>,
-    recentContent: List<com.heritage.app.domain.model.Content>,
+    featuredContent: Content?,
+    trendingContent: ImmutableList<Content>,
+    recommendedContent: ImmutableList<Content>,
+    recentContent: ImmutableList<Content>,
+    performers: ImmutableList<Performer>,
     onContentClick: (String) -> Unit,
     onPerformerClick: (String) -> Unit,
+    onVisibleContentChanged: (section: String, items: List<Content>) -> Unit,
     windowSize: com.heritage.app.util.WindowSizeInfo,
     modifier: Modifier = Modifier
 ) {
@@ -141,132 +160,155 @@ private fun AllSectionsScreen(
     val featuredHeight = com.heritage.app.util.responsiveFeaturedHeight(windowSize)
     val cardWidth = com.heritage.app.util.responsiveCardWidth(windowSize)
     val gridColumns = com.heritage.app.util.responsiveGridColumns(windowSize)
-    
-    LazyColumn(
-        modifier = modifier.fillMaxSize(),
+    val gridState = rememberLazyGridState()
+
+    TrackScrollJank(isScrolling = gridState.isScrollInProgress)
+
+    // One lazy grid: sections span the full width, performers fill the cells, so only the
+    // visible performers are composed
+    LazyVerticalGrid(
+        columns = GridCells.Fixed(gridColumns),
+        state = gridState,
+        modifier = modifier
+            .fillMaxSize()
+            .testTag("home_feed"),
         verticalArrangement = Arrangement.spacedBy(32.dp),
-        contentPadding = PaddingValues(vertical = padding)
+        horizontalArrangement = Arrangement.spacedBy(12.dp),
+        contentPadding = PaddingValues(horizontal = padding, vertical = padding)
     ) {
         // Hero Section - Featured Content
-        if (trendingContent.isNotEmpty()) {
-            item {
+        if (featuredContent != null) {
+            item(key = "featured", span = FullLine, contentType = "featured") {
+                // The hero card is the most likely tap; preload it while it is on screen
+                DisposableEffect(featuredContent.id) {
+                    onVisibleContentChanged("featured", listOf(featuredContent))
+                    onDispose { onVisibleContentChanged("featured", emptyList()) }
+                }
                 FeaturedContentCard(
-                    content = trendingContent.first(),
-                    onClick = { onContentClick(trendingContent.first().id) },
-                    height = featuredHeight,
-                    modifier = Modifier.padding(horizontal = padding)
+                    content = featuredContent,
+                    onClick = { onContentClick(featuredContent.id) },
+                    height = featuredHeight
                 )
             }
         }
 
         // Trending Section Card (Horizontal - 5 items max)
-        if (trendingContent.size > 1) {
-            item {
+        if (trendingContent.isNotEmpty()) {
+            item(key = "trending", span = FullLine, contentType = "section") {
                 SectionCard(
                     title = "الأكثر مشاهدة",
                     emoji = "🔥",
                     padding = padding
                 ) {
-                    LazyRow(
-                        horizontalArrangement = Arrangement.spacedBy(12.dp),
-                        contentPadding = PaddingValues(horizontal = padding)
-                    ) {
-                        items(trendingContent.drop(1).take(5)) { content ->
-                            CompactContentCard(
-                                content = content,
-                                onClick = { onContentClick(content.id) },
-                                width = cardWidth
-                            )
-                        }
-                    }
+                    ContentRow(
+                        items = trendingContent,
+                        cardWidth = cardWidth,
+                        padding = padding,
+                        onContentClick = onContentClick,
+                        onVisibleContentChanged = { onVisibleContentChanged("trending", it) }
+                    )
                 }
             }
         }
 
         // Recommended Section Card (Horizontal - 5 items max)
         if (recommendedContent.isNotEmpty()) {
-            item {
+            item(key = "recommended", span = FullLine, contentType = "section") {
                 SectionCard(
                     title = "موصى به",
                     emoji = "⭐",
                     padding = padding
                 ) {
-                    LazyRow(
-                        horizontalArrangement = Arrangement.spacedBy(12.dp),
-                        contentPadding = PaddingValues(horizontal = padding)
-                    ) {
-                        items(recommendedContent.take(5)) { content ->
-                            CompactContentCard(
-                                content = content,
-                                onClick = { onContentClick(content.id) },
-                                width = cardWidth
-                            )
-                        }
-                    }
+                    ContentRow(
+                        items = recommendedContent,
+                        cardWidth = cardWidth,
+                        padding = padding,
+                        onContentClick = onContentClick,
+                        onVisibleContentChanged = { onVisibleContentChanged("recommended", it) }
+                    )
                 }
             }
         }
 
         // Recent Section Card (Horizontal - 5 items max)
         if (recentContent.isNotEmpty()) {
-            item {
+            item(key = "recent", span = FullLine, contentType = "section") {
                 SectionCard(
                     title = "الأحدث",
                     emoji = "🆕",
                     padding = padding
                 ) {
-                    LazyRow(
-                        horizontalArrangement = Arrangement.spacedBy(12.dp),
-                        contentPadding = PaddingValues(horizontal = padding)
-                    ) {
-                        items(recentContent.take(5)) { content ->
-                            CompactContentCard(
-                                content = content,
-                                onClick = { onContentClick(content.id) },
-                                width = cardWidth
-                            )
-                        }
-                    }
+                    ContentRow(
+                        items = recentContent,
+                        cardWidth = cardWidth,
+                        padding = padding,
+                        onContentClick = onContentClick,
+                        onVisibleContentChanged = { onVisibleContentChanged("recent", it) }
+                    )
                 }
             }
         }
 
         // All Performers Section (Vertical Grid)
         if (performers.isNotEmpty()) {
-            item {
+            item(key = "performers_title", span = FullLine, contentType = "title") {
                 Text(
                     text = "🎭 جميع المؤدين",
                     style = MaterialTheme.typography.headlineSmall,
-                    fontWeight = FontWeight.Bold,
-                    modifier = Modifier.padding(horizontal = padding)
+                    fontWeight = FontWeight.Bold
                 )
             }
-            
-            items(performers.chunked(gridColumns)) { rowPerformers ->
-                Row(
-                    modifier = Modifier
-                        .fillMaxWidth()
-                        .padding(horizontal = padding),
-                    horizontalArrangement = Arrangement.spacedBy(12.dp)
-                ) {
-                    rowPerformers.forEach { performer ->
-                        Box(modifier = Modifier.weight(1f)) {
-                            PerformerChip(
-                                performer = performer,
-                                onClick = { onPerformerClick(performer.id) }
-                            )
-                        }
-                    }
-                    // Fill empty spaces
-                    repeat(gridColumns - rowPerformers.size) {
-                        Spacer(modifier = Modifier.weight(1f))
-                    }
+
+            items(
+                items = performers,
+                key = { "performer_${it.id}" },
+                contentType = { "performer" }
+            ) { performer ->
+                Box(modifier = Modifier.testTag("performer_chip")) {
+                    PerformerChip(
+                        performer = performer,
+                        onClick = { onPerformerClick(performer.id) }
+                    )
                 }
             }
         }
     }
 }
 
+private val FullLine: LazyGridItemSpanScope.() -> GridItemSpan = { GridItemSpan(maxLineSpan) }
+
+@Composable
+private fun ContentRow(
+    items: ImmutableList<Content>,
+    cardWidth: androidx.compose.ui.unit.Dp,
+    padding: androidx.compose.ui.unit.Dp,
+    onContentClick: (String) -> Unit,
+    onVisibleContentChanged: (List<Content>) -> Unit
+) {
+    val listState = rememberLazyListState()
+    val itemsById = remember(items) { items.associateBy { it.id } }
+
+    VisibleContentEffect(
+        listState = listState,
+        contentForKey = { itemsById[it] },
+        onVisibleContentChanged = onVisibleContentChanged
+    )
+
+    LazyRow(
+        state = listState,
+        horizontalArrangement = Arrangement.spacedBy(12.dp),
+        contentPadding = PaddingValues(horizontal = padding)
+    ) {
+        items(items, key = { it.id }, contentType = { "content" }) { content ->
+            CompactContentCard(
+                content = content,
+                onClick = { onContentClick(content.id) },
+                width = cardWidth
+            )
+        }
+    }
+}
+
 @Composable
 private fun SectionCard(
     title: String,
@@ -275,9 +317,7 @@ private fun SectionCard(
     content: @Composable () -> Unit
 ) {
     Card(
-        modifier = Modifier
-            .fillMaxWidth()
-            .padding(horizontal = padding),
+        modifier = Modifier.fillMaxWidth(),
         shape = RoundedCornerShape(20.dp),
         colors = CardDefaults.cardColors(
             containerColor = MaterialTheme.colorScheme.surfaceVariant.copy(alpha = 0.5f)
@@ -4,109 +4,93 @@ import androidx.compose.runtime.State
 import androidx.compose.runtime.mutableStateOf
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import com.heritage.app.data.playback.MediaPreloader
 import com.heritage.app.domain.model.Content
+import com.heritage.app.domain.model.HomeFeed
 import com.heritage.app.domain.model.Performer
-import com.heritage.app.domain.usecase.*
+import com.heritage.app.domain.usecase.GetHomeFeedUseCase
 import com.heritage.app.util.Resource
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.collections.immutable.ImmutableList
+import kotlinx.collections.immutable.persistentListOf
+import kotlinx.collections.immutable.toImmutableList
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
-import kotlinx.coroutines.launch
 import javax.inject.Inject
 
+/**
+ * Rows are already cut to what Home shows and held as immutable lists, so Compose can skip
+ * every section whose list did not change when the state is replaced.
+ */
 data class HomeState(
     val isLoading: Boolean = false,
-    val trendingContent: List<Content> = emptyList(),
-    val recommendedContent: List<Content> = emptyList(),
-    val recentContent: List<Content> = emptyList(),
-    val performers: List<Performer> = emptyList(),
+    val featuredContent: Content? = null,
+    val trendingContent: ImmutableList<Content> = persistentListOf(),
+    val recommendedContent: ImmutableList<Content> = persistentListOf(),
+    val recentContent: ImmutableList<Content> = persistentListOf(),
+    val performers: ImmutableList<Performer> = persistentListOf(),
     val error: String? = null
 )
 
 @HiltViewModel
 class HomeViewModel @Inject constructor(
-    private val getTrendingContentUseCase: GetTrendingContentUseCase,
-    private val getRecommendedContentUseCase: GetRecommendedContentUseCase,
-    private val getRecentContentUseCase: GetRecentContentUseCase,
-    private val getPerformersUseCase: GetPerformersUseCase
+    private val getHomeFeedUseCase: GetHomeFeedUseCase,
+    private val mediaPreloader: MediaPreloader
 ) : ViewModel() {
 
     private val _state = mutableStateOf(HomeState())
     val state: State<HomeState> = _state
 
+    private var loadJob: Job? = null
+    private val preloadSources = mutableSetOf<String>()
+
     init {
         loadData()
     }
 
     fun loadData() {
-        loadTrendingContent()
-        loadRecommendedContent()
-        loadRecentContent()
-        loadPerformers()
-    }
-
-    private fun loadTrendingContent() {
-        getTrendingContentUseCase(limit = 10).onEach { result ->
-            when (result) {
-                is Resource.Success -> {
-                    _state.value = _state.value.copy(
-                        trendingContent = result.data ?: emptyList(),
-                        isLoading = false,
-                        error = null
-                    )
-                }
-                is Resource.Error -> {
-                    _state.value = _state.value.copy(
-                        error = result.message,
-                        isLoading = false
-                    )
-                }
-                is Resource.Loading -> {
-                    _state.value = _state.value.copy(isLoading = true)
-                }
+        loadJob?.cancel()
+        loadJob = getHomeFeedUseCase(limit = 10).onEach { result ->
+            // One state write per snapshot; cached sections arrive with Loading/Error too,
+            // so only block the screen when there is nothing to show
+            val feed = result.data ?: HomeFeed()
+            _state.value = when (result) {
+                is Resource.Success -> feed.toState(isLoading = false, error = null)
+                is Resource.Error -> feed.toState(
+                    isLoading = false,
+                    error = if (feed.isEmpty) result.message else null
+                )
+                is Resource.Loading -> feed.toState(isLoading = feed.isEmpty, error = null)
             }
         }.launchIn(viewModelScope)
     }
 
-    private fun loadRecommendedContent() {
-        getRecommendedContentUseCase(limit = 10).onEach { result ->
-            when (result) {
-                is Resource.Success -> {
-                    _state.value = _state.value.copy(
-                        recommendedContent = result.data ?: emptyList()
-                    )
-                }
-                is Resource.Error -> {}
-                is Resource.Loading -> {}
-            }
-        }.launchIn(viewModelScope)
+    /**
+     * Called by each row with its on-screen items so their first segments are preloaded.
+     */
+    fun onVisibleContentChanged(section: String, items: List<Content>) {
+        val source = "home/$section"
+        preloadSources += source
+        mediaPreloader.setVisible(source, items)
     }
 
-    private fun loadRecentContent() {
-        getRecentContentUseCase(limit = 10).onEach { result ->
-            when (result) {
-                is Resource.Success -> {
-                    _state.value = _state.value.copy(
-                        recentContent = result.data ?: emptyList()
-                    )
-                }
-                is Resource.Error -> {}
-                is Resource.Loading -> {}
-            }
-        }.launchIn(viewModelScope)
+    override fun onCleared() {
+        preloadSources.forEach { mediaPreloader.setVisible(it, emptyList()) }
     }
 
-    private fun loadPerformers() {
-        getPerformersUseCase().onEach { result ->
-            when (result) {
-                is Resource.Success -> {
-                    _state.value = _state.value.copy(
-                        performers = result.data ?: emptyList()
-                    )
-                }
-                is Resource.Error -> {}
-                is Resource.Loading -> {}
-            }
-        }.launchIn(viewModelScope)
+    private fun HomeFeed.toState(isLoading: Boolean, error: String?) = HomeState(
+        isLoading = isLoading,
+        featuredContent = trending.firstOrNull(),
+        // The first trending item is the hero card
+        trendingContent = trending.drop(1).take(ROW_SIZE).toImmutableList(),
+        recommendedContent = recommended.take(ROW_SIZE).toImmutableList(),
+        recentContent = recent.take(ROW_SIZE).toImmutableList(),
+        performers = performers.toImmutableList(),
+        error = error
+    )
+
+    companion object {
+        private const val ROW_SIZE = 5
     }
 }
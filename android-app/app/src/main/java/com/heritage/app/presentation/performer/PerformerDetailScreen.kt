@@ -5,7 +5,7 @@ import androidx.compose.animation.core.*
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
 import androidx.compose.foundation.lazy.LazyColumn
-import androidx.compose.foundation.lazy.items
+import androidx.compose.foundation.lazy.rememberLazyListState
 import androidx.compose.foundation.shape.CircleShape
 import androidx.compose.foundation.shape.RoundedCornerShape
 import androidx.compose.material.icons.Icons
@@ -17,18 +17,26 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
 import androidx.compose.ui.graphics.Brush
 import androidx.compose.ui.layout.ContentScale
+import androidx.compose.ui.platform.testTag
 import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.text.style.TextAlign
 import androidx.compose.ui.unit.dp
 import androidx.hilt.navigation.compose.hiltViewModel
 import androidx.navigation.NavController
+import androidx.paging.LoadState
+import androidx.paging.compose.collectAsLazyPagingItems
+import androidx.paging.compose.itemKey
 import coil3.compose.AsyncImage
 import com.heritage.app.R
 import com.heritage.app.presentation.components.ContentCard
 import com.heritage.app.presentation.components.EmptyState
 import com.heritage.app.presentation.components.ErrorState
 import com.heritage.app.presentation.components.LoadingState
+import com.heritage.app.presentation.components.VisibleContentEffect
+import com.heritage.app.util.MediaUrls
+import com.heritage.app.util.TrackScrollJank
+import com.heritage.app.util.rememberThumbHashPainter
 
 @OptIn(ExperimentalMaterial3Api::class)
 @Composable
@@ -38,10 +46,9 @@ fun PerformerDetailScreen(
     viewModel: PerformerDetailViewModel = hiltViewModel()
 ) {
     val state = viewModel.state.value
-    
-    LaunchedEffect(Unit) {
-        viewModel.loadPerformer(performerId)
-    }
+    val content = viewModel.content.collectAsLazyPagingItems()
+    val isRefreshingContent = content.loadState.refresh is LoadState.Loading
+    val isAppendingContent = content.loadState.append is LoadState.Loading
 
     Scaffold(
         topBar = {
@@ -88,16 +95,30 @@ fun PerformerDetailScreen(
                     ErrorState(
                         title = stringResource(R.string.error),
                         message = state.error,
-                        onRetry = { viewModel.loadPerformer(performerId) }
+                        onRetry = {
+                            viewModel.loadPerformer()
+                            content.retry()
+                        }
                     )
                 }
             }
             
             state.performer != null -> {
+                val listState = rememberLazyListState()
+                TrackScrollJank(isScrolling = listState.isScrollInProgress)
+                // Content rows are keyed by id; header rows do not resolve and are skipped
+                VisibleContentEffect(
+                    listState = listState,
+                    contentForKey = { key -> content.itemSnapshotList.items.firstOrNull { it.id == key } },
+                    onVisibleContentChanged = viewModel::onVisibleContentChanged
+                )
+
                 LazyColumn(
+                    state = listState,
                     modifier = Modifier
                         .fillMaxSize()
-                        .padding(padding),
+                        .padding(padding)
+                        .testTag("performer_content"),
                     verticalArrangement = Arrangement.spacedBy(16.dp),
                     contentPadding = PaddingValues(bottom = 16.dp)
                 ) {
@@ -105,7 +126,8 @@ fun PerformerDetailScreen(
                     item {
                         PerformerHeader(
                             performer = state.performer,
-                            contentCount = state.content.size
+                            contentCount = state.performer.contentCount.takeIf { it > 0 }
+                                ?: content.itemCount
                         )
                     }
                     
@@ -120,7 +142,7 @@ fun PerformerDetailScreen(
                     }
                     
                     // Content list
-                    if (state.content.isEmpty() && !state.isLoadingContent) {
+                    if (content.itemCount == 0 && !isRefreshingContent) {
                         item {
                             EmptyState(
                                 emoji = "🎭",
@@ -129,21 +151,26 @@ fun PerformerDetailScreen(
                             )
                         }
                     } else {
-                        items(state.content) { content ->
-                            ContentCard(
-                                content = content,
-                                onClick = {
-                                    navController.navigate("player/${content.id}")
-                                },
-                                modifier = Modifier
-                                    .padding(horizontal = 16.dp)
-                                    .animateItem()
-                            )
+                        items(
+                            count = content.itemCount,
+                            key = content.itemKey { it.id }
+                        ) { index ->
+                            content[index]?.let { item ->
+                                ContentCard(
+                                    content = item,
+                                    onClick = {
+                                        navController.navigate("player/${item.id}")
+                                    },
+                                    modifier = Modifier
+                                        .padding(horizontal = 16.dp)
+                                        .animateItem()
+                                )
+                            }
                         }
                     }
                     
                     // Loading more indicator
-                    if (state.isLoadingContent) {
+                    if (isRefreshingContent || isAppendingContent) {
                         item {
                             Box(
                                 modifier = Modifier
@@ -202,7 +229,8 @@ private fun PerformerHeader(
             
             if (performer.imageUrl != null) {
                 AsyncImage(
-                    model = "http://10.0.2.2:3000${performer.imageUrl}",
+                    model = MediaUrls.resolve(performer.imageUrl),
+                    placeholder = rememberThumbHashPainter(performer.thumbHash),
                     contentDescription = performer.name,
                     modifier = Modifier
                         .size(116.dp)
@@ -2,42 +2,68 @@ package com.heritage.app.presentation.performer
 
 import androidx.compose.runtime.State
 import androidx.compose.runtime.mutableStateOf
+import androidx.lifecycle.SavedStateHandle
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import androidx.paging.PagingData
+import androidx.paging.cachedIn
+import com.heritage.app.data.playback.MediaPreloader
 import com.heritage.app.domain.model.Content
 import com.heritage.app.domain.model.Performer
 import com.heritage.app.domain.usecase.GetPerformerByIdUseCase
 import com.heritage.app.domain.usecase.GetPerformerContentUseCase
 import com.heritage.app.util.Resource
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import javax.inject.Inject
 
 data class PerformerDetailState(
     val performer: Performer? = null,
-    val content: List<Content> = emptyList(),
     val isLoading: Boolean = false,
-    val isLoadingContent: Boolean = false,
     val error: String? = null
 )
 
 @HiltViewModel
 class PerformerDetailViewModel @Inject constructor(
     private val getPerformerByIdUseCase: GetPerformerByIdUseCase,
-    private val getPerformerContentUseCase: GetPerformerContentUseCase
+    getPerformerContentUseCase: GetPerformerContentUseCase,
+    private val mediaPreloader: MediaPreloader,
+    savedStateHandle: SavedStateHandle
 ) : ViewModel() {
 
     private val _state = mutableStateOf(PerformerDetailState())
     val state: State<PerformerDetailState> = _state
 
-    fun loadPerformer(performerId: String) {
+    private val performerId: String = checkNotNull(savedStateHandle["performerId"])
+    private val preloadSource = "performer/$performerId"
+
+    val content: Flow<PagingData<Content>> =
+        getPerformerContentUseCase(performerId).cachedIn(viewModelScope)
+
+    private var performerJob: Job? = null
+
+    init {
+        loadPerformer()
+    }
+
+    fun onVisibleContentChanged(items: List<Content>) {
+        mediaPreloader.setVisible(preloadSource, items)
+    }
+
+    override fun onCleared() {
+        mediaPreloader.setVisible(preloadSource, emptyList())
+    }
+
+    fun loadPerformer() {
         loadPerformerInfo(performerId)
-        loadPerformerContent(performerId)
     }
 
     private fun loadPerformerInfo(performerId: String) {
-        getPerformerByIdUseCase(performerId).onEach { result ->
+        performerJob?.cancel()
+        performerJob = getPerformerByIdUseCase(performerId).onEach { result ->
             when (result) {
                 is Resource.Success -> {
                     _state.value = _state.value.copy(
@@ -48,34 +74,17 @@ class PerformerDetailViewModel @Inject constructor(
                 }
                 is Resource.Error -> {
                     _state.value = _state.value.copy(
+                        performer = result.data ?: _state.value.performer,
                         error = result.message,
                         isLoading = false
                     )
                 }
                 is Resource.Loading -> {
-                    _state.value = _state.value.copy(isLoading = true)
-                }
-            }
-        }.launchIn(viewModelScope)
-    }
-
-    private fun loadPerformerContent(performerId: String) {
-        getPerformerContentUseCase(performerId).onEach { result ->
-            when (result) {
-                is Resource.Success -> {
                     _state.value = _state.value.copy(
-                        content = result.data ?: emptyList(),
-                        isLoadingContent = false
+                        performer = result.data ?: _state.value.performer,
+                        isLoading = result.data == null
                     )
                 }
-                is Resource.Error -> {
-                    _state.value = _state.value.copy(
-                        isLoadingContent = false
-                    )
-                }
-                is Resource.Loading -> {
-                    _state.value = _state.value.copy(isLoadingContent = true)
-                }
             }
         }.launchIn(viewModelScope)
     }
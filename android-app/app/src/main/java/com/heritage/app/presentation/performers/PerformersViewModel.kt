@@ -8,6 +8,7 @@ import com.heritage.app.domain.model.Performer
 import com.heritage.app.domain.usecase.GetPerformersUseCase
 import com.heritage.app.util.Resource
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
 import javax.inject.Inject
@@ -26,8 +27,11 @@ class PerformersViewModel @Inject constructor(
     private val _state = mutableStateOf(PerformersState())
     val state: State<PerformersState> = _state
 
+    private var loadJob: Job? = null
+
     fun loadPerformers() {
-        getPerformersUseCase().onEach { result ->
+        loadJob?.cancel()
+        loadJob = getPerformersUseCase().onEach { result ->
             when (result) {
                 is Resource.Success -> {
                     _state.value = _state.value.copy(
@@ -37,13 +41,19 @@ class PerformersViewModel @Inject constructor(
                     )
                 }
                 is Resource.Error -> {
+                    val cached = result.data.orEmpty()
                     _state.value = _state.value.copy(
-                        error = result.message,
+                        performers = cached,
+                        error = if (cached.isEmpty()) result.message else null,
                         isLoading = false
                     )
                 }
                 is Resource.Loading -> {
-                    _state.value = _state.value.copy(isLoading = true)
+                    val cached = result.data.orEmpty()
+                    _state.value = _state.value.copy(
+                        performers = cached,
+                        isLoading = cached.isEmpty()
+                    )
                 }
             }
         }.launchIn(viewModelScope)
@@ -0,0 +1,111 @@
+package com.heritage.app.presentation.player
+
+import androidx.compose.foundation.background
+import androidx.compose.foundation.clickable
+import androidx.compose.foundation.layout.*
+import androidx.compose.foundation.shape.RoundedCornerShape
+import androidx.compose.material.icons.Icons
+import androidx.compose.material.icons.filled.Close
+import androidx.compose.material.icons.filled.MusicNote
+import androidx.compose.material.icons.filled.Pause
+import androidx.compose.material.icons.filled.PlayArrow
+import androidx.compose.material.icons.filled.VideoLibrary
+import androidx.compose.material3.*
+import androidx.compose.runtime.Composable
+import androidx.compose.ui.Alignment
+import androidx.compose.ui.Modifier
+import androidx.compose.ui.draw.clip
+import androidx.compose.ui.layout.ContentScale
+import androidx.compose.ui.res.stringResource
+import androidx.compose.ui.text.font.FontWeight
+import androidx.compose.ui.text.style.TextOverflow
+import androidx.compose.ui.unit.dp
+import androidx.hilt.navigation.compose.hiltViewModel
+import coil3.compose.AsyncImage
+import com.heritage.app.R
+
+/**
+ * Compact bar for whatever [com.heritage.app.data.playback.PlaybackService] is playing.
+ * Renders nothing when the service holds no media.
+ */
+@Composable
+fun MiniPlayer(
+    onClick: (contentId: String) -> Unit,
+    modifier: Modifier = Modifier,
+    viewModel: MiniPlayerViewModel = hiltViewModel()
+) {
+    val nowPlaying = viewModel.nowPlaying.value ?: return
+
+    Surface(
+        modifier = modifier
+            .fillMaxWidth()
+            .clickable { onClick(nowPlaying.contentId) },
+        color = MaterialTheme.colorScheme.surfaceVariant,
+        tonalElevation = 4.dp,
+        shadowElevation = 8.dp
+    ) {
+        Row(
+            modifier = Modifier
+                .navigationBarsPadding()
+                .padding(horizontal = 12.dp, vertical = 8.dp),
+            verticalAlignment = Alignment.CenterVertically,
+            horizontalArrangement = Arrangement.spacedBy(12.dp)
+        ) {
+            Box(
+                modifier = Modifier
+                    .size(48.dp)
+                    .clip(RoundedCornerShape(8.dp))
+                    .background(MaterialTheme.colorScheme.primaryContainer),
+                contentAlignment = Alignment.Center
+            ) {
+                if (nowPlaying.artworkUri != null) {
+                    AsyncImage(
+                        model = nowPlaying.artworkUri.toString(),
+                        contentDescription = nowPlaying.title,
+                        modifier = Modifier.fillMaxSize(),
+                        contentScale = ContentScale.Crop
+                    )
+                } else {
+                    Icon(
+                        if (nowPlaying.isVideo) Icons.Default.VideoLibrary else Icons.Default.MusicNote,
+                        contentDescription = null,
+                        tint = MaterialTheme.colorScheme.onPrimaryContainer
+                    )
+                }
+            }
+
+            Column(modifier = Modifier.weight(1f)) {
+                Text(
+                    text = nowPlaying.title,
+                    style = MaterialTheme.typography.titleSmall,
+                    fontWeight = FontWeight.Bold,
+                    maxLines = 1,
+                    overflow = TextOverflow.Ellipsis
+                )
+                nowPlaying.subtitle?.let {
+                    Text(
+                        text = it,
+                        style = MaterialTheme.typography.bodySmall,
+                        color = MaterialTheme.colorScheme.onSurfaceVariant,
+                        maxLines = 1,
+                        overflow = TextOverflow.Ellipsis
+                    )
+                }
+            }
+
+            IconButton(onClick = { viewModel.togglePlayPause() }) {
+                Icon(
+                    imageVector = if (nowPlaying.isPlaying) Icons.Default.Pause else Icons.Default.PlayArrow,
+                    contentDescription = stringResource(if (nowPlaying.isPlaying) R.string.pause else R.string.play)
+                )
+            }
+
+            IconButton(onClick = { viewModel.stop() }) {
+                Icon(
+                    Icons.Default.Close,
+                    contentDescription = stringResource(R.string.stop_playback)
+                )
+            }
+        }
+    }
+}
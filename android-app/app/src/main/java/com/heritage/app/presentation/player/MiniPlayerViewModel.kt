@@ -0,0 +1,35 @@
+package com.heritage.app.presentation.player
+
+import androidx.compose.runtime.State
+import androidx.compose.runtime.mutableStateOf
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.heritage.app.data.playback.NowPlaying
+import com.heritage.app.data.playback.PlaybackConnection
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.flow.launchIn
+import kotlinx.coroutines.flow.onEach
+import javax.inject.Inject
+
+@HiltViewModel
+class MiniPlayerViewModel @Inject constructor(
+    private val playbackConnection: PlaybackConnection
+) : ViewModel() {
+
+    private val _nowPlaying = mutableStateOf<NowPlaying?>(null)
+    val nowPlaying: State<NowPlaying?> = _nowPlaying
+
+    init {
+        playbackConnection.nowPlaying
+            .onEach { _nowPlaying.value = it }
+            .launchIn(viewModelScope)
+    }
+
+    fun togglePlayPause() {
+        playbackConnection.togglePlayPause()
+    }
+
+    fun stop() {
+        playbackConnection.stop()
+    }
+}
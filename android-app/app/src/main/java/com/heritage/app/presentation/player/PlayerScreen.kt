@@ -19,22 +19,21 @@ import androidx.compose.ui.Modifier
 import androidx.compose.ui.draw.clip
 import androidx.compose.ui.graphics.Color
 import androidx.compose.ui.layout.ContentScale
-import androidx.compose.ui.platform.LocalContext
 import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.text.style.TextOverflow
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.viewinterop.AndroidView
 import androidx.hilt.navigation.compose.hiltViewModel
-import androidx.media3.common.MediaItem
 import androidx.media3.common.Player
-import androidx.media3.exoplayer.ExoPlayer
 import androidx.media3.ui.PlayerView
 import androidx.navigation.NavController
 import coil3.compose.AsyncImage
 import com.heritage.app.R
 import com.heritage.app.presentation.components.ErrorState
 import com.heritage.app.presentation.components.LoadingState
+import com.heritage.app.util.rememberThumbHashPainter
+import com.heritage.app.util.thumbnail
 
 @OptIn(ExperimentalMaterial3Api::class)
 @Composable
@@ -44,39 +43,25 @@ fun PlayerScreen(
     viewModel: PlayerViewModel = hiltViewModel()
 ) {
     val state = viewModel.state.value
-    val context = LocalContext.current
     
     var showControls by remember { mutableStateOf(true) }
     
-    val exoPlayer = remember {
-        ExoPlayer.Builder(context).build().apply {
-            playWhenReady = true
-            addListener(object : Player.Listener {
-                override fun onPlaybackStateChanged(playbackState: Int) {
-                    when (playbackState) {
-                        Player.STATE_BUFFERING -> viewModel.setBuffering(true)
-                        Player.STATE_READY -> viewModel.setBuffering(false)
-                        else -> {}
-                    }
+    val player = state.player
+
+    // The player belongs to PlaybackService and outlives this screen; only detach the listener
+    DisposableEffect(player) {
+        val listener = object : Player.Listener {
+            override fun onPlaybackStateChanged(playbackState: Int) {
+                when (playbackState) {
+                    Player.STATE_BUFFERING -> viewModel.setBuffering(true)
+                    Player.STATE_READY -> viewModel.setBuffering(false)
+                    else -> {}
                 }
-            })
+            }
         }
-    }
-    
-    DisposableEffect(Unit) {
+        player?.addListener(listener)
         onDispose {
-            exoPlayer.release()
-        }
-    }
-    
-    LaunchedEffect(state.content) {
-        state.content?.let { content ->
-            val mediaUrl = if (content.isVideo) content.hlsUrl else content.audioUrl
-            mediaUrl?.let {
-                val mediaItem = MediaItem.fromUri("http://10.0.2.2:3000$it")
-                exoPlayer.setMediaItem(mediaItem)
-                exoPlayer.prepare()
-            }
+            player?.removeListener(listener)
         }
     }
 
@@ -116,7 +101,8 @@ fun PlayerScreen(
         containerColor = if (state.content?.isVideo == true) Color.Black else MaterialTheme.colorScheme.background
     ) { padding ->
         when {
-            state.isLoading -> {
+            // Content can arrive before the service connection is up
+            state.isLoading || (state.content != null && player == null) -> {
                 Box(
                     modifier = Modifier
                         .fillMaxSize()
@@ -142,10 +128,10 @@ fun PlayerScreen(
                 }
             }
             
-            state.content != null -> {
+            state.content != null && player != null -> {
                 if (state.content.isVideo) {
                     VideoPlayer(
-                        exoPlayer = exoPlayer,
+                        player = player,
                         content = state.content,
                         showControls = showControls,
                         onToggleControls = { showControls = !showControls },
@@ -155,7 +141,7 @@ fun PlayerScreen(
                     )
                 } else {
                     AudioPlayer(
-                        exoPlayer = exoPlayer,
+                        player = player,
                         content = state.content,
                         modifier = Modifier
                             .fillMaxSize()
@@ -169,7 +155,7 @@ fun PlayerScreen(
 
 @Composable
 private fun VideoPlayer(
-    exoPlayer: ExoPlayer,
+    player: Player,
     content: com.heritage.app.domain.model.Content,
     showControls: Boolean,
     onToggleControls: () -> Unit,
@@ -185,7 +171,6 @@ private fun VideoPlayer(
         AndroidView(
             factory = { context ->
                 PlayerView(context).apply {
-                    player = exoPlayer
                     useController = false
                     layoutParams = FrameLayout.LayoutParams(
                         ViewGroup.LayoutParams.MATCH_PARENT,
@@ -193,6 +178,9 @@ private fun VideoPlayer(
                     )
                 }
             },
+            update = { it.player = player },
+            // Hand the surface back when leaving; audio keeps playing in the service
+            onRelease = { it.player = null },
             modifier = Modifier.fillMaxSize()
         )
         
@@ -202,14 +190,14 @@ private fun VideoPlayer(
             exit = fadeOut(),
             modifier = Modifier.align(Alignment.Center)
         ) {
-            VideoControls(exoPlayer = exoPlayer)
+            VideoControls(player = player)
         }
     }
 }
 
 @Composable
 private fun AudioPlayer(
-    exoPlayer: ExoPlayer,
+    player: Player,
     content: com.heritage.app.domain.model.Content,
     modifier: Modifier = Modifier
 ) {
@@ -229,9 +217,11 @@ private fun AudioPlayer(
                 .clip(RoundedCornerShape(24.dp)),
             elevation = CardDefaults.cardElevation(8.dp)
         ) {
-            if (content.thumbnailUrl != null) {
+            val thumbnail = content.thumbnail()
+            if (thumbnail != null) {
                 AsyncImage(
-                    model = "http://10.0.2.2:3000${content.thumbnailUrl}",
+                    model = thumbnail,
+                    placeholder = rememberThumbHashPainter(content.thumbHash),
                     contentDescription = content.title,
                     modifier = Modifier.fillMaxSize(),
                     contentScale = ContentScale.Crop
@@ -280,7 +270,7 @@ private fun AudioPlayer(
         Spacer(modifier = Modifier.weight(1f))
         
         // Controls
-        AudioControls(exoPlayer = exoPlayer)
+        AudioControls(player = player)
         
         Spacer(modifier = Modifier.height(32.dp))
     }
@@ -288,17 +278,18 @@ private fun AudioPlayer(
 
 @Composable
 private fun VideoControls(
-    exoPlayer: ExoPlayer
+    player: Player
 ) {
-    var isPlaying by remember { mutableStateOf(exoPlayer.isPlaying) }
+    var isPlaying by remember { mutableStateOf(player.isPlaying) }
     
-    LaunchedEffect(exoPlayer) {
+    DisposableEffect(player) {
         val listener = object : Player.Listener {
             override fun onIsPlayingChanged(playing: Boolean) {
                 isPlaying = playing
             }
         }
-        exoPlayer.addListener(listener)
+        player.addListener(listener)
+        onDispose { player.removeListener(listener) }
     }
     
     Surface(
@@ -308,7 +299,7 @@ private fun VideoControls(
     ) {
         IconButton(
             onClick = {
-                if (isPlaying) exoPlayer.pause() else exoPlayer.play()
+                if (isPlaying) player.pause() else player.play()
             },
             modifier = Modifier.fillMaxSize()
         ) {
@@ -324,23 +315,26 @@ private fun VideoControls(
 
 @Composable
 private fun AudioControls(
-    exoPlayer: ExoPlayer
+    player: Player
 ) {
-    var isPlaying by remember { mutableStateOf(exoPlayer.isPlaying) }
-    var currentPosition by remember { mutableStateOf(0L) }
+    var isPlaying by remember { mutableStateOf(player.isPlaying) }
+    var currentPosition by remember { mutableStateOf(player.currentPosition) }
     var duration by remember { mutableStateOf(0L) }
     
-    LaunchedEffect(exoPlayer) {
+    DisposableEffect(player) {
         val listener = object : Player.Listener {
             override fun onIsPlayingChanged(playing: Boolean) {
                 isPlaying = playing
             }
         }
-        exoPlayer.addListener(listener)
-        
+        player.addListener(listener)
+        onDispose { player.removeListener(listener) }
+    }
+    
+    LaunchedEffect(player) {
         while (true) {
-            currentPosition = exoPlayer.currentPosition
-            duration = exoPlayer.duration.coerceAtLeast(0L)
+            currentPosition = player.currentPosition
+            duration = player.duration.coerceAtLeast(0L)
             kotlinx.coroutines.delay(100)
         }
     }
@@ -354,7 +348,7 @@ private fun AudioControls(
             Slider(
                 value = if (duration > 0) currentPosition.toFloat() / duration else 0f,
                 onValueChange = { value ->
-                    exoPlayer.seekTo((value * duration).toLong())
+                    player.seekTo((value * duration).toLong())
                 },
                 modifier = Modifier.fillMaxWidth()
             )
@@ -383,7 +377,7 @@ private fun AudioControls(
             verticalAlignment = Alignment.CenterVertically
         ) {
             IconButton(
-                onClick = { exoPlayer.seekTo(exoPlayer.currentPosition - 10000) }
+                onClick = { player.seekTo(player.currentPosition - 10000) }
             ) {
                 Icon(
                     Icons.Default.Replay10,
@@ -399,7 +393,7 @@ private fun AudioControls(
             ) {
                 IconButton(
                     onClick = {
-                        if (isPlaying) exoPlayer.pause() else exoPlayer.play()
+                        if (isPlaying) player.pause() else player.play()
                     },
                     modifier = Modifier.fillMaxSize()
                 ) {
@@ -413,7 +407,7 @@ private fun AudioControls(
             }
             
             IconButton(
-                onClick = { exoPlayer.seekTo(exoPlayer.currentPosition + 10000) }
+                onClick = { player.seekTo(player.currentPosition + 10000) }
             ) {
                 Icon(
                     Icons.Default.Forward10,
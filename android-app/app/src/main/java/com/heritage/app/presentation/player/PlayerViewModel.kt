@@ -5,16 +5,29 @@ import androidx.compose.runtime.mutableStateOf
 import androidx.lifecycle.SavedStateHandle
 import androidx.lifecycle.ViewModel
 import androidx.lifecycle.viewModelScope
+import android.net.Uri
+import androidx.media3.common.MediaItem
+import androidx.media3.common.MediaMetadata
+import androidx.media3.common.Player
+import com.heritage.app.data.download.ContentDownloader
+import com.heritage.app.data.playback.PlaybackConnection
 import com.heritage.app.domain.model.Content
 import com.heritage.app.domain.usecase.GetContentByIdUseCase
+import com.heritage.app.util.MediaUrls
+import com.heritage.app.util.thumbnail
+import com.heritage.app.util.urlFor
 import com.heritage.app.util.Resource
 import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.Job
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.launch
 import javax.inject.Inject
 
 data class PlayerState(
     val content: Content? = null,
+    val mediaItem: MediaItem? = null,
+    val player: Player? = null,
     val isLoading: Boolean = false,
     val error: String? = null,
     val isPlaying: Boolean = false,
@@ -26,6 +39,8 @@ data class PlayerState(
 @HiltViewModel
 class PlayerViewModel @Inject constructor(
     private val getContentByIdUseCase: GetContentByIdUseCase,
+    private val contentDownloader: ContentDownloader,
+    private val playbackConnection: PlaybackConnection,
     savedStateHandle: SavedStateHandle
 ) : ViewModel() {
 
@@ -35,11 +50,19 @@ class PlayerViewModel @Inject constructor(
     private val contentId: String = checkNotNull(savedStateHandle["contentId"])
 
     init {
+        playbackConnection.player
+            .onEach { _state.value = _state.value.copy(player = it) }
+            .launchIn(viewModelScope)
         loadContent()
     }
 
+    private var loadJob: Job? = null
+    private var mediaJob: Job? = null
+    private var mediaUrl: String? = null
+
     private fun loadContent() {
-        getContentByIdUseCase(contentId).onEach { result ->
+        loadJob?.cancel()
+        loadJob = getContentByIdUseCase(contentId).onEach { result ->
             when (result) {
                 is Resource.Success -> {
                     _state.value = _state.value.copy(
@@ -47,20 +70,58 @@ class PlayerViewModel @Inject constructor(
                         isLoading = false,
                         error = null
                     )
+                    result.data?.let { updateMediaItem(it) }
                 }
                 is Resource.Error -> {
+                    val content = result.data ?: _state.value.content
                     _state.value = _state.value.copy(
-                        error = result.message,
+                        content = content,
+                        error = if (content == null) result.message else null,
                         isLoading = false
                     )
+                    content?.let { updateMediaItem(it) }
                 }
                 is Resource.Loading -> {
-                    _state.value = _state.value.copy(isLoading = true)
+                    val content = result.data ?: _state.value.content
+                    _state.value = _state.value.copy(
+                        content = content,
+                        isLoading = content == null
+                    )
+                    content?.let { updateMediaItem(it) }
                 }
             }
         }.launchIn(viewModelScope)
     }
 
+    /**
+     * Only rebuilt when the media URL changes, so cache revalidation (fresh counters) does not
+     * restart playback. A finished download is played from disk with no network at all.
+     * If the service is already playing this content (opened from the mini-player), it carries on.
+     */
+    private fun updateMediaItem(content: Content) {
+        val url = MediaUrls.playbackUrl(content) ?: return
+        if (url == mediaUrl) return
+        val replace = mediaUrl != null
+        mediaUrl = url
+        mediaJob?.cancel()
+        mediaJob = viewModelScope.launch {
+            val mediaItem = (contentDownloader.offlineMediaItem(content) ?: MediaItem.fromUri(url))
+                .buildUpon()
+                .setMediaId(content.id)
+                .setMediaMetadata(content.toMediaMetadata())
+                .build()
+            _state.value = _state.value.copy(mediaItem = mediaItem)
+            playbackConnection.play(mediaItem, replace)
+        }
+    }
+
+    private fun Content.toMediaMetadata(): MediaMetadata = MediaMetadata.Builder()
+        .setTitle(title)
+        .setArtist(performer?.name)
+        .setArtworkUri(thumbnail()?.let { Uri.parse(it.urlFor(ARTWORK_WIDTH_PX)) })
+        .setMediaType(if (isVideo) MediaMetadata.MEDIA_TYPE_VIDEO else MediaMetadata.MEDIA_TYPE_MUSIC)
+        .build()
+
     fun onPlayPause() {
         _state.value = _state.value.copy(
             isPlaying = !_state.value.isPlaying
@@ -94,4 +155,9 @@ class PlayerViewModel @Inject constructor(
     fun retry() {
         loadContent()
     }
+
+    companion object {
+        // Lock screen and notification artwork
+        private const val ARTWORK_WIDTH_PX = 640
+    }
 }
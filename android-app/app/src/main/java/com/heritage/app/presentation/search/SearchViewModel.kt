@@ -9,10 +9,8 @@ import com.heritage.app.domain.usecase.SearchContentUseCase
 import com.heritage.app.util.Resource
 import dagger.hilt.android.lifecycle.HiltViewModel
 import kotlinx.coroutines.Job
-import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.launchIn
 import kotlinx.coroutines.flow.onEach
-import kotlinx.coroutines.launch
 import javax.inject.Inject
 
 data class SearchState(
@@ -35,23 +33,25 @@ class SearchViewModel @Inject constructor(
     fun onQueryChange(query: String) {
         _state.value = _state.value.copy(query = query)
         
-        // Auto search after 500ms delay
-        searchJob?.cancel()
+        // Local matches render on every keystroke; the server is only asked once typing pauses
         if (query.length >= 2) {
-            searchJob = viewModelScope.launch {
-                delay(500)
-                search()
+            search(remoteDelayMs = REMOTE_SEARCH_DELAY)
+        } else {
+            searchJob?.cancel()
+            if (query.isEmpty()) {
+                _state.value = _state.value.copy(results = emptyList(), isLoading = false, error = null)
             }
-        } else if (query.isEmpty()) {
-            _state.value = _state.value.copy(results = emptyList())
         }
     }
 
-    fun search() {
+    fun search() = search(remoteDelayMs = 0)
+
+    private fun search(remoteDelayMs: Long) {
         val query = _state.value.query
         if (query.length < 2) return
         
-        searchContentUseCase(query).onEach { result ->
+        searchJob?.cancel()
+        searchJob = searchContentUseCase(query, remoteDelayMs = remoteDelayMs).onEach { result ->
             when (result) {
                 is Resource.Success -> {
                     _state.value = _state.value.copy(
@@ -61,15 +61,26 @@ class SearchViewModel @Inject constructor(
                     )
                 }
                 is Resource.Error -> {
+                    val cached = result.data.orEmpty()
                     _state.value = _state.value.copy(
-                        error = result.message,
+                        results = cached,
+                        error = if (cached.isEmpty()) result.message else null,
                         isLoading = false
                     )
                 }
                 is Resource.Loading -> {
-                    _state.value = _state.value.copy(isLoading = true)
+                    val local = result.data.orEmpty()
+                    _state.value = _state.value.copy(
+                        results = local,
+                        isLoading = local.isEmpty(),
+                        error = null
+                    )
                 }
             }
         }.launchIn(viewModelScope)
     }
+
+    companion object {
+        private const val REMOTE_SEARCH_DELAY = 250L
+    }
 }
@@ -15,13 +15,15 @@ import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import androidx.compose.ui.unit.sp
+import androidx.hilt.navigation.compose.hiltViewModel
 import com.heritage.app.R
-import kotlinx.coroutines.delay
 
 @Composable
 fun SplashScreen(
-    onNavigateToHome: () -> Unit
+    onNavigateToHome: () -> Unit,
+    viewModel: SplashViewModel = hiltViewModel()
 ) {
+    val isReady = viewModel.isReady.value
     var startAnimation by remember { mutableStateOf(false) }
     
     val scale by animateFloatAsState(
@@ -44,8 +46,10 @@ fun SplashScreen(
     
     LaunchedEffect(Unit) {
         startAnimation = true
-        delay(2500)
-        onNavigateToHome()
+    }
+    
+    LaunchedEffect(isReady) {
+        if (isReady) onNavigateToHome()
     }
     
     Box(
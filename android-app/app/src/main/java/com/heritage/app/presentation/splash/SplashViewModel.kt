@@ -0,0 +1,32 @@
+package com.heritage.app.presentation.splash
+
+import androidx.compose.runtime.State
+import androidx.compose.runtime.mutableStateOf
+import androidx.lifecycle.ViewModel
+import androidx.lifecycle.viewModelScope
+import com.heritage.app.data.startup.StartupOrchestrator
+import dagger.hilt.android.lifecycle.HiltViewModel
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.withTimeoutOrNull
+import javax.inject.Inject
+
+@HiltViewModel
+class SplashViewModel @Inject constructor(
+    private val startupOrchestrator: StartupOrchestrator
+) : ViewModel() {
+
+    private val _isReady = mutableStateOf(false)
+    val isReady: State<Boolean> = _isReady
+
+    init {
+        viewModelScope.launch {
+            // Leave as soon as Home has content; a slow network gets Home's own loading state
+            withTimeoutOrNull(MAX_SPLASH_MS) { startupOrchestrator.awaitHomeFeed() }
+            _isReady.value = true
+        }
+    }
+
+    companion object {
+        private const val MAX_SPLASH_MS = 1500L
+    }
+}
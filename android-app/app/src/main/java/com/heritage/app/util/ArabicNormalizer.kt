@@ -0,0 +1,42 @@
+package com.heritage.app.util
+
+/**
+ * Same rules as the backend search normalizer, so local and server matches agree.
+ */
+object ArabicNormalizer {
+
+    private val diacritics = Regex("[\\u064B-\\u065F\\u0670\\u0640]")
+
+    private val letterVariants = mapOf(
+        'أ' to 'ا',
+        'إ' to 'ا',
+        'آ' to 'ا',
+        'ٱ' to 'ا',
+        'ى' to 'ي',
+        'ئ' to 'ي',
+        'ؤ' to 'و',
+        'ة' to 'ه',
+        'ی' to 'ي',
+        'ک' to 'ك'
+    )
+
+    fun normalize(input: String?): String {
+        if (input.isNullOrEmpty()) return ""
+        val stripped = diacritics.replace(input, "")
+        return buildString(stripped.length) {
+            stripped.forEach { append(letterVariants[it] ?: it) }
+        }.lowercase()
+    }
+
+    /**
+     * Prefix-matching FTS4 MATCH expression, or null when nothing searchable is left.
+     */
+    fun toFtsQuery(input: String): String? {
+        val tokens = normalize(input)
+            .split(Regex("\\s+"))
+            .map { token -> token.filter { it.isLetterOrDigit() } }
+            .filter { it.isNotEmpty() }
+        if (tokens.isEmpty()) return null
+        return tokens.joinToString(" ") { "$it*" }
+    }
+}
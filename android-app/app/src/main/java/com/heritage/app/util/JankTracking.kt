@@ -0,0 +1,91 @@
+package com.heritage.app.util
+
+import android.util.Log
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
+import androidx.compose.ui.platform.LocalView
+import androidx.metrics.performance.FrameData
+import androidx.metrics.performance.JankStats
+import androidx.metrics.performance.PerformanceMetricsState
+
+private const val SCREEN_STATE = "Screen"
+private const val SCROLL_STATE = "Scroll"
+
+/**
+ * Per-screen frame counts from [JankStats]. Each frame is attributed to the screen tagged
+ * by [TrackScreenJank]; janky frames are logged as they happen, and [flush] writes one
+ * summary line per screen (called when the activity pauses).
+ */
+class JankReporter : JankStats.OnFrameListener {
+
+    private class Counts {
+        var frames = 0
+        var janky = 0
+        var jankyWhileScrolling = 0
+    }
+
+    // onFrame may arrive on the FrameMetrics thread
+    private val counts = LinkedHashMap<String, Counts>()
+
+    override fun onFrame(volatileFrameData: FrameData) {
+        val states = volatileFrameData.states
+        val screen = states.firstOrNull { it.key == SCREEN_STATE }?.value ?: "Unknown"
+        val scrolling = states.any { it.key == SCROLL_STATE }
+        synchronized(counts) {
+            val screenCounts = counts.getOrPut(screen) { Counts() }
+            screenCounts.frames++
+            if (volatileFrameData.isJank) {
+                screenCounts.janky++
+                if (scrolling) screenCounts.jankyWhileScrolling++
+            }
+        }
+        if (volatileFrameData.isJank) {
+            Log.d(TAG, "Janky frame on $screen: ${volatileFrameData.frameDurationUiNanos / 1_000_000}ms $states")
+        }
+    }
+
+    fun flush() {
+        synchronized(counts) {
+            counts.forEach { (screen, c) ->
+                val percent = if (c.frames > 0) c.janky * 100f / c.frames else 0f
+                Log.i(
+                    TAG,
+                    "$screen: ${c.janky}/${c.frames} janky frames (${"%.1f".format(percent)}%), " +
+                        "${c.jankyWhileScrolling} while scrolling"
+                )
+            }
+            counts.clear()
+        }
+    }
+
+    companion object {
+        private const val TAG = "JankStats"
+    }
+}
+
+/**
+ * Tags frames with the current [screen] while this is composed.
+ */
+@Composable
+fun TrackScreenJank(screen: String) {
+    val view = LocalView.current
+    DisposableEffect(view, screen) {
+        val holder = PerformanceMetricsState.getHolderForHierarchy(view)
+        holder.state?.putState(SCREEN_STATE, screen)
+        onDispose { holder.state?.removeState(SCREEN_STATE) }
+    }
+}
+
+/**
+ * Tags frames drawn while a list is being scrolled, so scroll jank can be told apart
+ * from jank during navigation or loading.
+ */
+@Composable
+fun TrackScrollJank(isScrolling: Boolean) {
+    val view = LocalView.current
+    DisposableEffect(view, isScrolling) {
+        val holder = PerformanceMetricsState.getHolderForHierarchy(view)
+        if (isScrolling) holder.state?.putState(SCROLL_STATE, "true") else holder.state?.removeState(SCROLL_STATE)
+        onDispose { holder.state?.removeState(SCROLL_STATE) }
+    }
+}
@@ -0,0 +1,27 @@
+package com.heritage.app.util
+
+import com.heritage.app.BuildConfig
+import com.heritage.app.domain.model.Content
+import java.net.URI
+
+/**
+ * Media paths come back either absolute (cloud storage) or relative to the backend host.
+ * Players and downloads must agree on the final URL, since it is also the media cache key.
+ */
+object MediaUrls {
+
+    /** Scheme, host and port of [BuildConfig.API_BASE_URL], so media follows the API to devices. */
+    val SERVER_ORIGIN: String = URI(BuildConfig.API_BASE_URL).let { "${it.scheme}://${it.authority}" }
+
+    fun resolve(url: String): String {
+        return if (url.startsWith("http://") || url.startsWith("https://")) url else SERVER_ORIGIN + url
+    }
+
+    /**
+     * What the player opens for [content]: the HLS stream for videos, the file for audio.
+     */
+    fun playbackUrl(content: Content): String? {
+        val url = if (content.isVideo) content.hlsUrl else content.audioUrl
+        return url?.let { resolve(it) }
+    }
+}
@@ -0,0 +1,52 @@
+package com.heritage.app.util
+
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.drop
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.filterNotNull
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.map
+import retrofit2.HttpException
+import java.io.IOException
+
+/**
+ * Stale-while-revalidate over a local [query]: the cached value is emitted immediately,
+ * the network is only hit when [shouldFetch] says the cache is stale, and afterwards the
+ * local query keeps streaming so later writes reach the UI.
+ * [saveFetchResult] can be left out when [fetch] writes the cache itself.
+ */
+inline fun <ResultType : Any, RequestType> networkBoundResource(
+    crossinline query: () -> Flow<ResultType?>,
+    crossinline fetch: suspend () -> RequestType,
+    crossinline saveFetchResult: suspend (RequestType) -> Unit = {},
+    crossinline shouldFetch: suspend (ResultType?) -> Boolean = { true }
+): Flow<Resource<ResultType>> = flow {
+    val cached = query().first()
+
+    if (cached == null || shouldFetch(cached)) {
+        emit(Resource.Loading(cached))
+        try {
+            saveFetchResult(fetch())
+        } catch (e: CancellationException) {
+            throw e
+        } catch (e: Exception) {
+            emit(Resource.Error(e.toErrorMessage(), cached))
+            if (cached == null) return@flow
+            // Keep the error visible until the cache actually changes
+            emitAll(query().drop(1).filterNotNull().map { Resource.Success(it) })
+            return@flow
+        }
+    }
+
+    emitAll(query().filterNotNull().map { Resource.Success(it) })
+}
+
+fun Throwable.toErrorMessage(): String {
+    return when (this) {
+        is HttpException -> localizedMessage ?: "خطأ في الاتصال"
+        is IOException -> "تحقق من اتصال الإنترنت"
+        else -> localizedMessage ?: "حدث خطأ غير متوقع"
+    }
+}
@@ -0,0 +1,163 @@
+package com.heritage.app.util
+
+import android.graphics.Bitmap
+import android.util.Base64
+import android.util.LruCache
+import androidx.compose.runtime.Composable
+import androidx.compose.runtime.remember
+import androidx.compose.ui.graphics.asImageBitmap
+import androidx.compose.ui.graphics.painter.BitmapPainter
+import androidx.compose.ui.graphics.painter.Painter
+import kotlin.math.PI
+import kotlin.math.cos
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.roundToInt
+
+/**
+ * Decoder for ThumbHash (https://evanw.github.io/thumbhash/), the ~25 byte image preview the
+ * backend computes at ingest. It renders a blurred 32px image with the thumbnail's colours and
+ * aspect ratio, which cards show until the real thumbnail arrives.
+ */
+object ThumbHash {
+
+    // Decoded previews by hash; a 32x32 bitmap is 4 KB, so this holds a few screens of cards
+    private val cache = LruCache<String, Bitmap>(CACHE_SIZE)
+
+    fun decode(hash: String): Bitmap? {
+        cache.get(hash)?.let { return it }
+        val bitmap = try {
+            toBitmap(Base64.decode(hash, Base64.DEFAULT))
+        } catch (e: IllegalArgumentException) {
+            null
+        } catch (e: IndexOutOfBoundsException) {
+            null
+        } ?: return null
+        cache.put(hash, bitmap)
+        return bitmap
+    }
+
+    private fun toBitmap(hash: ByteArray): Bitmap {
+        val h = hash.map { it.toInt() and 0xFF }
+
+        // Constants
+        val header24 = h[0] or (h[1] shl 8) or (h[2] shl 16)
+        val header16 = h[3] or (h[4] shl 8)
+        val lDc = (header24 and 63) / 63f
+        val pDc = ((header24 shr 6) and 63) / 31.5f - 1
+        val qDc = ((header24 shr 12) and 63) / 31.5f - 1
+        val lScale = ((header24 shr 18) and 31) / 31f
+        val hasAlpha = (header24 shr 23) != 0
+        val pScale = ((header16 shr 3) and 63) / 63f
+        val qScale = ((header16 shr 9) and 63) / 63f
+        val isLandscape = (header16 shr 15) != 0
+        val lx = max(3, if (isLandscape) (if (hasAlpha) 5 else 7) else header16 and 7)
+        val ly = max(3, if (isLandscape) header16 and 7 else (if (hasAlpha) 5 else 7))
+        val aDc = if (hasAlpha) (h[5] and 15) / 15f else 1f
+        val aScale = if (hasAlpha) (h[5] shr 4) / 15f else 0f
+
+        // Varying factors, 4 bits each (saturation boosted 1.25x to offset quantization)
+        val acStart = if (hasAlpha) 6 else 5
+        var acIndex = 0
+        fun decodeChannel(nx: Int, ny: Int, scale: Float): FloatArray {
+            val ac = ArrayList<Float>()
+            for (cy in 0 until ny) {
+                var cx = if (cy > 0) 0 else 1
+                while (cx * ny < nx * (ny - cy)) {
+                    val nibble = (h[acStart + (acIndex shr 1)] shr ((acIndex and 1) shl 2)) and 15
+                    ac.add((nibble / 7.5f - 1) * scale)
+                    acIndex++
+                    cx++
+                }
+            }
+            return ac.toFloatArray()
+        }
+        val lAc = decodeChannel(lx, ly, lScale)
+        val pAc = decodeChannel(3, 3, pScale * 1.25f)
+        val qAc = decodeChannel(3, 3, qScale * 1.25f)
+        val aAc = if (hasAlpha) decodeChannel(5, 5, aScale) else null
+
+        val ratio = aspectRatio(h)
+        val w = (if (ratio > 1) 32f else 32 * ratio).roundToInt().coerceAtLeast(1)
+        val hh = (if (ratio > 1) 32 / ratio else 32f).roundToInt().coerceAtLeast(1)
+        val pixels = IntArray(w * hh)
+        val fx = FloatArray(max(lx, if (hasAlpha) 5 else 3))
+        val fy = FloatArray(max(ly, if (hasAlpha) 5 else 3))
+
+        for (y in 0 until hh) {
+            for (x in 0 until w) {
+                var l = lDc
+                var p = pDc
+                var q = qDc
+                var a = aDc
+
+                for (cx in fx.indices) fx[cx] = cos(PI / w * (x + 0.5) * cx).toFloat()
+                for (cy in fy.indices) fy[cy] = cos(PI / hh * (y + 0.5) * cy).toFloat()
+
+                var j = 0
+                for (cy in 0 until ly) {
+                    var cx = if (cy > 0) 0 else 1
+                    val fy2 = fy[cy] * 2
+                    while (cx * ly < lx * (ly - cy)) {
+                        l += lAc[j++] * fx[cx] * fy2
+                        cx++
+                    }
+                }
+
+                j = 0
+                for (cy in 0 until 3) {
+                    var cx = if (cy > 0) 0 else 1
+                    val fy2 = fy[cy] * 2
+                    while (cx < 3 - cy) {
+                        val f = fx[cx] * fy2
+                        p += pAc[j] * f
+                        q += qAc[j] * f
+                        j++
+                        cx++
+                    }
+                }
+
+                if (aAc != null) {
+                    j = 0
+                    for (cy in 0 until 5) {
+                        var cx = if (cy > 0) 0 else 1
+                        val fy2 = fy[cy] * 2
+                        while (cx < 5 - cy) {
+                            a += aAc[j++] * fx[cx] * fy2
+                            cx++
+                        }
+                    }
+                }
+
+                // LPQ to RGB
+                val b = l - 2f / 3f * p
+                val r = (3 * l - b + q) / 2
+                val g = r - q
+                pixels[y * w + x] = (channel(a) shl 24) or (channel(r) shl 16) or (channel(g) shl 8) or channel(b)
+            }
+        }
+        return Bitmap.createBitmap(pixels, w, hh, Bitmap.Config.ARGB_8888)
+    }
+
+    private fun aspectRatio(h: List<Int>): Float {
+        val hasAlpha = (h[2] and 0x80) != 0
+        val isLandscape = (h[4] and 0x80) != 0
+        val lx = if (isLandscape) (if (hasAlpha) 5 else 7) else h[3] and 7
+        val ly = if (isLandscape) h[3] and 7 else (if (hasAlpha) 5 else 7)
+        return lx.toFloat() / ly
+    }
+
+    private fun channel(value: Float): Int = (255 * min(1f, max(0f, value))).toInt()
+
+    private const val CACHE_SIZE = 200
+}
+
+/**
+ * The decoded [hash] as an image placeholder, or null when there is none.
+ */
+@Composable
+fun rememberThumbHashPainter(hash: String?): Painter? {
+    return remember(hash) {
+        hash?.let { ThumbHash.decode(it) }?.let { BitmapPainter(it.asImageBitmap()) }
+    }
+}
@@ -0,0 +1,44 @@
+package com.heritage.app.util
+
+import coil3.map.Mapper
+import coil3.request.Options
+import coil3.size.Dimension
+import com.heritage.app.domain.model.Content
+
+/**
+ * A content thumbnail with every width the server rendered, used as the Coil model.
+ * [ThumbnailMapper] turns it into the URL of the smallest variant that fills the slot.
+ */
+data class Thumbnail(
+    val url: String,
+    val variants: Map<Int, String>
+)
+
+fun Content.thumbnail(): Thumbnail? {
+    val fallback = thumbnailUrl ?: thumbnails.maxByOrNull { it.key }?.value ?: return null
+    return Thumbnail(
+        url = MediaUrls.resolve(fallback),
+        variants = thumbnails.mapValues { MediaUrls.resolve(it.value) }
+    )
+}
+
+/**
+ * URL of the smallest variant at least [widthPx] wide (else the largest), for callers
+ * outside Coil such as notification artwork.
+ */
+fun Thumbnail.urlFor(widthPx: Int): String {
+    if (variants.isEmpty()) return url
+    val sorted = variants.toSortedMap()
+    return sorted.entries.firstOrNull { it.key >= widthPx }?.value ?: sorted.getValue(sorted.lastKey())
+}
+
+/**
+ * Runs after Coil has resolved the target size, so a 120dp tile requests the 320px WebP
+ * instead of the 1280px original. Without a known width the largest variant is used.
+ */
+class ThumbnailMapper : Mapper<Thumbnail, String> {
+    override fun map(data: Thumbnail, options: Options): String {
+        val width = options.size.width
+        return if (width is Dimension.Pixels) data.urlFor(width.px) else data.urlFor(Int.MAX_VALUE)
+    }
+}
@@ -0,0 +1,34 @@
+package com.heritage.benchmark
+
+import androidx.benchmark.macro.junit4.BaselineProfileRule
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.filters.LargeTest
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Records the classes and methods hit by startup and the two list journeys. The result is
+ * written to app/src/release/generated/baselineProfiles by
+ * ./gradlew :app:generateReleaseBaselineProfile; the startup part also goes into the
+ * dex layout (startup profile).
+ */
+@LargeTest
+@RunWith(AndroidJUnit4::class)
+class BaselineProfileGenerator {
+
+    @get:Rule
+    val baselineProfileRule = BaselineProfileRule()
+
+    @Test
+    fun generate() = baselineProfileRule.collect(
+        packageName = TARGET_PACKAGE,
+        includeInStartupProfile = true
+    ) {
+        pressHome()
+        startActivityAndWait()
+        flingHomeFeed()
+        openFirstPerformer()
+        flingPerformerContent()
+    }
+}
@@ -0,0 +1,56 @@
+package com.heritage.benchmark
+
+import androidx.benchmark.macro.MacrobenchmarkScope
+import androidx.test.uiautomator.By
+import androidx.test.uiautomator.Direction
+import androidx.test.uiautomator.UiObject2
+import androidx.test.uiautomator.Until
+
+const val TARGET_PACKAGE = "com.heritage.app"
+
+private const val UI_TIMEOUT_MS = 15_000L
+
+/**
+ * Waits past the splash for the Home feed. HomeScreen reports fully drawn at the same
+ * moment, so this is the end of the startup measured as time to full display.
+ */
+fun MacrobenchmarkScope.waitForHomeFeed(): UiObject2 =
+    checkNotNull(device.wait(Until.findObject(By.res("home_feed")), UI_TIMEOUT_MS)) {
+        "Home feed did not appear; is the backend reachable from the device?"
+    }
+
+fun MacrobenchmarkScope.flingHomeFeed() {
+    val feed = waitForHomeFeed()
+    // Keeps the gesture off the system navigation edges
+    feed.setGestureMargin(device.displayWidth / 5)
+    repeat(3) {
+        feed.fling(Direction.DOWN)
+        device.waitForIdle()
+    }
+    feed.fling(Direction.UP)
+    device.waitForIdle()
+}
+
+/**
+ * Scrolls the Home feed down to the performers grid and opens the first performer.
+ */
+fun MacrobenchmarkScope.openFirstPerformer() {
+    val feed = waitForHomeFeed()
+    feed.setGestureMargin(device.displayWidth / 5)
+    val chip = checkNotNull(feed.scrollUntil(Direction.DOWN, Until.findObject(By.res("performer_chip")))) {
+        "No performer on the Home feed"
+    }
+    chip.click()
+    checkNotNull(device.wait(Until.findObject(By.res("performer_content")), UI_TIMEOUT_MS)) {
+        "Performer screen did not open"
+    }
+}
+
+fun MacrobenchmarkScope.flingPerformerContent() {
+    val list = checkNotNull(device.findObject(By.res("performer_content")))
+    list.setGestureMargin(device.displayWidth / 5)
+    repeat(3) {
+        list.fling(Direction.DOWN)
+        device.waitForIdle()
+    }
+}
@@ -0,0 +1,55 @@
+package com.heritage.benchmark
+
+import androidx.benchmark.macro.BaselineProfileMode
+import androidx.benchmark.macro.CompilationMode
+import androidx.benchmark.macro.StartupMode
+import androidx.benchmark.macro.StartupTimingMetric
+import androidx.benchmark.macro.junit4.MacrobenchmarkRule
+import androidx.test.filters.LargeTest
+import org.junit.Rule
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.junit.runners.Parameterized
+
+/**
+ * Cold, warm and hot startup, with and without the Baseline Profile. timeToInitialDisplayMs
+ * is the first frame (the splash); timeToFullDisplayMs is the first Home frame with content.
+ */
+@LargeTest
+@RunWith(Parameterized::class)
+class StartupBenchmark(
+    private val startupMode: StartupMode,
+    private val compilationMode: CompilationMode
+) {
+
+    @get:Rule
+    val benchmarkRule = MacrobenchmarkRule()
+
+    @Test
+    fun startup() = benchmarkRule.measureRepeated(
+        packageName = TARGET_PACKAGE,
+        metrics = listOf(StartupTimingMetric()),
+        compilationMode = compilationMode,
+        startupMode = startupMode,
+        iterations = 10,
+        setupBlock = {
+            pressHome()
+        }
+    ) {
+        startActivityAndWait()
+        waitForHomeFeed()
+    }
+
+    companion object {
+        @JvmStatic
+        @Parameterized.Parameters(name = "{0}-{1}")
+        fun parameters(): List<Array<Any>> =
+            listOf(StartupMode.COLD, StartupMode.WARM, StartupMode.HOT).flatMap { mode ->
+                listOf(
+                    // What a fresh install without a profile gets: everything JIT-compiled
+                    arrayOf<Any>(mode, CompilationMode.None()),
+                    arrayOf<Any>(mode, CompilationMode.Partial(BaselineProfileMode.Require))
+                )
+            }
+    }
+}
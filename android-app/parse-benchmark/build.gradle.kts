@@ -0,0 +1,41 @@
+import org.jetbrains.kotlin.gradle.dsl.JvmTarget
+
+plugins {
+    alias(libs.plugins.kotlin.jvm)
+    alias(libs.plugins.kotlin.serialization)
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(JvmTarget.JVM_17)
+    }
+    // The DTOs are plain Kotlin, so they are compiled here directly instead of depending on the Android module
+    sourceSets.named("main") {
+        kotlin.srcDir("../app/src/main/java/com/heritage/app/data/remote/dto")
+    }
+}
+
+dependencies {
+    implementation(libs.kotlinx.serialization.json)
+
+    jmh(libs.jmh.core)
+    jmh(libs.jmh.generator.annprocess)
+    // Reflective baseline the app used before codegen
+    jmh(libs.gson)
+}
+
+// ./gradlew :parse-benchmark:jmh
+jmh {
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    // Reports gc.alloc.rate.norm (bytes allocated per parse) next to the timings
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
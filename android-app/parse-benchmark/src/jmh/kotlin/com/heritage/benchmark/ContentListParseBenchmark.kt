@@ -0,0 +1,57 @@
+package com.heritage.benchmark
+
+import com.google.gson.Gson
+import com.heritage.app.data.remote.dto.ContentListResponse
+import com.heritage.app.data.remote.dto.DtoJson
+import kotlinx.serialization.ExperimentalSerializationApi
+import kotlinx.serialization.json.decodeFromStream
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.BenchmarkMode
+import org.openjdk.jmh.annotations.Mode
+import org.openjdk.jmh.annotations.OutputTimeUnit
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.io.ByteArrayInputStream
+import java.io.InputStreamReader
+import java.util.concurrent.TimeUnit
+
+/**
+ * Time and allocations (via the gc profiler) to decode a ContentListResponse page the way
+ * the app does it, against the previous reflective Gson path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+open class ContentListParseBenchmark {
+
+    @Param("20", "100", "1000")
+    var items: Int = 0
+
+    private lateinit var payload: ByteArray
+    private val gson = Gson()
+
+    @Setup
+    fun setUp() {
+        payload = Payloads.contentList(items)
+    }
+
+    @OptIn(ExperimentalSerializationApi::class)
+    @Benchmark
+    fun kotlinxStreaming(): ContentListResponse {
+        return DtoJson.decodeFromStream(ContentListResponse.serializer(), ByteArrayInputStream(payload))
+    }
+
+    @Benchmark
+    fun kotlinxFromString(): ContentListResponse {
+        return DtoJson.decodeFromString(ContentListResponse.serializer(), String(payload, Charsets.UTF_8))
+    }
+
+    @Benchmark
+    fun gsonReflective(): ContentListResponse {
+        return InputStreamReader(ByteArrayInputStream(payload), Charsets.UTF_8).use {
+            gson.fromJson(it, ContentListResponse::class.java)
+        }
+    }
+}
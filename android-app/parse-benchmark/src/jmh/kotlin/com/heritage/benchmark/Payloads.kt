@@ -0,0 +1,22 @@
+package com.heritage.benchmark
+
+/**
+ * Builds list responses of a given size from one recorded API item, giving each copy a
+ * distinct id so nothing can be shared between elements.
+ */
+object Payloads {
+
+    private val item: String by lazy {
+        checkNotNull(Payloads::class.java.getResourceAsStream("/content-item.json")) {
+            "content-item.json missing from benchmark resources"
+        }.bufferedReader().use { it.readText() }
+    }
+
+    fun contentList(size: Int): ByteArray {
+        val data = (0 until size).joinToString(",") { index ->
+            item.replace("6f1c2a9e-3b7d-4c51-9a0e-2d8f4b6c1e73", "6f1c2a9e-3b7d-4c51-9a0e-%012d".format(index))
+        }
+        val meta = """{"total":$size,"page":1,"limit":$size,"totalPages":1}"""
+        return """{"data":[$data],"meta":$meta}""".toByteArray(Charsets.UTF_8)
+    }
+}
@@ -15,3 +15,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "Heritage"
 include(":app")
+include(":parse-benchmark")
+include(":benchmark")
@@ -16,6 +16,8 @@ import { UploadModule } from './modules/upload/upload.module';
 import { SyncModule } from './modules/sync/sync.module';
 import { ImportModule } from './modules/import/import.module';
 import { SettingsModule } from './modules/settings/settings.module';
+import { HomeModule } from './modules/home/home.module';
+import { databaseOptions } from './database.options';
 
 @Module({
   imports: [
@@ -29,36 +31,10 @@ import { SettingsModule } from './modules/settings/settings.module';
     }),
     TypeOrmModule.forRootAsync({
       imports: [ConfigModule],
-      useFactory: (configService: ConfigService) => {
-        const databaseUrl = configService.get('DATABASE_URL');
-
-        // إذا كان DATABASE_URL موجود (Neon أو أي سحابة)
-        if (databaseUrl) {
-          return {
-            type: 'postgres',
-            url: databaseUrl,
-            autoLoadEntities: true,
-            entities: [__dirname + '/**/*.entity{.ts,.js}'],
-            synchronize: configService.get('NODE_ENV') === 'development', // كن حذراً في الإنتاج
-            ssl: {
-              rejectUnauthorized: false, // مهم لـ Neon وقواعد البيانات السحابية
-            },
-          };
-        }
-
-        // وإلا استخدم المتغيرات المنفصلة (محلي)
-        return {
-          type: 'postgres',
-          host: configService.get('DATABASE_HOST'),
-          port: configService.get('DATABASE_PORT'),
-          username: configService.get('DATABASE_USER'),
-          password: configService.get('DATABASE_PASSWORD') || '',
-          database: configService.get('DATABASE_NAME'),
-          autoLoadEntities: true,
-          entities: [__dirname + '/**/*.entity{.ts,.js}'],
-          synchronize: configService.get('NODE_ENV') === 'development',
-        };
-      },
+      useFactory: (configService: ConfigService) => ({
+        ...databaseOptions((key) => configService.get(key)),
+        autoLoadEntities: true,
+      }),
       inject: [ConfigService],
     }),
     PerformersModule,
@@ -75,6 +51,7 @@ import { SettingsModule } from './modules/settings/settings.module';
     SyncModule,
     ImportModule,
     SettingsModule,
+    HomeModule,
   ],
 })
 export class AppModule { }
@@ -0,0 +1,104 @@
+import { CallHandler, ExecutionContext, Injectable, NestInterceptor } from '@nestjs/common';
+import { createHash } from 'crypto';
+import { Request, Response } from 'express';
+import { Observable } from 'rxjs';
+import { map } from 'rxjs/operators';
+
+// Bump when the response shape changes without touching any row
+const ETAG_VERSION = '1';
+
+// Written by raw UPDATEs that leave updatedAt alone (ContentCounterBuffer, LikesService.toggleLike)
+const COUNTER_FIELDS = ['viewCount', 'downloadCount', 'likeCount'];
+
+/**
+ * Strong ETags for read endpoints, derived from the ids, `updatedAt` and counters of every
+ * entity in the response (plus paging metadata) instead of hashing the serialized body.
+ * A matching `If-None-Match` is answered with an empty 304.
+ */
+@Injectable()
+export class ETagInterceptor implements NestInterceptor {
+  intercept(context: ExecutionContext, next: CallHandler): Observable<any> {
+    const http = context.switchToHttp();
+    const req = http.getRequest<Request>();
+    const res = http.getResponse<Response>();
+
+    return next.handle().pipe(
+      map((body) => {
+        if (body === undefined || body === null || res.statusCode !== 200) {
+          return body;
+        }
+
+        const hash = createHash('sha1').update(ETAG_VERSION).update(req.originalUrl);
+        fingerprint(body, hash);
+        const etag = `"${hash.digest('base64url')}"`;
+
+        res.setHeader('ETag', etag);
+        res.setHeader('Cache-Control', 'no-cache');
+        // Last-Modified only for single entities: a deletion from a list would not move it
+        if (isEntity(body)) {
+          res.setHeader('Last-Modified', new Date(body.updatedAt).toUTCString());
+        }
+
+        if (matchesIfNoneMatch(req.headers['if-none-match'], etag)) {
+          res.status(304);
+          return undefined;
+        }
+        return body;
+      }),
+    );
+  }
+}
+
+function isEntity(value: any): boolean {
+  return value && typeof value === 'object' && value.id !== undefined && value.updatedAt !== undefined;
+}
+
+function fingerprint(value: any, hash: ReturnType<typeof createHash>) {
+  if (Array.isArray(value)) {
+    hash.update('[');
+    value.forEach((item) => fingerprint(item, hash));
+    hash.update(']');
+    return;
+  }
+  if (value === null || typeof value !== 'object') {
+    hash.update(String(value));
+    return;
+  }
+  if (value instanceof Date) {
+    hash.update(String(value.getTime()));
+    return;
+  }
+
+  if (isEntity(value)) {
+    hash.update(`${value.id}@${new Date(value.updatedAt).getTime()}`);
+    for (const field of COUNTER_FIELDS) {
+      if (value[field] !== undefined) {
+        hash.update(`${field}=${value[field]}`);
+      }
+    }
+    // Nested relations (performer, categories) change without bumping the parent row
+    for (const key of Object.keys(value)) {
+      const nested = value[key];
+      if (nested && typeof nested === 'object' && !(nested instanceof Date)) {
+        hash.update(key);
+        fingerprint(nested, hash);
+      }
+    }
+    return;
+  }
+
+  // Wrappers such as { data, meta }
+  for (const key of Object.keys(value)) {
+    hash.update(key);
+    fingerprint(value[key], hash);
+  }
+}
+
+function matchesIfNoneMatch(header: string | undefined, etag: string): boolean {
+  if (!header) return false;
+  if (header.trim() === '*') return true;
+  return header
+    .split(',')
+    .map((tag) => tag.trim().replace(/^W\//, ''))
+    .includes(etag);
+}
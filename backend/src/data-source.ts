@@ -0,0 +1,16 @@
+import { ConfigModule } from '@nestjs/config';
+import { DataSource } from 'typeorm';
+import { databaseOptions } from './database.options';
+
+// يقرأ .env كما يفعل التطبيق عند الإقلاع
+ConfigModule.forRoot();
+
+/**
+ * مصدر البيانات لأداة TypeORM CLI: npm run migration:run / migration:revert / migration:generate
+ */
+export default new DataSource({
+  ...databaseOptions((key) => process.env[key]),
+  // الأداة لا تُطبّق المخطط من الكيانات أبداً
+  synchronize: false,
+  migrationsRun: false,
+});
@@ -0,0 +1,41 @@
+import { PostgresConnectionOptions } from 'typeorm/driver/postgres/PostgresConnectionOptions';
+
+/**
+ * إعدادات Postgres المشتركة بين التطبيق (app.module) وأداة TypeORM CLI (data-source.ts)
+ * حتى تطبّق الترحيلات على نفس القاعدة التي يتصل بها التطبيق.
+ */
+export function databaseOptions(get: (key: string) => string | undefined): PostgresConnectionOptions {
+  const common = {
+    type: 'postgres' as const,
+    entities: [__dirname + '/**/*.entity{.ts,.js}'],
+    migrations: [__dirname + '/migrations/*{.ts,.js}'],
+    // الإنتاج: synchronize معطّل، والمخطط يتقدّم بالترحيلات (npm run migration:run أو DB_MIGRATIONS_RUN=true)
+    synchronize: get('NODE_ENV') === 'development', // كن حذراً في الإنتاج
+    migrationsRun: get('DB_MIGRATIONS_RUN') === 'true',
+    // transaction لكل ترحيل: الوضع الافتراضي 'all' يرفض ترحيلاً بـ transaction = false (HotQueryIndexes)
+    migrationsTransactionMode: 'each' as const,
+  };
+
+  const databaseUrl = get('DATABASE_URL');
+
+  // إذا كان DATABASE_URL موجود (Neon أو أي سحابة)
+  if (databaseUrl) {
+    return {
+      ...common,
+      url: databaseUrl,
+      ssl: {
+        rejectUnauthorized: false, // مهم لـ Neon وقواعد البيانات السحابية
+      },
+    };
+  }
+
+  // وإلا استخدم المتغيرات المنفصلة (محلي)
+  return {
+    ...common,
+    host: get('DATABASE_HOST'),
+    port: Number(get('DATABASE_PORT') || 5432),
+    username: get('DATABASE_USER'),
+    password: get('DATABASE_PASSWORD') || '',
+    database: get('DATABASE_NAME'),
+  };
+}
@@ -17,7 +17,17 @@ async function bootstrap() {
     prefix: '/test/',
   });
   
+  // خلف وكيل عكسي (nginx، Cloudflare): عدد الوكلاء أو قائمتهم ليأخذ req.ip العميل من X-Forwarded-For
+  // بدل عنوان الوكيل (يُستخدم في عدّ المشاهدين المختلفين)
+  const trustProxy = process.env.TRUST_PROXY;
+  if (trustProxy) {
+    app.set('trust proxy', /^\d+$/.test(trustProxy) ? Number(trustProxy) : trustProxy);
+  }
+
   app.setGlobalPrefix('api');
+
+  // SIGTERM يمرّ على beforeApplicationShutdown (تفريغ عدّادات المشاهدة قبل إغلاق الاتصال)
+  app.enableShutdownHooks();
   
   app.useGlobalPipes(
     new ValidationPipe({
@@ -0,0 +1,156 @@
+import { MigrationInterface, QueryRunner } from 'typeorm';
+
+/**
+ * أول ترحيل في السلسلة: الجداول كما كانت قبل ملفات src/migrations/*.sql، حتى تُرحَّل قاعدة فارغة من الصفر.
+ * الأعمدة والجداول التي تضيفها تلك الملفات والترحيلات اللاحقة (searchText/searchVector، thumbnails،
+ * thumbHash، is_playable، playback_events، content_daily_viewers والفهارس) تبقى لها.
+ *
+ * كل شيء IF NOT EXISTS: على قاعدة أُنشئت من قبل بـ synchronize لا يتغير شيء، ويُسجَّل الترحيل فقط.
+ */
+export class InitialSchema1792299999999 implements MigrationInterface {
+  name = 'InitialSchema1792299999999';
+
+  public async up(queryRunner: QueryRunner): Promise<void> {
+    await queryRunner.query(`
+      DO $$ BEGIN
+        CREATE TYPE users_provider_enum AS ENUM ('google', 'facebook', 'email');
+      EXCEPTION
+        WHEN duplicate_object THEN NULL;
+      END $$
+    `);
+    await queryRunner.query(`
+      DO $$ BEGIN
+        CREATE TYPE content_type_enum AS ENUM ('video', 'audio');
+      EXCEPTION
+        WHEN duplicate_object THEN NULL;
+      END $$
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS admins (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        email VARCHAR NOT NULL UNIQUE,
+        password VARCHAR NOT NULL,
+        name VARCHAR NOT NULL,
+        "isActive" BOOLEAN NOT NULL DEFAULT true,
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        "updatedAt" TIMESTAMP NOT NULL DEFAULT now()
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS users (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        email VARCHAR,
+        name VARCHAR,
+        avatar VARCHAR,
+        provider users_provider_enum NOT NULL DEFAULT 'email',
+        "providerId" VARCHAR,
+        "isActive" BOOLEAN NOT NULL DEFAULT true,
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        "updatedAt" TIMESTAMP NOT NULL DEFAULT now()
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS performers (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        name VARCHAR NOT NULL,
+        "shortName" VARCHAR,
+        "fullName" VARCHAR,
+        bio TEXT,
+        "imageUrl" VARCHAR,
+        location VARCHAR,
+        "socialLinks" JSONB,
+        "birthDate" DATE,
+        "deathDate" DATE,
+        "joinedAnsarallahDate" DATE,
+        "isDeceased" BOOLEAN NOT NULL DEFAULT false,
+        "isActive" BOOLEAN NOT NULL DEFAULT true,
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        "updatedAt" TIMESTAMP NOT NULL DEFAULT now()
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS categories (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        name VARCHAR NOT NULL,
+        "nameEn" VARCHAR,
+        description VARCHAR,
+        icon VARCHAR,
+        "order" INT NOT NULL DEFAULT 0,
+        "isActive" BOOLEAN NOT NULL DEFAULT true,
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        "updatedAt" TIMESTAMP NOT NULL DEFAULT now()
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS content (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        title VARCHAR NOT NULL,
+        description TEXT,
+        type content_type_enum NOT NULL,
+        "originalFileUrl" VARCHAR,
+        "hlsUrl" VARCHAR,
+        "audioUrl" VARCHAR,
+        "thumbnailUrl" VARCHAR,
+        "cloudVideoUrl" VARCHAR,
+        "cloudAudioUrl" VARCHAR,
+        "cloudThumbnailUrl" VARCHAR,
+        "cloudHlsUrl" VARCHAR,
+        "isUploadedToCloud" BOOLEAN NOT NULL DEFAULT false,
+        duration INT NOT NULL DEFAULT 0,
+        "fileSize" BIGINT NOT NULL DEFAULT 0,
+        "viewCount" INT NOT NULL DEFAULT 0,
+        "downloadCount" INT NOT NULL DEFAULT 0,
+        "likeCount" INT NOT NULL DEFAULT 0,
+        "shareCount" INT NOT NULL DEFAULT 0,
+        "isProcessed" BOOLEAN NOT NULL DEFAULT false,
+        "isActive" BOOLEAN NOT NULL DEFAULT true,
+        performer_id UUID REFERENCES performers (id) ON DELETE CASCADE,
+        "originalDate" DATE,
+        "externalSource" VARCHAR,
+        "externalId" VARCHAR,
+        "externalUrl" VARCHAR,
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        "updatedAt" TIMESTAMP NOT NULL DEFAULT now()
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS content_categories (
+        content_id UUID NOT NULL REFERENCES content (id) ON DELETE CASCADE,
+        category_id UUID NOT NULL REFERENCES categories (id) ON DELETE CASCADE,
+        PRIMARY KEY (content_id, category_id)
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS comments (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        "contentId" UUID NOT NULL REFERENCES content (id) ON DELETE CASCADE,
+        "userName" VARCHAR NOT NULL,
+        text TEXT NOT NULL,
+        likes INT NOT NULL DEFAULT 0,
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        "updatedAt" TIMESTAMP NOT NULL DEFAULT now()
+      )
+    `);
+
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS likes (
+        id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+        user_id UUID NOT NULL REFERENCES users (id),
+        content_id UUID NOT NULL REFERENCES content (id),
+        "createdAt" TIMESTAMP NOT NULL DEFAULT now(),
+        UNIQUE (user_id, content_id)
+      )
+    `);
+  }
+
+  public async down(): Promise<void> {
+    // لا يُسحب: التراجع عنه يحذف كل البيانات
+  }
+}
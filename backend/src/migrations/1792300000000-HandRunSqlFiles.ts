@@ -0,0 +1,32 @@
+import { MigrationInterface, QueryRunner } from 'typeorm';
+import * as fs from 'fs';
+import * as path from 'path';
+
+// ملفات SQL التي كانت تُشغَّل يدوياً، بترتيب إضافتها. كلها آمنة للتكرار (IF NOT EXISTS / OR REPLACE)
+// فلا يضر تشغيلها على قاعدة طُبّقت عليها من قبل.
+// add-cloud-urls.sql غير مدرج: أعمدته (cloud_video_url...) قديمة وحلّت محلها أعمدة الكيان cloudVideoUrl...
+const SQL_FILES = [
+  'add-content-search.sql',
+  'add-playback-events.sql',
+  'add-thumbnail-variants.sql',
+  'add-thumbhash.sql',
+  'add-content-playable.sql',
+];
+
+/**
+ * تطبّق ملفات src/migrations/*.sql على الجداول التي أنشأها InitialSchema (أو synchronize في قاعدة قديمة)،
+ * وما بعدها ترحيلات TypeORM فقط.
+ */
+export class HandRunSqlFiles1792300000000 implements MigrationInterface {
+  name = 'HandRunSqlFiles1792300000000';
+
+  public async up(queryRunner: QueryRunner): Promise<void> {
+    for (const file of SQL_FILES) {
+      await queryRunner.query(fs.readFileSync(path.join(__dirname, file), 'utf8'));
+    }
+  }
+
+  public async down(): Promise<void> {
+    // تغييرات هذه الملفات جزء من المخطط الحالي ولا تُسحب
+  }
+}
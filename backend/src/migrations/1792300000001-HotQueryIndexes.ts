@@ -0,0 +1,83 @@
+import { MigrationInterface, QueryRunner } from 'typeorm';
+
+// فهرس لكل شكل استعلام متكرر. كل الفهارس تصاعدية، بما فيها فهرسا الترقيم في add-content-playable.sql،
+// وفهرس btree يُقرأ عكسياً لترتيب تنازلي في كل الأعمدة، لذلك تطابق تعريفات @Index في الكيانات حرفياً
+// ويختبر synchronize (في التطوير و explain-hot-queries) نفس شكل الإنتاج.
+// CONCURRENTLY حتى لا يُقفل الجدول للكتابة أثناء البناء، ولذلك يعمل الترحيل خارج transaction.
+//
+// viewCount و downloadCount يتغيران في كل تفريغ لـ ContentCounterBuffer، وكل فهرس يحويهما يجعل
+// التحديث non-HOT ويضيف إدخالاً في الفهرس لكل صف. لذلك فهرس واحد فقط عليهما (idx_content_trending):
+// - /content/recommended يمشي نفس الفهرس ويرتّب downloadCount بـ incremental sort
+// - الأكثر مشاهدة/تحميلاً في لوحة التحليلات نادر وخلف المصادقة، فيكفيه top-N sort
+// وتحديث downloadCount وحده يبقى HOT.
+const INDEXES: { name: string; definition: string }[] = [
+  // GET /content/trending: "isActive" AND is_playable ORDER BY "viewCount" DESC, "createdAt" DESC
+  // GET /content/recommended: ... AND "viewCount" > 10 ORDER BY "viewCount" DESC, "downloadCount" DESC
+  {
+    name: 'idx_content_trending',
+    definition: 'content ("viewCount", "createdAt") WHERE "isActive" AND is_playable',
+  },
+  // GET /performers/:id/content: performer_id = $1 AND "isActive" ORDER BY "createdAt" DESC, id DESC
+  // ويخدم أيضاً حذف المؤدي (performer_id في أوله)
+  {
+    name: 'idx_content_performer_active',
+    definition: 'content (performer_id, "createdAt", id) WHERE "isActive"',
+  },
+  // GET /performers: "isActive" ORDER BY "createdAt" DESC
+  {
+    name: 'idx_performers_active_created',
+    definition: 'performers ("createdAt") WHERE "isActive"',
+  },
+  // تعليقات المحتوى الأحدث أولاً
+  {
+    name: 'idx_comments_content_created',
+    definition: 'comments ("contentId", "createdAt")',
+  },
+  // عدد الإعجابات لكل محتوى (الفهرس الفريد يبدأ بـ user_id)
+  {
+    name: 'idx_likes_content',
+    definition: 'likes (content_id)',
+  },
+  // محتوى القسم (المفتاح الأساسي يبدأ بـ content_id)
+  {
+    name: 'idx_content_categories_category',
+    definition: 'content_categories (category_id)',
+  },
+];
+
+// قواعد شُغّل فيها add-content-playable.sql يدوياً حين كان يُنشئ فهرسي الترقيم بـ DESC
+const FEED_INDEXES: { name: string; definition: string }[] = [
+  {
+    name: 'idx_content_playable_feed',
+    definition: 'content ("createdAt", id) WHERE "isActive" AND is_playable',
+  },
+  {
+    name: 'idx_content_playable_performer_feed',
+    definition: 'content (performer_id, "createdAt", id) WHERE "isActive" AND is_playable',
+  },
+];
+
+export class HotQueryIndexes1792300000001 implements MigrationInterface {
+  name = 'HotQueryIndexes1792300000001';
+  transaction = false;
+
+  public async up(queryRunner: QueryRunner): Promise<void> {
+    for (const index of FEED_INDEXES) {
+      const [existing] = await queryRunner.query('SELECT indexdef FROM pg_indexes WHERE indexname = $1', [index.name]);
+      if (existing && /\bDESC\b/.test(existing.indexdef)) {
+        await queryRunner.query(`DROP INDEX CONCURRENTLY IF EXISTS "${index.name}"`);
+        await queryRunner.query(`CREATE INDEX CONCURRENTLY "${index.name}" ON ${index.definition}`);
+      }
+    }
+    for (const index of INDEXES) {
+      await queryRunner.query(`CREATE INDEX CONCURRENTLY IF NOT EXISTS "${index.name}" ON ${index.definition}`);
+    }
+    await queryRunner.query('ANALYZE content, performers, comments, likes, content_categories');
+  }
+
+  public async down(queryRunner: QueryRunner): Promise<void> {
+    for (const index of [...INDEXES].reverse()) {
+      await queryRunner.query(`DROP INDEX CONCURRENTLY IF EXISTS "${index.name}"`);
+    }
+  }
+}
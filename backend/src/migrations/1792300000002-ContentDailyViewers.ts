@@ -0,0 +1,24 @@
+import { MigrationInterface, QueryRunner } from 'typeorm';
+
+// مخططات HyperLogLog اليومية للمشاهدين المختلفين (ContentDailyViewers)
+export class ContentDailyViewers1792300000002 implements MigrationInterface {
+  name = 'ContentDailyViewers1792300000002';
+
+  public async up(queryRunner: QueryRunner): Promise<void> {
+    await queryRunner.query(`
+      CREATE TABLE IF NOT EXISTS content_daily_viewers (
+        content_id uuid NOT NULL,
+        day date NOT NULL,
+        registers bytea NOT NULL,
+        PRIMARY KEY (content_id, day)
+      )
+    `);
+    await queryRunner.query(
+      'CREATE INDEX IF NOT EXISTS idx_content_daily_viewers_day ON content_daily_viewers (day)',
+    );
+  }
+
+  public async down(queryRunner: QueryRunner): Promise<void> {
+    await queryRunner.query('DROP TABLE IF EXISTS content_daily_viewers');
+  }
+}
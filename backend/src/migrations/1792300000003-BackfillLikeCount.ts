@@ -0,0 +1,22 @@
+import { MigrationInterface, QueryRunner } from 'typeorm';
+
+// content."likeCount" لم يكن يُحدَّث قبل أن يتولاه LikesService.toggleLike؛ نملؤه مرة واحدة من likes
+export class BackfillLikeCount1792300000003 implements MigrationInterface {
+  name = 'BackfillLikeCount1792300000003';
+
+  public async up(queryRunner: QueryRunner): Promise<void> {
+    await queryRunner.query(`
+      UPDATE content c
+      SET "likeCount" = coalesce(l.total, 0)
+      FROM content c2
+      LEFT JOIN (
+        SELECT content_id, count(*)::int AS total FROM likes GROUP BY content_id
+      ) l ON l.content_id = c2.id
+      WHERE c.id = c2.id AND c."likeCount" IS DISTINCT FROM coalesce(l.total, 0)
+    `);
+  }
+
+  public async down(): Promise<void> {
+    // لا شيء: العدد المملوء صحيح مع الكود القديم والجديد
+  }
+}
@@ -0,0 +1,24 @@
+-- قابلية التشغيل محسوبة في قاعدة البيانات بدلاً من تصفية الصفوف في JavaScript بعد الترقيم،
+-- مع فهارس جزئية للترقيم بالمؤشر (createdAt DESC, id DESC): تصاعدية كتعريفات @Index في الكيان،
+-- وتُقرأ عكسياً للترتيب التنازلي
+-- يجب أن يبقى التعبير مطابقاً لـ PLAYABLE_SQL في src/modules/content/content.entity.ts
+
+ALTER TABLE content
+ADD COLUMN IF NOT EXISTS is_playable BOOLEAN GENERATED ALWAYS AS (
+  (type = 'video'
+    AND COALESCE("cloudHlsUrl", "hlsUrl") IS NOT NULL
+    AND COALESCE("cloudThumbnailUrl", "thumbnailUrl") IS NOT NULL)
+  OR (type = 'audio' AND COALESCE("cloudAudioUrl", "audioUrl") IS NOT NULL)
+) STORED;
+
+-- كل المحتوى: GET /content?after=<createdAt,id>
+CREATE INDEX IF NOT EXISTS idx_content_playable_feed
+  ON content ("createdAt", id)
+  WHERE "isActive" AND is_playable;
+
+-- محتوى مؤدٍ واحد: GET /content?performerId=...&after=...
+CREATE INDEX IF NOT EXISTS idx_content_playable_performer_feed
+  ON content (performer_id, "createdAt", id)
+  WHERE "isActive" AND is_playable;
+
+ANALYZE content;
@@ -0,0 +1,77 @@
+-- بحث نصي كامل بالعربية على المحتوى (العنوان، الوصف، اسم المؤدي)
+-- يجب أن تبقى قواعد التطبيع مطابقة لـ src/modules/content/arabic-normalizer.ts
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- تطبيع النص العربي: حذف التشكيل والتطويل وتوحيد الألف والياء والتاء المربوطة
+CREATE OR REPLACE FUNCTION heritage_normalize_ar(input text)
+RETURNS text
+LANGUAGE sql
+IMMUTABLE
+PARALLEL SAFE
+AS $$
+  SELECT lower(
+    translate(
+      regexp_replace(coalesce(input, ''), '[ً-ٰٟـ]', '', 'g'),
+      'أإآٱىئؤةیک',
+      'ااااييوهيك'
+    )
+  )
+$$;
+
+ALTER TABLE content
+ADD COLUMN IF NOT EXISTS "searchText" text,
+ADD COLUMN IF NOT EXISTS "searchVector" tsvector;
+
+-- يعيد حساب حقول البحث لكل صف محتوى (العنوان أعلى وزناً من المؤدي ثم الوصف)
+CREATE OR REPLACE FUNCTION heritage_content_search_update()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  performer_names text;
+BEGIN
+  SELECT concat_ws(' ', p.name, p."shortName", p."fullName")
+    INTO performer_names
+    FROM performers p
+   WHERE p.id = NEW.performer_id;
+
+  NEW."searchText" := heritage_normalize_ar(
+    concat_ws(' ', NEW.title, performer_names, NEW.description)
+  );
+  NEW."searchVector" :=
+    setweight(to_tsvector('simple', heritage_normalize_ar(NEW.title)), 'A') ||
+    setweight(to_tsvector('simple', heritage_normalize_ar(performer_names)), 'B') ||
+    setweight(to_tsvector('simple', heritage_normalize_ar(NEW.description)), 'C');
+  RETURN NEW;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS trg_content_search_update ON content;
+CREATE TRIGGER trg_content_search_update
+  BEFORE INSERT OR UPDATE OF title, description, performer_id ON content
+  FOR EACH ROW EXECUTE FUNCTION heritage_content_search_update();
+
+-- تغيير اسم المؤدي يعيد فهرسة محتواه
+CREATE OR REPLACE FUNCTION heritage_performer_search_update()
+RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  UPDATE content SET title = title WHERE performer_id = NEW.id;
+  RETURN NULL;
+END;
+$$;
+
+DROP TRIGGER IF EXISTS trg_performer_search_update ON performers;
+CREATE TRIGGER trg_performer_search_update
+  AFTER UPDATE OF name, "shortName", "fullName" ON performers
+  FOR EACH ROW EXECUTE FUNCTION heritage_performer_search_update();
+
+-- تعبئة البيانات الحالية
+UPDATE content SET title = title;
+
+CREATE INDEX IF NOT EXISTS idx_content_search_vector ON content USING GIN ("searchVector");
+CREATE INDEX IF NOT EXISTS idx_content_search_trgm ON content USING GIN ("searchText" gin_trgm_ops);
+
+ANALYZE content;
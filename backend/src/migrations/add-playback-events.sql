@@ -0,0 +1,24 @@
+-- قياسات جودة التشغيل من التطبيق (زمن أول إطار، التقطيع، تبديل الجودة، الأخطاء، زمن المشاهدة)
+DO $$ BEGIN
+  CREATE TYPE playback_events_type_enum AS ENUM ('start', 'first_frame', 'stall', 'bitrate_switch', 'error', 'end');
+EXCEPTION
+  WHEN duplicate_object THEN NULL;
+END $$;
+
+CREATE TABLE IF NOT EXISTS playback_events (
+  id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+  "sessionId" VARCHAR(64) NOT NULL,
+  content_id VARCHAR(64) NOT NULL,
+  type playback_events_type_enum NOT NULL,
+  "occurredAt" TIMESTAMPTZ NOT NULL,
+  "positionMs" BIGINT NOT NULL DEFAULT 0,
+  "durationMs" INT,
+  bitrate INT,
+  "errorCode" VARCHAR(64),
+  "appVersion" VARCHAR(32),
+  "receivedAt" TIMESTAMP NOT NULL DEFAULT now()
+);
+
+-- تقارير الفترات الزمنية وتجميع الجلسات
+CREATE INDEX IF NOT EXISTS idx_playback_events_occurred_at ON playback_events ("occurredAt");
+CREATE INDEX IF NOT EXISTS idx_playback_events_session ON playback_events ("sessionId");
@@ -0,0 +1,9 @@
+-- ThumbHash (base64) للصورة المصغرة وصورة المؤدي، يعرضه العميل ضبابياً قبل تحميل الصورة
+ALTER TABLE content
+ADD COLUMN IF NOT EXISTS "thumbHash" VARCHAR;
+
+ALTER TABLE performers
+ADD COLUMN IF NOT EXISTS "thumbHash" VARCHAR;
+
+COMMENT ON COLUMN content."thumbHash" IS 'ThumbHash of the thumbnail, base64';
+COMMENT ON COLUMN performers."thumbHash" IS 'ThumbHash of imageUrl, base64';
@@ -0,0 +1,5 @@
+-- أحجام WebP للصورة المصغرة (العرض ← الرابط)، يختار العميل أصغرها المناسب
+ALTER TABLE content
+ADD COLUMN IF NOT EXISTS thumbnails JSONB;
+
+COMMENT ON COLUMN content.thumbnails IS 'WebP thumbnail variants keyed by pixel width';
@@ -1,4 +1,4 @@
-import { Controller, Get, Query, UseGuards } from '@nestjs/common';
+import { Controller, Get, Query, UseGuards, ParseUUIDPipe } from '@nestjs/common';
 import { AnalyticsService } from './analytics.service';
 import { JwtAuthGuard } from '../auth/guards/jwt-auth.guard';
 
@@ -16,4 +16,15 @@ export class AnalyticsController {
   getPopular(@Query('limit') limit = 10) {
     return this.analyticsService.getPopular(+limit);
   }
+
+  @Get('qoe')
+  getPlaybackQoe(@Query('days') days = 7, @Query('contentId') contentId?: string) {
+    return this.analyticsService.getPlaybackQoe(Math.min(Math.max(+days || 7, 1), 90), contentId);
+  }
+
+  // days=7 أسبوعياً، days=30 شهرياً
+  @Get('unique-viewers')
+  getUniqueViewers(@Query('contentId', ParseUUIDPipe) contentId: string, @Query('days') days = 7) {
+    return this.analyticsService.getUniqueViewers(contentId, Math.min(Math.max(+days || 7, 1), 90));
+  }
 }
@@ -3,10 +3,15 @@ import { TypeOrmModule } from '@nestjs/typeorm';
 import { Content } from '../content/content.entity';
 import { AnalyticsController } from './analytics.controller';
 import { AnalyticsService } from './analytics.service';
+import { PlaybackTelemetryController } from './playback-telemetry.controller';
+import { PlaybackEvent } from './playback-event.entity';
+import { ContentDailyViewers } from './content-daily-viewers.entity';
+import { UniqueViewersBuffer } from './unique-viewers.buffer';
 
 @Module({
-  imports: [TypeOrmModule.forFeature([Content])],
-  controllers: [AnalyticsController],
-  providers: [AnalyticsService],
+  imports: [TypeOrmModule.forFeature([Content, PlaybackEvent, ContentDailyViewers])],
+  controllers: [AnalyticsController, PlaybackTelemetryController],
+  providers: [AnalyticsService, UniqueViewersBuffer],
+  exports: [UniqueViewersBuffer],
 })
 export class AnalyticsModule {}
@@ -2,12 +2,23 @@ import { Injectable } from '@nestjs/common';
 import { InjectRepository } from '@nestjs/typeorm';
 import { Repository } from 'typeorm';
 import { Content } from '../content/content.entity';
+import { PlaybackEvent } from './playback-event.entity';
+import { PlaybackEventBatchDto } from './dto/playback-events.dto';
+import { ContentDailyViewers } from './content-daily-viewers.entity';
+import { createSketch, estimateCardinality, mergeSketches } from './hyperloglog';
+
+// ساعة الجهاز قد تكون خاطئة؛ ما يتجاوز هذا الفارق يُسجَّل بوقت الاستلام
+const MAX_CLOCK_SKEW_MS = 24 * 60 * 60 * 1000;
 
 @Injectable()
 export class AnalyticsService {
   constructor(
     @InjectRepository(Content)
     private contentRepository: Repository<Content>,
+    @InjectRepository(PlaybackEvent)
+    private playbackEventRepository: Repository<PlaybackEvent>,
+    @InjectRepository(ContentDailyViewers)
+    private dailyViewersRepository: Repository<ContentDailyViewers>,
   ) {}
 
   async getTrending(limit = 10) {
@@ -27,4 +38,94 @@ export class AnalyticsService {
       relations: ['performer'],
     });
   }
+
+  // دفعة واحدة في INSERT واحد؛ حجم الدفعة محدود في الـ DTO
+  async ingestPlaybackEvents(batch: PlaybackEventBatchDto) {
+    if (batch.events.length === 0) {
+      return { accepted: 0 };
+    }
+
+    const now = Date.now();
+    const rows = batch.events.map((event) => {
+      const skewed = Math.abs(event.occurredAt - now) > MAX_CLOCK_SKEW_MS;
+      return this.playbackEventRepository.create({
+        sessionId: event.sessionId,
+        contentId: event.contentId,
+        type: event.type,
+        occurredAt: new Date(skewed ? now : event.occurredAt),
+        positionMs: event.positionMs ?? 0,
+        durationMs: event.durationMs ?? null,
+        bitrate: event.bitrate ?? null,
+        errorCode: event.errorCode ?? null,
+        appVersion: batch.appVersion ?? null,
+      });
+    });
+    await this.playbackEventRepository.insert(rows);
+
+    return { accepted: rows.length };
+  }
+
+  /**
+   * مؤشرات جودة التشغيل لآخر days يوماً: زمن أول إطار (p50/p95)، نسبة التقطيع
+   * (وقت الانتظار إلى وقت المشاهدة)، نسبة الجلسات الفاشلة، وتبديلات الجودة.
+   * contentId اختياري لقياس محتوى واحد.
+   */
+  async getPlaybackQoe(days = 7, contentId?: string) {
+    const [summary] = await this.playbackEventRepository.query(
+      `
+      WITH sessions AS (
+        SELECT
+          "sessionId",
+          max("durationMs") FILTER (WHERE type = 'first_frame') AS ttff_ms,
+          count(*) FILTER (WHERE type = 'stall') AS stalls,
+          coalesce(sum("durationMs") FILTER (WHERE type = 'stall'), 0) AS stall_ms,
+          coalesce(sum("durationMs") FILTER (WHERE type = 'end'), 0) AS watch_ms,
+          count(*) FILTER (WHERE type = 'bitrate_switch') AS switches,
+          bool_or(type = 'error') AS failed
+        FROM playback_events
+        WHERE "occurredAt" >= now() - make_interval(days => $1)
+          AND ($2::varchar IS NULL OR content_id = $2)
+        GROUP BY "sessionId"
+      )
+      SELECT
+        count(*)::int AS "sessions",
+        percentile_cont(0.5) WITHIN GROUP (ORDER BY ttff_ms) AS "timeToFirstFrameP50Ms",
+        percentile_cont(0.95) WITHIN GROUP (ORDER BY ttff_ms) AS "timeToFirstFrameP95Ms",
+        sum(stall_ms)::float / nullif(sum(watch_ms) + sum(stall_ms), 0) AS "rebufferRatio",
+        avg(stalls)::float AS "stallsPerSession",
+        avg(switches)::float AS "bitrateSwitchesPerSession",
+        avg(failed::int)::float AS "failureRate",
+        sum(watch_ms)::bigint AS "watchTimeMs"
+      FROM sessions
+      `,
+      [days, contentId ?? null],
+    );
+
+    return { days, contentId: contentId ?? null, ...summary };
+  }
+
+  /**
+   * المشاهدون المختلفون لمحتوى في آخر days يوماً (اليوم الحالي ضمنها): دمج مخططات الأيام
+   * يعطي عدد من شاهد مرة واحدة على الأقل في النافذة كلها، لا مجموع الأيام. يتأخر عن
+   * الواقع حتى UNIQUE_VIEWERS_FLUSH_MS لأن آخر المشاهدات ما زالت في الذاكرة.
+   */
+  async getUniqueViewers(contentId: string, days = 7) {
+    const rows: { day: string; registers: Buffer }[] = await this.dailyViewersRepository.query(
+      `
+      SELECT day::text AS day, registers
+      FROM content_daily_viewers
+      WHERE content_id = $1 AND day > (now() AT TIME ZONE 'UTC')::date - $2::int
+      ORDER BY day
+      `,
+      [contentId, days],
+    );
+
+    const window = createSketch();
+    const daily = rows.map((row) => {
+      mergeSketches(window, row.registers);
+      return { day: row.day, uniqueViewers: estimateCardinality(row.registers) };
+    });
+
+    return { contentId, days, uniqueViewers: estimateCardinality(window), daily };
+  }
 }
@@ -0,0 +1,17 @@
+import { Entity, PrimaryColumn, Column, Index } from 'typeorm';
+
+// مخطط HyperLogLog للمشاهدين المختلفين لمحتوى واحد في يوم واحد (UTC)؛ انظر hyperloglog.ts
+@Entity('content_daily_viewers')
+@Index('idx_content_daily_viewers_day', ['day'])
+export class ContentDailyViewers {
+  // بدون علاقة، مثل playback_events: حذف المحتوى لا يمحو تاريخه
+  @PrimaryColumn({ name: 'content_id', type: 'uuid' })
+  contentId: string;
+
+  @PrimaryColumn({ type: 'date' })
+  day: string;
+
+  // 4096 بايت، أغلبها أصفار للمحتوى قليل المشاهدة فيضغطها TOAST
+  @Column({ type: 'bytea' })
+  registers: Buffer;
+}
@@ -0,0 +1,66 @@
+import { Type } from 'class-transformer';
+import {
+  ArrayMaxSize,
+  IsArray,
+  IsEnum,
+  IsInt,
+  IsOptional,
+  IsString,
+  MaxLength,
+  Min,
+  ValidateNested,
+} from 'class-validator';
+import { PlaybackEventType } from '../playback-event.entity';
+
+export const MAX_EVENTS_PER_BATCH = 500;
+
+export class PlaybackEventDto {
+  @IsString()
+  @MaxLength(64)
+  sessionId: string;
+
+  @IsString()
+  @MaxLength(64)
+  contentId: string;
+
+  @IsEnum(PlaybackEventType)
+  type: PlaybackEventType;
+
+  // epoch millis على ساعة الجهاز
+  @IsInt()
+  @Min(0)
+  occurredAt: number;
+
+  @IsInt()
+  @Min(0)
+  @IsOptional()
+  positionMs?: number;
+
+  @IsInt()
+  @Min(0)
+  @IsOptional()
+  durationMs?: number;
+
+  @IsInt()
+  @Min(0)
+  @IsOptional()
+  bitrate?: number;
+
+  @IsString()
+  @MaxLength(64)
+  @IsOptional()
+  errorCode?: string;
+}
+
+export class PlaybackEventBatchDto {
+  @IsString()
+  @MaxLength(32)
+  @IsOptional()
+  appVersion?: string;
+
+  @IsArray()
+  @ArrayMaxSize(MAX_EVENTS_PER_BATCH)
+  @ValidateNested({ each: true })
+  @Type(() => PlaybackEventDto)
+  events: PlaybackEventDto[];
+}
@@ -0,0 +1,43 @@
+import { addToSketch, createSketch, estimateCardinality, mergeSketches } from './hyperloglog';
+
+// الخطأ المعياري ≈ 1.6%؛ ثلاثة أضعافه يغطي أي مفاتيح عادية دون أن يمرّ خطأ حقيقي في الحساب
+const TOLERANCE = 3 * 0.0163;
+
+function sketchOf(keys: string[]) {
+  const sketch = createSketch();
+  keys.forEach((key) => addToSketch(sketch, key));
+  return sketch;
+}
+
+function viewers(from: number, to: number) {
+  return Array.from({ length: to - from }, (_, i) => `device:${from + i}`);
+}
+
+describe('HyperLogLog', () => {
+  it('estimates an empty sketch as zero', () => {
+    expect(estimateCardinality(createSketch())).toBe(0);
+  });
+
+  it.each([10, 100, 1000, 10000, 100000])('estimates %d distinct viewers', (count) => {
+    const estimate = estimateCardinality(sketchOf(viewers(0, count)));
+    expect(Math.abs(estimate - count) / count).toBeLessThanOrEqual(TOLERANCE);
+  });
+
+  it('ignores repeated views from the same viewer', () => {
+    const once = sketchOf(viewers(0, 5000));
+    const repeated = sketchOf([...viewers(0, 5000), ...viewers(0, 5000), ...viewers(0, 5000)]);
+    expect(Buffer.from(repeated).equals(Buffer.from(once))).toBe(true);
+  });
+
+  it('merges daily sketches into the union of their viewers', () => {
+    // ثلاثة أيام متداخلة: 0-20000، 10000-30000، 25000-40000 → 40000 مختلف
+    const week = createSketch();
+    [viewers(0, 20000), viewers(10000, 30000), viewers(25000, 40000)]
+      .map(sketchOf)
+      .forEach((day) => mergeSketches(week, day));
+
+    const estimate = estimateCardinality(week);
+    expect(Math.abs(estimate - 40000) / 40000).toBeLessThanOrEqual(TOLERANCE);
+    expect(Buffer.from(week).equals(sketchOf(viewers(0, 40000)))).toBe(true);
+  });
+});
@@ -0,0 +1,51 @@
+import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, Index } from 'typeorm';
+
+export enum PlaybackEventType {
+  START = 'start',
+  FIRST_FRAME = 'first_frame',
+  STALL = 'stall',
+  BITRATE_SWITCH = 'bitrate_switch',
+  ERROR = 'error',
+  END = 'end',
+}
+
+// حدث جودة تشغيل واحد كما أرسله التطبيق؛ تُجمَّع الجلسات عند الاستعلام
+@Entity('playback_events')
+@Index(['occurredAt'])
+@Index(['sessionId'])
+export class PlaybackEvent {
+  @PrimaryGeneratedColumn('uuid')
+  id: string;
+
+  @Column({ type: 'varchar', length: 64 })
+  sessionId: string;
+
+  // بدون علاقة: حذف المحتوى لا يجب أن يمحو تاريخ القياسات
+  @Column({ name: 'content_id', type: 'varchar', length: 64 })
+  contentId: string;
+
+  @Column({ type: 'enum', enum: PlaybackEventType })
+  type: PlaybackEventType;
+
+  @Column({ type: 'timestamptz' })
+  occurredAt: Date;
+
+  @Column({ type: 'bigint', default: 0 })
+  positionMs: number;
+
+  // مدة الحدث: زمن أول إطار، طول التقطيع، أو زمن المشاهدة عند النهاية
+  @Column({ type: 'int', nullable: true })
+  durationMs: number;
+
+  @Column({ type: 'int', nullable: true })
+  bitrate: number;
+
+  @Column({ type: 'varchar', length: 64, nullable: true })
+  errorCode: string;
+
+  @Column({ type: 'varchar', length: 32, nullable: true })
+  appVersion: string;
+
+  @CreateDateColumn()
+  receivedAt: Date;
+}
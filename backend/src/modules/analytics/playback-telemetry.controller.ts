@@ -0,0 +1,16 @@
+import { Body, Controller, HttpCode, Post } from '@nestjs/common';
+import { AnalyticsService } from './analytics.service';
+import { PlaybackEventBatchDto } from './dto/playback-events.dto';
+
+// استقبال قياسات التشغيل من التطبيقات؛ بدون مصادقة لأن المستمعين مجهولون.
+// الدفعات تصل مضغوطة (Content-Encoding: gzip) ويفكّها body-parser تلقائياً.
+@Controller('analytics/playback')
+export class PlaybackTelemetryController {
+  constructor(private readonly analyticsService: AnalyticsService) {}
+
+  @Post('events')
+  @HttpCode(202)
+  ingest(@Body() batch: PlaybackEventBatchDto) {
+    return this.analyticsService.ingestPlaybackEvents(batch);
+  }
+}
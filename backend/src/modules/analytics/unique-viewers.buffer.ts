@@ -0,0 +1,162 @@
+import { BeforeApplicationShutdown, Injectable, Logger, OnModuleInit } from '@nestjs/common';
+import { InjectDataSource } from '@nestjs/typeorm';
+import { DataSource } from 'typeorm';
+import { addToSketch, createSketch, mergeSketches } from './hyperloglog';
+
+interface PendingSketch {
+  contentId: string;
+  day: string;
+  sketch: Buffer;
+}
+
+// كل مخطط 4 KB؛ 100 مخطط ≈ 400 KB لكل استعلام
+const SKETCHES_PER_WRITE = 100;
+
+/**
+ * يجمع المشاهدين المختلفين لكل (محتوى، يوم) في مخطط HyperLogLog في الذاكرة، ويدمجه مع
+ * المخزَّن في content_daily_viewers كل UNIQUE_VIEWERS_FLUSH_MS. نفس المشاهد يضبط نفس السجل،
+ * فتكرار POST /view لا يغيّر التقدير.
+ *
+ * الدمج (أكبر قيمة لكل سجل) يتم هنا لا في Postgres: صف فارغ بـ ON CONFLICT DO NOTHING،
+ * ثم SELECT ... FOR UPDATE ودمج ثم UPDATE في نفس الـ transaction، فلا تضيع كتابة نسخة أخرى.
+ */
+@Injectable()
+export class UniqueViewersBuffer implements OnModuleInit, BeforeApplicationShutdown {
+  private readonly logger = new Logger(UniqueViewersBuffer.name);
+  private readonly flushIntervalMs = Number(process.env.UNIQUE_VIEWERS_FLUSH_MS || 60000);
+
+  private pending = new Map<string, PendingSketch>();
+  private flushing: Promise<void> | null = null;
+  private timer: NodeJS.Timeout;
+
+  constructor(@InjectDataSource() private readonly dataSource: DataSource) {}
+
+  onModuleInit() {
+    this.timer = setInterval(() => this.flush(), this.flushIntervalMs);
+    this.timer.unref();
+  }
+
+  // قبل أن يغلق TypeOrmCoreModule الـ DataSource (انظر ContentCounterBuffer)
+  async beforeApplicationShutdown() {
+    clearInterval(this.timer);
+    await this.flush();
+    if (this.pending.size > 0) {
+      await this.flush();
+    }
+  }
+
+  /**
+   * viewerKey: معرف المستخدم أو الجهاز؛ يُمرَّر عبر SHA-1 ولا يُخزَّن
+   */
+  add(contentId: string, viewerKey: string) {
+    const day = new Date().toISOString().slice(0, 10);
+    const key = `${contentId}|${day}`;
+    let pending = this.pending.get(key);
+    if (!pending) {
+      pending = { contentId, day, sketch: createSketch() };
+      this.pending.set(key, pending);
+    }
+    addToSketch(pending.sketch, viewerKey);
+  }
+
+  flush(): Promise<void> {
+    if (!this.flushing) {
+      this.flushing = this.write().finally(() => {
+        this.flushing = null;
+      });
+    }
+    return this.flushing;
+  }
+
+  private async write() {
+    if (this.pending.size === 0) {
+      return;
+    }
+
+    const batch = this.pending;
+    this.pending = new Map();
+
+    // ترتيب ثابت للأقفال بين النسخ
+    const sketches = [...batch.entries()]
+      .sort(([a], [b]) => (a < b ? -1 : a > b ? 1 : 0))
+      .map(([, sketch]) => sketch);
+
+    for (let i = 0; i < sketches.length; i += SKETCHES_PER_WRITE) {
+      const chunk = sketches.slice(i, i + SKETCHES_PER_WRITE);
+      try {
+        await this.merge(chunk);
+      } catch (error) {
+        // نعيد ما لم يُكتب؛ الدمج لاحقاً مع ما يصل بعده لا يغيّر النتيجة
+        for (const sketch of sketches.slice(i)) {
+          this.requeue(sketch);
+        }
+        this.logger.error(`❌ فشل حفظ مخططات المشاهدين (${sketches.length - i}): ${error.message}`);
+        return;
+      }
+    }
+  }
+
+  private merge(chunk: PendingSketch[]) {
+    return this.dataSource.transaction(async (manager) => {
+      const keys: any[] = [];
+      const keyValues = chunk.map(({ contentId, day }) => {
+        keys.push(contentId, day);
+        return `($${keys.length - 1}::uuid, $${keys.length}::date)`;
+      });
+
+      await manager.query(
+        `
+        INSERT INTO content_daily_viewers (content_id, day, registers)
+        SELECT k.content_id, k.day, ''::bytea
+        FROM (VALUES ${keyValues.join(', ')}) AS k(content_id, day)
+        ON CONFLICT (content_id, day) DO NOTHING
+        `,
+        keys,
+      );
+
+      const stored: { content_id: string; day: string; registers: Buffer }[] = await manager.query(
+        `
+        SELECT t.content_id, t.day::text AS day, t.registers
+        FROM content_daily_viewers t
+        JOIN (VALUES ${keyValues.join(', ')}) AS k(content_id, day)
+          ON t.content_id = k.content_id AND t.day = k.day
+        ORDER BY t.content_id, t.day
+        FOR UPDATE OF t
+        `,
+        keys,
+      );
+      const storedByKey = new Map(stored.map((row) => [`${row.content_id}|${row.day}`, row.registers]));
+
+      const params: any[] = [];
+      const values = chunk.map(({ contentId, day, sketch }) => {
+        const existing = storedByKey.get(`${contentId}|${day}`);
+        // الصف الجديد فارغ ('')؛ وإلا ندمج فيه مخطط الذاكرة
+        const merged = existing && existing.length === sketch.length
+          ? mergeSketches(Buffer.from(existing), sketch)
+          : sketch;
+        params.push(contentId, day, merged);
+        return `($${params.length - 2}::uuid, $${params.length - 1}::date, $${params.length}::bytea)`;
+      });
+
+      await manager.query(
+        `
+        UPDATE content_daily_viewers t
+        SET registers = v.registers
+        FROM (VALUES ${values.join(', ')}) AS v(content_id, day, registers)
+        WHERE t.content_id = v.content_id AND t.day = v.day
+        `,
+        params,
+      );
+    });
+  }
+
+  private requeue(pending: PendingSketch) {
+    const key = `${pending.contentId}|${pending.day}`;
+    const existing = this.pending.get(key);
+    if (existing) {
+      mergeSketches(existing.sketch, pending.sketch);
+    } else {
+      this.pending.set(key, pending);
+    }
+  }
+}
@@ -1,22 +1,26 @@
-import { Controller, Get, Post, Put, Delete, Body, Param, Query, UseGuards } from '@nestjs/common';
+import { Controller, Get, Post, Put, Delete, Body, Param, Query, UseGuards, UseInterceptors } from '@nestjs/common';
 import { CategoriesService } from './categories.service';
 import { JwtAuthGuard } from '../auth/guards/jwt-auth.guard';
+import { ETagInterceptor } from '../../common/interceptors/etag.interceptor';
 
 @Controller('categories')
 export class CategoriesController {
   constructor(private readonly categoriesService: CategoriesService) {}
 
   @Get()
+  @UseInterceptors(ETagInterceptor)
   findAll() {
     return this.categoriesService.findAll();
   }
 
   @Get(':id')
+  @UseInterceptors(ETagInterceptor)
   findOne(@Param('id') id: string) {
     return this.categoriesService.findOne(id);
   }
 
   @Get(':id/content')
+  @UseInterceptors(ETagInterceptor)
   getCategoryContent(
     @Param('id') id: string,
     @Query('page') page = 1,
@@ -0,0 +1,39 @@
+// يجب أن تبقى مطابقة للدالة heritage_normalize_ar في src/migrations/add-content-search.sql
+const DIACRITICS = /[ً-ٰٟـ]/g;
+
+const LETTER_VARIANTS: Record<string, string> = {
+  'أ': 'ا',
+  'إ': 'ا',
+  'آ': 'ا',
+  'ٱ': 'ا',
+  'ى': 'ي',
+  'ئ': 'ي',
+  'ؤ': 'و',
+  'ة': 'ه',
+  'ی': 'ي',
+  'ک': 'ك',
+};
+
+const VARIANTS_PATTERN = new RegExp(`[${Object.keys(LETTER_VARIANTS).join('')}]`, 'g');
+
+/**
+ * تطبيع النص العربي للبحث: حذف التشكيل والتطويل وتوحيد أشكال الألف والياء والتاء المربوطة
+ */
+export function normalizeArabic(input: string): string {
+  return (input || '')
+    .replace(DIACRITICS, '')
+    .replace(VARIANTS_PATTERN, ch => LETTER_VARIANTS[ch])
+    .toLowerCase();
+}
+
+/**
+ * تحويل نص البحث إلى tsquery بمطابقة البادئة لكل كلمة (للبحث أثناء الكتابة)
+ */
+export function toPrefixTsQuery(normalized: string): string {
+  return normalized
+    .split(/\s+/)
+    .map(token => token.replace(/[^\p{L}\p{N}]/gu, ''))
+    .filter(Boolean)
+    .map(token => `${token}:*`)
+    .join(' & ');
+}
@@ -0,0 +1,144 @@
+import { BeforeApplicationShutdown, Injectable, Logger, OnModuleInit } from '@nestjs/common';
+import { InjectDataSource } from '@nestjs/typeorm';
+import { DataSource } from 'typeorm';
+
+interface PendingCounts {
+  views: number;
+  downloads: number;
+}
+
+// كل قيمة من VALUES تأخذ 3 معاملات؛ حد Postgres 65535 معاملاً للاستعلام الواحد
+const ROWS_PER_UPDATE = 1000;
+
+/**
+ * عدّادات المشاهدة والتحميل بأسلوب write-behind: كل /view و /download يزيد رقماً في الذاكرة،
+ * وكل COUNTER_FLUSH_MS (أو عند COUNTER_FLUSH_EVENTS حدثاً) تُكتب المجاميع في UPDATE واحد
+ * لكل دفعة من المحتويات. موجة مشاهدات على تسجيل مشهور تصبح تحديثاً واحداً للصف بدل
+ * آلاف التحديثات المتنافسة على قفله.
+ *
+ * التحديث لا يلمس updatedAt، لذلك تدخل العدّادات في بصمة ETagInterceptor.
+ *
+ * التحديث يضيف (viewCount + n) ولا يكتب قيمة مطلقة، فتعمل عدة نسخ من الخادم معاً دون تنسيق.
+ * عند الإيقاف (SIGTERM) تُفرَّغ العدّادات قبل إغلاق الاتصال؛ انهيار مفاجئ يفقد نافذة واحدة فقط.
+ */
+@Injectable()
+export class ContentCounterBuffer implements OnModuleInit, BeforeApplicationShutdown {
+  private readonly logger = new Logger(ContentCounterBuffer.name);
+  private readonly flushIntervalMs = Number(process.env.COUNTER_FLUSH_MS || 5000);
+  private readonly flushEvents = Number(process.env.COUNTER_FLUSH_EVENTS || 1000);
+
+  private pending = new Map<string, PendingCounts>();
+  private pendingEvents = 0;
+  private flushing: Promise<void> | null = null;
+  private timer: NodeJS.Timeout;
+
+  constructor(@InjectDataSource() private readonly dataSource: DataSource) {}
+
+  onModuleInit() {
+    this.timer = setInterval(() => this.flush(), this.flushIntervalMs);
+    // لا يمنع المؤقت إنهاء العملية؛ التفريغ الأخير يتم في beforeApplicationShutdown
+    this.timer.unref();
+  }
+
+  // before وليس on: TypeOrmCoreModule يغلق الـ DataSource في onApplicationShutdown الخاص به،
+  // وكل beforeApplicationShutdown ينتهي قبل أن يبدأ أي onApplicationShutdown
+  async beforeApplicationShutdown() {
+    clearInterval(this.timer);
+    await this.flush();
+    // ما وصل أثناء التفريغ السابق
+    if (this.pending.size > 0) {
+      await this.flush();
+    }
+  }
+
+  addView(id: string) {
+    this.add(id, 1, 0);
+  }
+
+  addDownload(id: string) {
+    this.add(id, 0, 1);
+  }
+
+  /**
+   * يكتب المجاميع المعلّقة؛ تفريغ واحد في كل مرة، والطلبات أثناءه تنتظره
+   */
+  flush(): Promise<void> {
+    if (!this.flushing) {
+      this.flushing = this.write().finally(() => {
+        this.flushing = null;
+      });
+    }
+    return this.flushing;
+  }
+
+  private add(id: string, views: number, downloads: number) {
+    const counts = this.pending.get(id);
+    if (counts) {
+      counts.views += views;
+      counts.downloads += downloads;
+    } else {
+      this.pending.set(id, { views, downloads });
+    }
+
+    if (++this.pendingEvents >= this.flushEvents) {
+      this.flush();
+    }
+  }
+
+  private async write() {
+    if (this.pending.size === 0) {
+      return;
+    }
+
+    const batch = this.pending;
+    this.pending = new Map();
+    this.pendingEvents = 0;
+
+    // ترتيب ثابت للمعرفات: نسختان تفرّغان معاً تقفلان الصفوف بنفس الترتيب فلا يحدث deadlock
+    const rows = [...batch.entries()].sort(([a], [b]) => (a < b ? -1 : a > b ? 1 : 0));
+
+    for (let i = 0; i < rows.length; i += ROWS_PER_UPDATE) {
+      const chunk = rows.slice(i, i + ROWS_PER_UPDATE);
+      try {
+        await this.update(chunk);
+      } catch (error) {
+        // نعيد ما لم يُكتب إلى العدّادات ليحاول التفريغ التالي
+        for (const [id, counts] of rows.slice(i)) {
+          this.merge(id, counts);
+        }
+        this.logger.error(`❌ فشل تفريغ عدّادات ${rows.length - i} محتوى: ${error.message}`);
+        return;
+      }
+    }
+  }
+
+  private update(rows: [string, PendingCounts][]) {
+    const params: any[] = [];
+    const values = rows.map(([id, counts]) => {
+      params.push(id, counts.views, counts.downloads);
+      const n = params.length;
+      return `($${n - 2}::uuid, $${n - 1}::int, $${n}::int)`;
+    });
+
+    return this.dataSource.query(
+      `
+      UPDATE content c
+      SET "viewCount" = c."viewCount" + v.views,
+          "downloadCount" = c."downloadCount" + v.downloads
+      FROM (VALUES ${values.join(', ')}) AS v(id, views, downloads)
+      WHERE c.id = v.id
+      `,
+      params,
+    );
+  }
+
+  private merge(id: string, counts: PendingCounts) {
+    const existing = this.pending.get(id);
+    if (existing) {
+      existing.views += counts.views;
+      existing.downloads += counts.downloads;
+    } else {
+      this.pending.set(id, { ...counts });
+    }
+  }
+}
@@ -0,0 +1,30 @@
+import { BadRequestException } from '@nestjs/common';
+
+const UUID_PATTERN = /^[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}$/i;
+const TIMESTAMP_PATTERN = /^\d{4}-\d{2}-\d{2}[ T]\d{2}:\d{2}:\d{2}(\.\d{1,6})?$/;
+
+/**
+ * موضع في ترتيب (createdAt DESC, id DESC). createdAt نصي كما يخرجه Postgres
+ * ("2024-05-01 10:00:00.123456") حتى لا تضيع أجزاء الميكروثانية عبر Date في JavaScript.
+ */
+export interface ContentCursor {
+  createdAt: string;
+  id: string;
+}
+
+export function encodeCursor(cursor: ContentCursor): string {
+  return `${cursor.createdAt},${cursor.id}`;
+}
+
+/**
+ * يقرأ ?after=<createdAt,id>
+ */
+export function parseCursor(after: string): ContentCursor {
+  const separator = after.lastIndexOf(',');
+  const createdAt = after.slice(0, separator).trim();
+  const id = after.slice(separator + 1).trim();
+  if (separator <= 0 || !UUID_PATTERN.test(id) || !TIMESTAMP_PATTERN.test(createdAt)) {
+    throw new BadRequestException('Invalid cursor, expected after=<createdAt,id>');
+  }
+  return { createdAt, id };
+}
@@ -1,36 +1,57 @@
-import { Controller, Get, Param, Query, Post, Put, Delete, Body, UseGuards } from '@nestjs/common';
+import { Controller, Get, Param, Query, Post, Put, Delete, Body, UseGuards, UseInterceptors, HttpCode, ParseUUIDPipe, Headers, Ip } from '@nestjs/common';
 import { ContentService } from './content.service';
 import { JwtAuthGuard } from '../auth/guards/jwt-auth.guard';
+import { ETagInterceptor } from '../../common/interceptors/etag.interceptor';
 
 @Controller('content')
 export class ContentController {
   constructor(private readonly contentService: ContentService) {}
 
   @Get()
+  @UseInterceptors(ETagInterceptor)
   findAll(
     @Query('page') page = 1,
     @Query('limit') limit = 20,
     @Query('performerId') performerId?: string,
+    @Query('search') search?: string,
+    @Query('after') after?: string,
   ) {
-    return this.contentService.findAll(+page, +limit, performerId);
+    if (search) {
+      return this.contentService.search(search, +page, Math.min(+limit, 50));
+    }
+    return this.contentService.findAll(+page, +limit, performerId, after);
+  }
+
+  @Get('search')
+  @UseInterceptors(ETagInterceptor)
+  search(
+    @Query('q') q = '',
+    @Query('page') page = 1,
+    @Query('limit') limit = 20,
+  ) {
+    return this.contentService.search(q, +page, Math.min(+limit, 50));
   }
 
   @Get('trending')
+  @UseInterceptors(ETagInterceptor)
   getTrending(@Query('limit') limit = 10) {
     return this.contentService.getTrending(+limit);
   }
 
   @Get('recommended')
+  @UseInterceptors(ETagInterceptor)
   getRecommended(@Query('limit') limit = 10) {
     return this.contentService.getRecommended(+limit);
   }
 
   @Get('recent')
+  @UseInterceptors(ETagInterceptor)
   getRecent(@Query('limit') limit = 10) {
     return this.contentService.getRecent(+limit);
   }
 
   @Get(':id')
+  @UseInterceptors(ETagInterceptor)
   findOne(@Param('id') id: string) {
     return this.contentService.findOne(id);
   }
@@ -53,13 +74,27 @@ export class ContentController {
     return this.contentService.remove(id);
   }
 
+  // 202: العدّاد يُكتب لاحقاً مع الدفعة التالية
   @Post(':id/view')
-  incrementView(@Param('id') id: string) {
-    return this.contentService.incrementViewCount(id);
+  @HttpCode(202)
+  incrementView(
+    @Param('id', ParseUUIDPipe) id: string,
+    @Headers('x-device-id') deviceId?: string,
+    @Headers('user-agent') userAgent = '',
+    @Headers('cf-connecting-ip') cfConnectingIp?: string,
+    @Ip() ip?: string,
+  ) {
+    // المشاهد المختلف: معرف الجهاز إن أرسله العميل، وإلا عنوان العميل مع المتصفح.
+    // خلف Cloudflare يأتي العنوان في CF-Connecting-IP، وخلف وكيل آخر من req.ip مع TRUST_PROXY
+    const viewerKey = deviceId
+      ? `device:${deviceId.slice(0, 64)}`
+      : `ip:${cfConnectingIp || ip}|${userAgent}`;
+    return this.contentService.incrementViewCount(id, viewerKey);
   }
 
   @Post(':id/download')
-  incrementDownload(@Param('id') id: string) {
+  @HttpCode(202)
+  incrementDownload(@Param('id', ParseUUIDPipe) id: string) {
     return this.contentService.incrementDownloadCount(id);
   }
 }
@@ -1,4 +1,4 @@
-import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, UpdateDateColumn, ManyToOne, ManyToMany, OneToMany, JoinColumn, JoinTable } from 'typeorm';
+import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, UpdateDateColumn, ManyToOne, ManyToMany, OneToMany, JoinColumn, JoinTable, Index } from 'typeorm';
 import { Performer } from '../performers/performers.entity';
 import { Category } from '../categories/category.entity';
 import { Comment } from '../comments/comment.entity';
@@ -8,7 +8,21 @@ export enum ContentType {
   AUDIO = 'audio',
 }
 
+// فيديو له HLS وصورة مصغرة، أو صوت له ملف (نفس التعبير في migrations/add-content-playable.sql)
+export const PLAYABLE_SQL = `(type = 'video'
+    AND COALESCE("cloudHlsUrl", "hlsUrl") IS NOT NULL
+    AND COALESCE("cloudThumbnailUrl", "thumbnailUrl") IS NOT NULL)
+  OR (type = 'audio' AND COALESCE("cloudAudioUrl", "audioUrl") IS NOT NULL)`;
+
+// فهارس الاستعلامات المتكررة (تُنشأ في الإنتاج بـ migrations/*-HotQueryIndexes.ts و add-content-playable.sql)؛
+// تصاعدية وتُقرأ عكسياً، وفهرس واحد فقط على viewCount حتى تبقى تحديثات العدّادات رخيصة
+const LISTED = '"isActive" AND is_playable';
+
 @Entity('content')
+@Index('idx_content_playable_feed', ['createdAt', 'id'], { where: LISTED })
+@Index('idx_content_playable_performer_feed', ['performerId', 'createdAt', 'id'], { where: LISTED })
+@Index('idx_content_trending', ['viewCount', 'createdAt'], { where: LISTED })
+@Index('idx_content_performer_active', ['performerId', 'createdAt', 'id'], { where: '"isActive"' })
 export class Content {
   @PrimaryGeneratedColumn('uuid')
   id: string;
@@ -34,6 +48,14 @@ export class Content {
   @Column({ nullable: true })
   thumbnailUrl: string;
 
+  // أحجام WebP للصورة المصغرة: العرض بالبكسل ← الرابط (مثال: { "160": ".../w160.webp" })
+  @Column({ type: 'jsonb', nullable: true })
+  thumbnails: Record<string, string>;
+
+  // ThumbHash للصورة المصغرة (base64، نحو 25 بايت) يعرضه العميل ضبابياً حتى تصل الصورة
+  @Column({ nullable: true })
+  thumbHash: string;
+
   // Wasabi Cloud URLs (after publishing)
   @Column({ nullable: true })
   cloudVideoUrl: string;
@@ -74,6 +96,18 @@ export class Content {
   @Column({ default: true })
   isActive: boolean;
 
+  // عمود مولَّد من PLAYABLE_SQL، تقرأه القوائم بدلاً من التصفية بعد الترقيم
+  @Column({
+    name: 'is_playable',
+    type: 'boolean',
+    generatedType: 'STORED',
+    asExpression: PLAYABLE_SQL,
+    select: false,
+    insert: false,
+    update: false,
+  })
+  isPlayable: boolean;
+
   @ManyToOne(() => Performer, performer => performer.content, { onDelete: 'CASCADE' })
   @JoinColumn({ name: 'performer_id' })
   performer: Performer;
@@ -105,6 +139,13 @@ export class Content {
   @Column({ nullable: true })
   externalUrl: string; // original URL
 
+  // حقول البحث - تُحسب بواسطة trigger في قاعدة البيانات (migrations/add-content-search.sql)
+  @Column({ type: 'text', nullable: true, select: false, insert: false, update: false })
+  searchText: string;
+
+  @Column({ type: 'tsvector', nullable: true, select: false, insert: false, update: false })
+  searchVector: string;
+
   @CreateDateColumn()
   createdAt: Date;
 
@@ -3,11 +3,13 @@ import { TypeOrmModule } from '@nestjs/typeorm';
 import { Content } from './content.entity';
 import { ContentController } from './content.controller';
 import { ContentService } from './content.service';
+import { ContentCounterBuffer } from './content-counter.buffer';
+import { AnalyticsModule } from '../analytics/analytics.module';
 
 @Module({
-  imports: [TypeOrmModule.forFeature([Content])],
+  imports: [TypeOrmModule.forFeature([Content]), AnalyticsModule],
   controllers: [ContentController],
-  providers: [ContentService],
+  providers: [ContentService, ContentCounterBuffer],
   exports: [ContentService],
 })
 export class ContentModule {}
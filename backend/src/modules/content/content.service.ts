@@ -1,9 +1,17 @@
 import { Injectable, NotFoundException, Inject } from '@nestjs/common';
 import { InjectRepository } from '@nestjs/typeorm';
-import { Repository } from 'typeorm';
+import { In, Repository } from 'typeorm';
 import { CACHE_MANAGER } from '@nestjs/cache-manager';
 import { Cache } from 'cache-manager';
 import { Content } from './content.entity';
+import { normalizeArabic, toPrefixTsQuery } from './arabic-normalizer';
+import { ContentCursor, encodeCursor, parseCursor } from './content-cursor';
+import { ContentCounterBuffer } from './content-counter.buffer';
+import { UniqueViewersBuffer } from '../analytics/unique-viewers.buffer';
+
+// أقل من 3 أحرف لا يكوّن trigram كاملاً، فيطابق word_similarity معظم الجدول ويمرّ على فهرس GIN كله؛
+// الكلمات القصيرة تكفيها مطابقة البادئة في searchVector
+const MIN_TRIGRAM_TERM_LENGTH = 3;
 
 @Injectable()
 export class ContentService {
@@ -12,10 +20,19 @@ export class ContentService {
     private contentRepository: Repository<Content>,
     @Inject(CACHE_MANAGER)
     private cacheManager: Cache,
+    private counterBuffer: ContentCounterBuffer,
+    private uniqueViewers: UniqueViewersBuffer,
   ) { }
 
-  async findAll(page = 1, limit = 20, performerId?: string) {
-    const cacheKey = `content_all_${page}_${limit}_${performerId || 'all'}`;
+  /**
+   * المحتوى القابل للتشغيل بترتيب (createdAt DESC, id DESC).
+   * مع after=<createdAt,id> تبدأ الصفحة بعد ذلك الموضع على الفهرس الجزئي، فتكلف الصفحة العميقة
+   * ما تكلفه الأولى؛ ويبقى page (OFFSET) للعملاء القدامى. meta.nextCursor هو after للصفحة التالية.
+   */
+  async findAll(page = 1, limit = 20, performerId?: string, after?: string) {
+    const cursor = after ? parseCursor(after) : null;
+    const position = cursor ? `after_${encodeCursor(cursor)}` : `page_${page}`;
+    const cacheKey = `content_all_${position}_${limit}_${performerId || 'all'}`;
 
     // Check cache first
     const cachedData = await this.cacheManager.get(cacheKey);
@@ -23,35 +40,55 @@ export class ContentService {
       return cachedData;
     }
 
-    const where: any = { isActive: true };
+    const params: any[] = [];
+    const conditions = ['c."isActive" = true', 'c.is_playable'];
     if (performerId) {
-      where.performerId = performerId;
+      params.push(performerId);
+      conditions.push(`c.performer_id = $${params.length}`);
+    }
+    if (cursor) {
+      params.push(cursor.createdAt, cursor.id);
+      conditions.push(`(c."createdAt", c.id) < ($${params.length - 1}::timestamp, $${params.length}::uuid)`);
+    }
+    // صف زائد لمعرفة وجود صفحة تالية دون COUNT
+    params.push(limit + 1);
+    let sql = `
+      SELECT c.id, c."createdAt"::text AS "createdAt"
+      FROM content c
+      WHERE ${conditions.join(' AND ')}
+      ORDER BY c."createdAt" DESC, c.id DESC
+      LIMIT $${params.length}`;
+    if (!cursor && page > 1) {
+      params.push((page - 1) * limit);
+      sql += ` OFFSET $${params.length}`;
     }
 
-    const [content, total] = await this.contentRepository.findAndCount({
-      where,
-      relations: ['performer'],
-      skip: (page - 1) * limit,
-      take: limit,
-      order: { createdAt: 'DESC' },
-    });
-
-    // Filter out content with missing files and use cloud URLs if available
-    const validContent = content.filter(item => {
-      if (item.type === 'video') {
-        return (item.cloudHlsUrl || item.hlsUrl) && (item.cloudThumbnailUrl || item.thumbnailUrl);
-      } else {
-        return (item.cloudAudioUrl || item.audioUrl);
-      }
-    }).map(item => this.mapContentUrls(item));
+    const rows: ContentCursor[] = await this.contentRepository.query(sql, params);
+    const pageRows = rows.slice(0, limit);
+    const hasMore = rows.length > limit;
+
+    const [items, total] = await Promise.all([
+      pageRows.length > 0
+        ? this.contentRepository.find({
+          where: { id: In(pageRows.map(row => row.id)) },
+          relations: ['performer'],
+        })
+        : Promise.resolve([] as Content[]),
+      this.countPlayable(performerId),
+    ]);
+    const byId = new Map(items.map(item => [item.id, item]));
 
     const result = {
-      data: validContent,
+      data: pageRows
+        .map(row => byId.get(row.id))
+        .filter(Boolean)
+        .map(item => this.mapContentUrls(item)),
       meta: {
-        total: validContent.length,
+        total,
         page,
         limit,
-        totalPages: Math.ceil(validContent.length / limit),
+        totalPages: Math.ceil(total / limit),
+        nextCursor: hasMore ? encodeCursor(pageRows[pageRows.length - 1]) : null,
       },
     };
 
@@ -61,25 +98,37 @@ export class ContentService {
     return result;
   }
 
+  /**
+   * عدد المحتوى القابل للتشغيل (نفس شرط findAll)، من الفهرس الجزئي
+   */
+  private async countPlayable(performerId?: string): Promise<number> {
+    const cacheKey = `content_count_${performerId || 'all'}`;
+    const cached = await this.cacheManager.get<number>(cacheKey);
+    if (cached !== undefined && cached !== null) return cached;
+
+    const where: any = { isActive: true, isPlayable: true };
+    if (performerId) {
+      where.performerId = performerId;
+    }
+    const total = await this.contentRepository.count({ where });
+
+    await this.cacheManager.set(cacheKey, total, 300000);
+    return total;
+  }
+
   async getTrending(limit = 10) {
     const cacheKey = `content_trending_${limit}`;
     const cachedData = await this.cacheManager.get(cacheKey);
     if (cachedData) return cachedData;
 
     const content = await this.contentRepository.find({
-      where: { isActive: true },
+      where: { isActive: true, isPlayable: true },
       relations: ['performer'],
-      take: limit * 2,
+      take: limit,
       order: { viewCount: 'DESC', createdAt: 'DESC' },
     });
 
-    const validContent = content.filter(item => {
-      if (item.type === 'video') {
-        return (item.cloudHlsUrl || item.hlsUrl) && (item.cloudThumbnailUrl || item.thumbnailUrl);
-      } else {
-        return (item.cloudAudioUrl || item.audioUrl);
-      }
-    }).map(item => this.mapContentUrls(item)).slice(0, limit);
+    const validContent = content.map(item => this.mapContentUrls(item));
 
     const result = {
       data: validContent,
@@ -104,19 +153,14 @@ export class ContentService {
       .createQueryBuilder('content')
       .leftJoinAndSelect('content.performer', 'performer')
       .where('content.isActive = :isActive', { isActive: true })
+      .andWhere('content.isPlayable = true')
       .andWhere('content.viewCount > :minViews', { minViews: 10 })
       .orderBy('content.viewCount', 'DESC')
       .addOrderBy('content.downloadCount', 'DESC')
-      .take(limit * 2)
+      .take(limit)
       .getMany();
 
-    const validContent = content.filter(item => {
-      if (item.type === 'video') {
-        return (item.cloudHlsUrl || item.hlsUrl) && (item.cloudThumbnailUrl || item.thumbnailUrl);
-      } else {
-        return (item.cloudAudioUrl || item.audioUrl);
-      }
-    }).map(item => this.mapContentUrls(item)).slice(0, limit);
+    const validContent = content.map(item => this.mapContentUrls(item));
 
     const result = {
       data: validContent,
@@ -134,19 +178,13 @@ export class ContentService {
 
   async getRecent(limit = 10) {
     const content = await this.contentRepository.find({
-      where: { isActive: true },
+      where: { isActive: true, isPlayable: true },
       relations: ['performer'],
-      take: limit * 2,
-      order: { createdAt: 'DESC' },
+      take: limit,
+      order: { createdAt: 'DESC', id: 'DESC' },
     });
 
-    const validContent = content.filter(item => {
-      if (item.type === 'video') {
-        return (item.cloudHlsUrl || item.hlsUrl) && (item.cloudThumbnailUrl || item.thumbnailUrl);
-      } else {
-        return (item.cloudAudioUrl || item.audioUrl);
-      }
-    }).map(item => this.mapContentUrls(item)).slice(0, limit);
+    const validContent = content.map(item => this.mapContentUrls(item));
 
     return {
       data: validContent,
@@ -159,6 +197,53 @@ export class ContentService {
     };
   }
 
+  /**
+   * بحث نصي كامل مرتب حسب الصلة (GIN على searchVector + pg_trgm على searchText)
+   */
+  async search(query: string, page = 1, limit = 20) {
+    const term = normalizeArabic(query).trim();
+    const tsQuery = toPrefixTsQuery(term);
+    const emptyResult = { data: [], meta: { total: 0, page, limit, totalPages: 0 } };
+    if (!tsQuery) return emptyResult;
+
+    const cacheKey = `content_search_${term}_${page}_${limit}`;
+    const cachedData = await this.cacheManager.get(cacheKey);
+    if (cachedData) return cachedData;
+
+    const fuzzy = term.replace(/\s+/g, '').length >= MIN_TRIGRAM_TERM_LENGTH;
+    const rows: { id: string; total: string }[] = await this.contentRepository.query(
+      searchSql(fuzzy),
+      fuzzy
+        ? [tsQuery, limit, (page - 1) * limit, term]
+        : [tsQuery, limit, (page - 1) * limit],
+    );
+
+    if (rows.length === 0) return emptyResult;
+
+    const total = Number(rows[0].total);
+    const items = await this.contentRepository.find({
+      where: { id: In(rows.map(row => row.id)) },
+      relations: ['performer'],
+    });
+    const byId = new Map(items.map(item => [item.id, item]));
+
+    const result = {
+      data: rows
+        .map(row => byId.get(row.id))
+        .filter(Boolean)
+        .map(item => this.mapContentUrls(item)),
+      meta: {
+        total,
+        page,
+        limit,
+        totalPages: Math.ceil(total / limit),
+      },
+    };
+
+    await this.cacheManager.set(cacheKey, result, 60000); // 1 minute
+    return result;
+  }
+
   async findOne(id: string): Promise<Content> {
     const cacheKey = `content_${id}`;
     const cachedData = await this.cacheManager.get(cacheKey);
@@ -178,12 +263,14 @@ export class ContentService {
     return result as Content;
   }
 
-  async incrementViewCount(id: string) {
-    await this.contentRepository.increment({ id }, 'viewCount', 1);
+  // تُجمع في الذاكرة وتُكتب دفعة واحدة (ContentCounterBuffer)، والمشاهد يُضاف لمخطط يومه
+  incrementViewCount(id: string, viewerKey: string) {
+    this.counterBuffer.addView(id);
+    this.uniqueViewers.add(id, viewerKey);
   }
 
-  async incrementDownloadCount(id: string) {
-    await this.contentRepository.increment({ id }, 'downloadCount', 1);
+  incrementDownloadCount(id: string) {
+    this.counterBuffer.addDownload(id);
   }
 
   async create(contentData: any) {
@@ -217,3 +304,25 @@ export class ContentService {
     };
   }
 }
+
+/**
+ * استعلام البحث ($1 tsquery، $2 limit، $3 offset، و $4 النص المطبَّع عند fuzzy)؛
+ * يستخدمه أيضاً scripts/explain-hot-queries.ts
+ */
+export function searchSql(fuzzy: boolean) {
+  const match = fuzzy
+    ? `(c."searchVector" @@ to_tsquery('simple', $1) OR $4 <% c."searchText")`
+    : `c."searchVector" @@ to_tsquery('simple', $1)`;
+  const rank = fuzzy
+    ? `ts_rank_cd(c."searchVector", to_tsquery('simple', $1)) + word_similarity($4, c."searchText")`
+    : `ts_rank_cd(c."searchVector", to_tsquery('simple', $1))`;
+  return `
+    SELECT c.id, COUNT(*) OVER() AS total
+    FROM content c
+    WHERE c."isActive" = true
+      AND c.is_playable
+      AND ${match}
+    ORDER BY ${rank} DESC, c."createdAt" DESC
+    LIMIT $2 OFFSET $3
+  `;
+}
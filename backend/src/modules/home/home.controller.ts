@@ -0,0 +1,14 @@
+import { Controller, Get, Query, UseInterceptors } from '@nestjs/common';
+import { HomeService } from './home.service';
+import { ETagInterceptor } from '../../common/interceptors/etag.interceptor';
+
+@Controller('home')
+export class HomeController {
+  constructor(private readonly homeService: HomeService) {}
+
+  @Get()
+  @UseInterceptors(ETagInterceptor)
+  getHome(@Query('limit') limit = 10, @Query('performersLimit') performersLimit = 20) {
+    return this.homeService.getHome(Math.min(+limit, 50), Math.min(+performersLimit, 50));
+  }
+}
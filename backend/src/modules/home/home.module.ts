@@ -0,0 +1,12 @@
+import { Module } from '@nestjs/common';
+import { ContentModule } from '../content/content.module';
+import { PerformersModule } from '../performers/performers.module';
+import { HomeController } from './home.controller';
+import { HomeService } from './home.service';
+
+@Module({
+  imports: [ContentModule, PerformersModule],
+  controllers: [HomeController],
+  providers: [HomeService],
+})
+export class HomeModule {}
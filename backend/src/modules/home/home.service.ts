@@ -0,0 +1,42 @@
+import { Injectable, Inject } from '@nestjs/common';
+import { CACHE_MANAGER } from '@nestjs/cache-manager';
+import { Cache } from 'cache-manager';
+import { ContentService } from '../content/content.service';
+import { PerformersService } from '../performers/performers.service';
+
+@Injectable()
+export class HomeService {
+  constructor(
+    private readonly contentService: ContentService,
+    private readonly performersService: PerformersService,
+    @Inject(CACHE_MANAGER)
+    private cacheManager: Cache,
+  ) {}
+
+  /**
+   * كل أقسام الشاشة الرئيسية في طلب واحد، وتُخزَّن كوحدة واحدة
+   */
+  async getHome(limit = 10, performersLimit = 20) {
+    const cacheKey = `home_${limit}_${performersLimit}`;
+    const cachedData = await this.cacheManager.get(cacheKey);
+    if (cachedData) return cachedData;
+
+    const [trending, recommended, recent, performers]: any[] = await Promise.all([
+      this.contentService.getTrending(limit),
+      this.contentService.getRecommended(limit),
+      this.contentService.getRecent(limit),
+      this.performersService.findAll(1, performersLimit),
+    ]);
+
+    const result = {
+      trending: trending.data,
+      recommended: recommended.data,
+      recent: recent.data,
+      performers: performers.data,
+    };
+
+    // أقصر مدة بين الأقسام (الأحدث)، حتى لا يتأخر المحتوى الجديد
+    await this.cacheManager.set(cacheKey, result, 120000); // 2 minutes
+    return result;
+  }
+}
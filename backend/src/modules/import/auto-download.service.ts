@@ -5,6 +5,8 @@ import { Content, ContentType } from '../content/content.entity';
 import { Performer } from '../performers/performers.entity';
 import { MetadataService } from '../upload/metadata.service';
 import { CloudStorageService } from '../upload/cloud-storage.service';
+import { HlsLadderService } from '../upload/hls-ladder.service';
+import { ThumbnailService, THUMBNAILS_DIR } from '../upload/thumbnail.service';
 import { TwitterSource } from './sources/twitter.source';
 import { AparatSource } from './sources/aparat.source';
 import * as fs from 'fs';
@@ -36,6 +38,8 @@ export class AutoDownloadService {
     private performerRepository: Repository<Performer>,
     private metadataService: MetadataService,
     private cloudStorageService: CloudStorageService,
+    private hlsLadderService: HlsLadderService,
+    private thumbnailService: ThumbnailService,
     private twitterSource: TwitterSource,
     private aparatSource: AparatSource,
   ) {}
@@ -402,6 +406,16 @@ export class AutoDownloadService {
         video.thumbnailUrl,
         tempDir,
       );
+      let thumbHash: string = null;
+      if (thumbnailPath) {
+        try {
+          await this.thumbnailService.createVariants(thumbnailPath, tempDir);
+        } catch (error) {
+          // الصورة الأصلية تبقى متاحة في thumbnailUrl
+          this.logger.warn(`⚠️ فشل إنشاء أحجام الصورة المصغرة: ${error.message}`);
+        }
+        thumbHash = await this.thumbnailService.createThumbHash(thumbnailPath);
+      }
 
       // 4. معالجة الفيديو (HLS, audio)
       if (onProgress) onProgress('🔄 معالجة الفيديو (HLS + Audio)');
@@ -434,6 +448,7 @@ export class AutoDownloadService {
         r2Urls,
         categoryIds,
         savedTemp.id, // تمرير ID الموجود
+        thumbHash,
       );
 
       // 7. حذف الملفات المؤقتة
@@ -1242,41 +1257,17 @@ export class AutoDownloadService {
   }
 
   /**
-   * إنشاء HLS
+   * إنشاء HLS متعدد الجودات (ABR) مع master.m3u8
    */
-  private createHLS(videoPath: string, hlsDir: string): Promise<void> {
-    return new Promise((resolve, reject) => {
-      const playlistPath = path.join(hlsDir, 'master.m3u8');
-      const segmentPattern = path.join(hlsDir, 'segment_%03d.ts');
-
-      this.logger.log(`🎬 إنشاء HLS: ${playlistPath}`);
-
-      ffmpeg(videoPath)
-        .output(playlistPath)
-        .videoCodec('copy') // نسخ بدون إعادة تشفير
-        .audioCodec('copy')
-        .outputOptions([
-          '-start_number 0',
-          '-hls_time 6',
-          '-hls_list_size 0',
-          '-f hls',
-          `-hls_segment_filename ${segmentPattern}`,
-        ])
-        .on('progress', (progress) => {
-          if (progress.percent) {
-            this.logger.debug(`HLS: ${Math.floor(progress.percent)}%`);
-          }
-        })
-        .on('end', () => {
-          this.logger.log(`✅ تم إنشاء HLS`);
-          resolve();
-        })
-        .on('error', (err) => {
-          this.logger.error(`❌ فشل إنشاء HLS: ${err.message}`);
-          reject(err);
-        })
-        .run();
-    });
+  private async createHLS(videoPath: string, hlsDir: string): Promise<void> {
+    try {
+      await this.hlsLadderService.createLadder(videoPath, hlsDir, (percent) =>
+        this.logger.debug(`HLS: ${percent}%`),
+      );
+    } catch (err) {
+      this.logger.error(`❌ فشل إنشاء HLS: ${err.message}`);
+      throw err;
+    }
   }
 
   /**
@@ -1322,6 +1313,7 @@ export class AutoDownloadService {
     videoUrl: string;
     audioUrl: string;
     thumbnailUrl: string;
+    thumbnails: Record<string, string>;
     hlsUrl: string;
   }> {
     if (!this.cloudStorageService.isEnabled()) {
@@ -1399,6 +1391,20 @@ export class AutoDownloadService {
         this.logger.warn(`⚠️ الصورة المصغرة غير موجودة: ${thumbnailPath}`);
       }
 
+      const thumbnailVariants = this.thumbnailService.listVariants(tempDir);
+      let thumbnails: Record<string, string> = null;
+      if (Object.keys(thumbnailVariants).length > 0) {
+        await this.cloudStorageService.uploadDirectory(
+          path.join(tempDir, THUMBNAILS_DIR),
+          `${r2Prefix}/${THUMBNAILS_DIR}`,
+        );
+        thumbnails = this.thumbnailService.toUrls(
+          thumbnailVariants,
+          `${publicUrl}/${r2Prefix}/${THUMBNAILS_DIR}`,
+        );
+        this.logger.log(`✅ تم رفع أحجام الصورة المصغرة`);
+      }
+
       // 5. التحقق من وجود الملفات في R2
       const hlsUrl = `${publicUrl}/${r2Prefix}/hls/master.m3u8`;
       
@@ -1418,6 +1424,7 @@ export class AutoDownloadService {
         videoUrl: originalVideoUrl, // الفيديو الأصلي للتحميل
         audioUrl: audioUrl, // ملف MP3 للتحميل
         thumbnailUrl: thumbnailUrl, // الصورة المصغرة
+        thumbnails: thumbnails, // أحجام WebP
         hlsUrl: hlsUrl, // HLS للتشغيل
       };
     } catch (error) {
@@ -1435,6 +1442,7 @@ export class AutoDownloadService {
     r2Urls: any,
     categoryIds?: string[],
     existingId?: string, // ID موجود مسبقاً
+    thumbHash?: string,
   ): Promise<Content> {
     // إذا كان هناك ID موجود، نحدث السجل بدلاً من إنشاء جديد
     if (existingId) {
@@ -1445,6 +1453,7 @@ export class AutoDownloadService {
         title: video.title,
         description: video.description,
         thumbnailUrl: finalThumbnail,
+        thumbnails: r2Urls.thumbnails,
         hlsUrl: r2Urls.hlsUrl,
         audioUrl: r2Urls.audioUrl,
         originalFileUrl: r2Urls.videoUrl,
@@ -1454,6 +1463,7 @@ export class AutoDownloadService {
         cloudAudioUrl: r2Urls.audioUrl,
         cloudThumbnailUrl: finalThumbnail,
         cloudHlsUrl: r2Urls.hlsUrl,
+        thumbHash,
       });
       
       const updated = await this.contentRepository.findOne({ where: { id: existingId }, relations: ['performer'] });
@@ -1495,6 +1505,7 @@ export class AutoDownloadService {
       type: ContentType.VIDEO,
       performerId,
       thumbnailUrl: finalThumbnail,
+      thumbnails: r2Urls.thumbnails,
       hlsUrl: r2Urls.hlsUrl,
       audioUrl: r2Urls.audioUrl,
       originalFileUrl: r2Urls.videoUrl,
@@ -1509,6 +1520,7 @@ export class AutoDownloadService {
       externalSource: 'twitter',
       externalId: video.id,
       externalUrl: `https://twitter.com/i/status/${video.id}`,
+      thumbHash,
     });
 
     const saved = await this.contentRepository.save(content);
@@ -1,4 +1,4 @@
-import { Controller, Post, Get, Param, UseGuards, Request } from '@nestjs/common';
+import { Controller, Post, Get, Param, UseGuards, Request, ParseUUIDPipe } from '@nestjs/common';
 import { LikesService } from './likes.service';
 import { JwtAuthGuard } from '../auth/guards/jwt-auth.guard';
 
@@ -8,13 +8,13 @@ export class LikesController {
 
   @Post(':contentId')
   @UseGuards(JwtAuthGuard)
-  async toggleLike(@Param('contentId') contentId: string, @Request() req) {
+  async toggleLike(@Param('contentId', ParseUUIDPipe) contentId: string, @Request() req) {
     const userId = req.user.sub || req.user.id;
     return this.likesService.toggleLike(userId, contentId);
   }
 
   @Get('content/:contentId')
-  async getLikesCount(@Param('contentId') contentId: string) {
+  async getLikesCount(@Param('contentId', ParseUUIDPipe) contentId: string) {
     const count = await this.likesService.getLikesCount(contentId);
     return { count };
   }
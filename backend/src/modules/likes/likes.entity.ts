@@ -1,9 +1,10 @@
-import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, ManyToOne, JoinColumn, Unique } from 'typeorm';
+import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, ManyToOne, JoinColumn, Unique, Index } from 'typeorm';
 import { User } from '../users/users.entity';
 import { Content } from '../content/content.entity';
 
 @Entity('likes')
 @Unique(['userId', 'contentId'])
+@Index('idx_likes_content', ['contentId'])
 export class Like {
   @PrimaryGeneratedColumn('uuid')
   id: string;
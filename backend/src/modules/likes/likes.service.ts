@@ -13,30 +13,54 @@ export class LikesService {
     private contentRepository: Repository<Content>,
   ) {}
 
+  /**
+   * تبديل الإعجاب في استعلام واحد: حذف الإعجاب إن وُجد وإلا إضافته، وتعديل content."likeCount"
+   * بنفس المقدار، ثم إرجاع العدد الجديد من صف المحتوى دون عدّ جدول likes.
+   * قفل صف المحتوى في UPDATE يرتّب النقرات المتزامنة، والقيد الفريد (user_id, content_id)
+   * يمنع إعجابين لنفس المستخدم؛ إن سبقه طلب آخر بالإضافة فالنتيجة liked دون تغيير العدد.
+   * لا يلمس updatedAt، ولذلك likeCount جزء من بصمة ETagInterceptor.
+   */
   async toggleLike(userId: string, contentId: string): Promise<{ liked: boolean; totalLikes: number }> {
-    // Check if content exists
-    const content = await this.contentRepository.findOne({ where: { id: contentId } });
-    if (!content) {
-      throw new NotFoundException('Content not found');
-    }
+    const [result] = await this.likesRepository.query(
+      `
+      WITH target AS (
+        SELECT id FROM content WHERE id = $2::uuid
+      ),
+      removed AS (
+        DELETE FROM likes l
+        USING target
+        WHERE l.user_id = $1::uuid AND l.content_id = target.id
+        RETURNING l.id
+      ),
+      added AS (
+        INSERT INTO likes (user_id, content_id)
+        SELECT $1::uuid, target.id FROM target
+        WHERE NOT EXISTS (SELECT 1 FROM removed)
+        ON CONFLICT (user_id, content_id) DO NOTHING
+        RETURNING id
+      ),
+      counted AS (
+        UPDATE content c
+        SET "likeCount" = greatest(
+          c."likeCount" + (SELECT count(*) FROM added) - (SELECT count(*) FROM removed),
+          0
+        )
+        FROM target
+        WHERE c.id = target.id
+        RETURNING c."likeCount"
+      )
+      SELECT
+        EXISTS (SELECT 1 FROM target) AS found,
+        NOT EXISTS (SELECT 1 FROM removed) AS liked,
+        (SELECT "likeCount" FROM counted) AS "totalLikes"
+      `,
+      [userId, contentId],
+    );
 
-    // Check if like exists
-    const existingLike = await this.likesRepository.findOne({
-      where: { userId, contentId },
-    });
-
-    if (existingLike) {
-      // Unlike
-      await this.likesRepository.remove(existingLike);
-      const totalLikes = await this.likesRepository.count({ where: { contentId } });
-      return { liked: false, totalLikes };
-    } else {
-      // Like
-      const like = this.likesRepository.create({ userId, contentId });
-      await this.likesRepository.save(like);
-      const totalLikes = await this.likesRepository.count({ where: { contentId } });
-      return { liked: true, totalLikes };
+    if (!result.found) {
+      throw new NotFoundException('Content not found');
     }
+    return { liked: result.liked, totalLikes: result.totalLikes };
   }
 
   async isLiked(userId: string, contentId: string): Promise<boolean> {
@@ -46,8 +70,13 @@ export class LikesService {
     return !!like;
   }
 
+  // العدد المحفوظ مع المحتوى (يحدّثه toggleLike)
   async getLikesCount(contentId: string): Promise<number> {
-    return this.likesRepository.count({ where: { contentId } });
+    const content = await this.contentRepository.findOne({
+      where: { id: contentId },
+      select: ['id', 'likeCount'],
+    });
+    return content?.likeCount ?? 0;
   }
 
   async getUserLikes(userId: string): Promise<string[]> {
@@ -1,23 +1,27 @@
-import { Controller, Get, Post, Put, Delete, Body, Param, Query, UseGuards } from '@nestjs/common';
+import { Controller, Get, Post, Put, Delete, Body, Param, Query, UseGuards, UseInterceptors } from '@nestjs/common';
 import { PerformersService } from './performers.service';
 import { CreatePerformerDto, UpdatePerformerDto } from './dto';
 import { JwtAuthGuard } from '../auth/guards/jwt-auth.guard';
+import { ETagInterceptor } from '../../common/interceptors/etag.interceptor';
 
 @Controller('performers')
 export class PerformersController {
   constructor(private readonly performersService: PerformersService) {}
 
   @Get()
+  @UseInterceptors(ETagInterceptor)
   findAll(@Query('page') page = 1, @Query('limit') limit = 20) {
     return this.performersService.findAll(+page, +limit);
   }
 
   @Get(':id')
+  @UseInterceptors(ETagInterceptor)
   findOne(@Param('id') id: string) {
     return this.performersService.findOne(id);
   }
 
   @Get(':id/content')
+  @UseInterceptors(ETagInterceptor)
   getPerformerContent(
     @Param('id') id: string,
     @Query('page') page = 1,
@@ -1,7 +1,8 @@
-import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, UpdateDateColumn, OneToMany } from 'typeorm';
+import { Entity, PrimaryGeneratedColumn, Column, CreateDateColumn, UpdateDateColumn, OneToMany, Index } from 'typeorm';
 import { Content } from '../content/content.entity';
 
 @Entity('performers')
+@Index('idx_performers_active_created', ['createdAt'], { where: '"isActive"' })
 export class Performer {
   @PrimaryGeneratedColumn('uuid')
   id: string;
@@ -21,6 +22,10 @@ export class Performer {
   @Column({ nullable: true })
   imageUrl: string;
 
+  // ThumbHash لصورة المؤدي (base64)، يُحسب عند حفظ imageUrl
+  @Column({ nullable: true })
+  thumbHash: string;
+
   @Column({ nullable: true })
   location: string;
 
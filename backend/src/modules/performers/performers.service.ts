@@ -7,6 +7,7 @@ import { Performer } from './performers.entity';
 import { CreatePerformerDto, UpdatePerformerDto } from './dto';
 import { Content } from '../content/content.entity';
 import { CloudStorageService } from '../upload/cloud-storage.service';
+import { ThumbnailService } from '../upload/thumbnail.service';
 
 @Injectable()
 export class PerformersService {
@@ -18,6 +19,7 @@ export class PerformersService {
     @InjectRepository(Content)
     private contentRepository: Repository<Content>,
     private cloudStorageService: CloudStorageService,
+    private thumbnailService: ThumbnailService,
     @Inject(CACHE_MANAGER)
     private cacheManager: Cache,
   ) { }
@@ -67,12 +69,22 @@ export class PerformersService {
 
   async create(createPerformerDto: CreatePerformerDto) {
     const performer = this.performersRepository.create(createPerformerDto);
+    if (performer.imageUrl) {
+      performer.thumbHash = await this.thumbnailService.createThumbHash(performer.imageUrl);
+    }
     return this.performersRepository.save(performer);
   }
 
   async update(id: string, updatePerformerDto: UpdatePerformerDto) {
     const performer = await this.findOne(id);
+    const imageChanged =
+      updatePerformerDto.imageUrl !== undefined && updatePerformerDto.imageUrl !== performer.imageUrl;
     Object.assign(performer, updatePerformerDto);
+    if (imageChanged) {
+      performer.thumbHash = performer.imageUrl
+        ? await this.thumbnailService.createThumbHash(performer.imageUrl)
+        : null;
+    }
     return this.performersRepository.save(performer);
   }
 
@@ -142,18 +154,17 @@ export class PerformersService {
     // التحقق من وجود المؤدي
     await this.findOne(performerId);
 
-    const [content, total] = await this.performersRepository
-      .createQueryBuilder('performer')
-      .leftJoinAndSelect('performer.content', 'content')
-      .where('performer.id = :performerId', { performerId })
-      .andWhere('content.isActive = :isActive', { isActive: true })
-      .skip((page - 1) * limit)
-      .take(limit)
-      .orderBy('content.createdAt', 'DESC')
-      .getManyAndCount();
+    // الترقيم على صفوف المحتوى نفسها وليس على المؤدي المرتبط
+    const [content, total] = await this.contentRepository.findAndCount({
+      where: { performerId, isActive: true },
+      relations: ['performer'],
+      skip: (page - 1) * limit,
+      take: limit,
+      order: { createdAt: 'DESC', id: 'DESC' },
+    });
 
     return {
-      data: content[0]?.content || [],
+      data: content,
       meta: {
         total,
         page,
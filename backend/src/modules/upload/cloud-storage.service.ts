@@ -274,6 +274,7 @@ export class CloudStorageService {
       '.jpg': 'image/jpeg',
       '.jpeg': 'image/jpeg',
       '.png': 'image/png',
+      '.webp': 'image/webp',
       '.mp3': 'audio/mpeg',
       '.aac': 'audio/aac',
     };
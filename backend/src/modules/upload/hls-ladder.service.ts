@@ -0,0 +1,163 @@
+import { Injectable, Logger } from '@nestjs/common';
+import * as ffmpeg from 'fluent-ffmpeg';
+import * as path from 'path';
+import * as fs from 'fs';
+
+export interface HlsRendition {
+  name: string;
+  height: number;
+  videoBitrateK: number;
+  audioBitrateK: number;
+}
+
+// الدرجات المتاحة؛ HLS_LADDER يختار منها بالاسم (مثال: 240p,360p,720p)
+const RENDITIONS: Record<string, HlsRendition> = {
+  '240p': { name: '240p', height: 240, videoBitrateK: 400, audioBitrateK: 64 },
+  '360p': { name: '360p', height: 360, videoBitrateK: 800, audioBitrateK: 96 },
+  '480p': { name: '480p', height: 480, videoBitrateK: 1400, audioBitrateK: 128 },
+  '720p': { name: '720p', height: 720, videoBitrateK: 2800, audioBitrateK: 128 },
+  '1080p': { name: '1080p', height: 1080, videoBitrateK: 5000, audioBitrateK: 160 },
+};
+
+const DEFAULT_LADDER = '240p,360p,720p';
+const AUDIO_ONLY_BITRATE_K = 64;
+const SEGMENT_SECONDS = 6;
+// مفتاح كل ثانيتين في كل الدرجات، فتبدأ المقاطع عند نفس اللحظة ويتم التبديل بينها بلا فجوات
+const KEYFRAME_INTERVAL_SECONDS = 2;
+
+/**
+ * تحويل الفيديو إلى سلّم جودات HLS (ABR) مع master playlist حقيقي.
+ * فك ترميز واحد للمصدر، ثم تصغير وترميز كل درجة في نفس أمر ffmpeg.
+ * الناتج في hlsDir: master.m3u8 و stream_<name>.m3u8 ومقاطعها، ومسار صوت فقط (stream_audio)
+ * لمن لا يحتمل اتصاله حتى أدنى درجة فيديو.
+ */
+@Injectable()
+export class HlsLadderService {
+  private readonly logger = new Logger(HlsLadderService.name);
+
+  static readonly MASTER_PLAYLIST = 'master.m3u8';
+
+  async createLadder(
+    inputPath: string,
+    hlsDir: string,
+    onProgress?: (percent: number) => void,
+  ): Promise<HlsRendition[]> {
+    if (!fs.existsSync(hlsDir)) {
+      fs.mkdirSync(hlsDir, { recursive: true });
+    }
+
+    const source = await this.probe(inputPath);
+    const ladder = this.ladderFor(source.height);
+    const withAudioOnly = source.hasAudio && process.env.HLS_AUDIO_ONLY !== 'false';
+
+    this.logger.log(
+      `🎬 سلّم HLS: ${ladder.map((r) => r.name).join(', ')}${withAudioOnly ? ' + audio' : ''} (المصدر ${source.height}p)`,
+    );
+
+    const splits = ladder.map((_, i) => `[v${i}]`).join('');
+    const filters = [
+      `[0:v]split=${ladder.length}${splits}`,
+      ...ladder.map((r, i) => `[v${i}]scale=-2:${r.height}[v${i}out]`),
+    ];
+
+    const options: string[] = [];
+    const streamMap: string[] = [];
+
+    ladder.forEach((r, i) => {
+      options.push(
+        '-map', `[v${i}out]`,
+        `-c:v:${i}`, 'libx264',
+        `-b:v:${i}`, `${r.videoBitrateK}k`,
+        `-maxrate:v:${i}`, `${Math.round(r.videoBitrateK * 1.07)}k`,
+        `-bufsize:v:${i}`, `${Math.round(r.videoBitrateK * 1.5)}k`,
+      );
+      if (source.hasAudio) {
+        options.push(
+          '-map', 'a:0',
+          `-c:a:${i}`, 'aac',
+          `-b:a:${i}`, `${r.audioBitrateK}k`,
+        );
+        streamMap.push(`v:${i},a:${i},name:${r.name}`);
+      } else {
+        streamMap.push(`v:${i},name:${r.name}`);
+      }
+    });
+
+    if (withAudioOnly) {
+      const a = ladder.length;
+      options.push(
+        '-map', 'a:0',
+        `-c:a:${a}`, 'aac',
+        `-b:a:${a}`, `${AUDIO_ONLY_BITRATE_K}k`,
+      );
+      streamMap.push(`a:${a},name:audio`);
+    }
+
+    options.push(
+      '-preset', 'veryfast',
+      '-profile:v', 'main',
+      '-pix_fmt', 'yuv420p',
+      '-sc_threshold', '0',
+      '-force_key_frames', `expr:gte(t,n_forced*${KEYFRAME_INTERVAL_SECONDS})`,
+      '-ar', '44100',
+      '-f', 'hls',
+      '-hls_time', `${SEGMENT_SECONDS}`,
+      '-hls_playlist_type', 'vod',
+      '-hls_list_size', '0',
+      '-hls_segment_type', 'mpegts',
+      '-hls_flags', 'independent_segments',
+      '-hls_segment_filename', path.join(hlsDir, 'stream_%v_%03d.ts'),
+      '-master_pl_name', HlsLadderService.MASTER_PLAYLIST,
+      '-var_stream_map', streamMap.join(' '),
+    );
+
+    await new Promise<void>((resolve, reject) => {
+      ffmpeg(inputPath)
+        .complexFilter(filters)
+        // كـ varargs لا مصفوفة: fluent-ffmpeg يقسم أي عنصر مصفوفة فيه مسافة واحدة إلى معاملين،
+        // فيتحول var_stream_map لدرجتين ("v:0,a:0,name:240p a:1,name:audio") إلى argv خاطئ
+        .outputOptions(...options)
+        .output(path.join(hlsDir, 'stream_%v.m3u8'))
+        .on('progress', (progress) => {
+          if (progress.percent && onProgress) {
+            onProgress(Math.floor(progress.percent));
+          }
+        })
+        .on('end', () => resolve())
+        .on('error', reject)
+        .run();
+    });
+
+    this.logger.log(`✅ تم إنشاء سلّم HLS`);
+    return ladder;
+  }
+
+  // لا نكبّر الفيديو: الدرجات الأعلى من المصدر تُحذف، مع إبقاء أدناها دائماً
+  private ladderFor(sourceHeight: number): HlsRendition[] {
+    const configured = (process.env.HLS_LADDER || DEFAULT_LADDER)
+      .split(',')
+      .map((name) => RENDITIONS[name.trim()])
+      .filter(Boolean)
+      .sort((a, b) => a.height - b.height);
+    const ladder = configured.length > 0 ? configured : DEFAULT_LADDER.split(',').map((n) => RENDITIONS[n]);
+
+    const fitting = ladder.filter((r) => r.height <= sourceHeight);
+    return fitting.length > 0 ? fitting : [ladder[0]];
+  }
+
+  private probe(inputPath: string): Promise<{ height: number; hasAudio: boolean }> {
+    return new Promise((resolve, reject) => {
+      ffmpeg.ffprobe(inputPath, (err, metadata) => {
+        if (err) {
+          reject(err);
+          return;
+        }
+        const video = metadata.streams.find((s) => s.codec_type === 'video');
+        resolve({
+          height: video?.height || 720,
+          hasAudio: metadata.streams.some((s) => s.codec_type === 'audio'),
+        });
+      });
+    });
+  }
+}
@@ -0,0 +1,119 @@
+/**
+ * ترميز ThumbHash (https://evanw.github.io/thumbhash/): ~25 بايت تصف ألوان الصورة وتدرّجها
+ * ونسبة أبعادها، يفكّها العميل إلى صورة ضبابية فورية قبل وصول الصورة المصغرة.
+ * المدخل صورة RGBA لا تتجاوز 100×100.
+ */
+export function rgbaToThumbHash(w: number, h: number, rgba: Uint8Array): Uint8Array {
+  if (w > 100 || h > 100) {
+    throw new Error(`${w}x${h} doesn't fit in 100x100`);
+  }
+  const { PI, round, max, cos, abs } = Math;
+
+  // متوسط اللون (مرجّحاً بالشفافية)
+  let avgR = 0;
+  let avgG = 0;
+  let avgB = 0;
+  let avgA = 0;
+  for (let i = 0, j = 0; i < w * h; i++, j += 4) {
+    const alpha = rgba[j + 3] / 255;
+    avgR += (alpha / 255) * rgba[j];
+    avgG += (alpha / 255) * rgba[j + 1];
+    avgB += (alpha / 255) * rgba[j + 2];
+    avgA += alpha;
+  }
+  if (avgA) {
+    avgR /= avgA;
+    avgG /= avgA;
+    avgB /= avgA;
+  }
+
+  const hasAlpha = avgA < w * h;
+  const lLimit = hasAlpha ? 5 : 7; // بتات أقل للإضاءة عند وجود شفافية
+  const lx = max(1, round((lLimit * w) / max(w, h)));
+  const ly = max(1, round((lLimit * h) / max(w, h)));
+  const l: number[] = []; // الإضاءة
+  const p: number[] = []; // أصفر - أزرق
+  const q: number[] = []; // أحمر - أخضر
+  const a: number[] = []; // الشفافية
+
+  // RGBA ← LPQA فوق متوسط اللون
+  for (let i = 0, j = 0; i < w * h; i++, j += 4) {
+    const alpha = rgba[j + 3] / 255;
+    const r = avgR * (1 - alpha) + (alpha / 255) * rgba[j];
+    const g = avgG * (1 - alpha) + (alpha / 255) * rgba[j + 1];
+    const b = avgB * (1 - alpha) + (alpha / 255) * rgba[j + 2];
+    l[i] = (r + g + b) / 3;
+    p[i] = (r + g) / 2 - b;
+    q[i] = r - g;
+    a[i] = alpha;
+  }
+
+  // DCT: حد ثابت (DC) وحدود متغيرة (AC) مطبّعة إلى [0, 1]
+  const encodeChannel = (channel: number[], nx: number, ny: number): [number, number[], number] => {
+    let dc = 0;
+    let scale = 0;
+    const ac: number[] = [];
+    const fx: number[] = [];
+    for (let cy = 0; cy < ny; cy++) {
+      for (let cx = 0; cx * ny < nx * (ny - cy); cx++) {
+        let f = 0;
+        for (let x = 0; x < w; x++) {
+          fx[x] = cos((PI / w) * cx * (x + 0.5));
+        }
+        for (let y = 0; y < h; y++) {
+          const fy = cos((PI / h) * cy * (y + 0.5));
+          for (let x = 0; x < w; x++) {
+            f += channel[x + y * w] * fx[x] * fy;
+          }
+        }
+        f /= w * h;
+        if (cx || cy) {
+          ac.push(f);
+          scale = max(scale, abs(f));
+        } else {
+          dc = f;
+        }
+      }
+    }
+    if (scale) {
+      for (let i = 0; i < ac.length; i++) {
+        ac[i] = 0.5 + (0.5 / scale) * ac[i];
+      }
+    }
+    return [dc, ac, scale];
+  };
+
+  const [lDc, lAc, lScale] = encodeChannel(l, max(3, lx), max(3, ly));
+  const [pDc, pAc, pScale] = encodeChannel(p, 3, 3);
+  const [qDc, qAc, qScale] = encodeChannel(q, 3, 3);
+  const [aDc, aAc, aScale] = hasAlpha ? encodeChannel(a, 5, 5) : [0, [], 0];
+
+  // الثوابت
+  const isLandscape = w > h;
+  const header24 =
+    round(63 * lDc) |
+    (round(31.5 + 31.5 * pDc) << 6) |
+    (round(31.5 + 31.5 * qDc) << 12) |
+    (round(31 * lScale) << 18) |
+    ((hasAlpha ? 1 : 0) << 23);
+  const header16 =
+    (isLandscape ? ly : lx) |
+    (round(63 * pScale) << 3) |
+    (round(63 * qScale) << 9) |
+    ((isLandscape ? 1 : 0) << 15);
+  const hash = [header24 & 255, (header24 >> 8) & 255, header24 >> 16, header16 & 255, header16 >> 8];
+  const acStart = hasAlpha ? 6 : 5;
+  let acIndex = 0;
+  if (hasAlpha) {
+    hash.push(round(15 * aDc) | (round(15 * aScale) << 4));
+  }
+
+  // الحدود المتغيرة، 4 بتات لكل منها
+  for (const ac of hasAlpha ? [lAc, pAc, qAc, aAc] : [lAc, pAc, qAc]) {
+    for (const f of ac) {
+      const index = acStart + (acIndex >> 1);
+      hash[index] = (hash[index] || 0) | (round(15 * f) << ((acIndex++ & 1) << 2));
+    }
+  }
+  return new Uint8Array(hash);
+}
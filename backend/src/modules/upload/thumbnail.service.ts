@@ -0,0 +1,149 @@
+import { Injectable, Logger } from '@nestjs/common';
+import * as ffmpeg from 'fluent-ffmpeg';
+import * as path from 'path';
+import * as fs from 'fs';
+import { rgbaToThumbHash } from './thumbhash';
+
+// العروض بالبكسل: من بطاقة 120dp على شاشة منخفضة الكثافة حتى الصورة الرئيسية على شاشة عريضة
+const THUMBNAIL_WIDTHS = [160, 320, 640, 1280];
+const WEBP_QUALITY = 75;
+// أقصى بُعد يقبله ThumbHash
+const THUMBHASH_MAX_SIDE = 100;
+
+export const THUMBNAILS_DIR = 'thumbnails';
+
+/**
+ * أحجام متعددة للصورة المصغرة بصيغة WebP، يختار العميل أصغرها الذي يملأ مكان الصورة.
+ * الناتج خريطة العرض ← اسم الملف، ثم تتحول إلى روابط بعد الرفع (Content.thumbnails).
+ */
+@Injectable()
+export class ThumbnailService {
+  private readonly logger = new Logger(ThumbnailService.name);
+
+  /**
+   * ينشئ outputDir/thumbnails/w<width>.webp من صورة المصدر، دون تكبير
+   */
+  async createVariants(sourcePath: string, outputDir: string): Promise<Record<string, string>> {
+    const dir = path.join(outputDir, THUMBNAILS_DIR);
+    if (!fs.existsSync(dir)) {
+      fs.mkdirSync(dir, { recursive: true });
+    }
+
+    const { width: sourceWidth } = await this.probeSize(sourcePath);
+    const widths = THUMBNAIL_WIDTHS.filter((w) => w <= sourceWidth);
+    if (widths.length === 0) {
+      widths.push(THUMBNAIL_WIDTHS[0]);
+    }
+
+    const variants: Record<string, string> = {};
+    for (const width of widths) {
+      const fileName = `w${width}.webp`;
+      await this.encode(sourcePath, path.join(dir, fileName), width);
+      variants[width] = fileName;
+    }
+
+    this.logger.log(`🖼️ أحجام الصورة المصغرة: ${widths.join(', ')}`);
+    return variants;
+  }
+
+  /**
+   * الأحجام الموجودة في outputDir/thumbnails (خريطة فارغة إن لم تُنشأ)
+   */
+  listVariants(outputDir: string): Record<string, string> {
+    const dir = path.join(outputDir, THUMBNAILS_DIR);
+    if (!fs.existsSync(dir)) {
+      return {};
+    }
+    const variants: Record<string, string> = {};
+    for (const fileName of fs.readdirSync(dir)) {
+      const match = /^w(\d+)\.webp$/.exec(fileName);
+      if (match) {
+        variants[match[1]] = fileName;
+      }
+    }
+    return variants;
+  }
+
+  /**
+   * يحوّل أسماء الملفات إلى روابط بعد رفع مجلد thumbnails إلى baseUrl
+   */
+  toUrls(variants: Record<string, string>, baseUrl: string): Record<string, string> {
+    return Object.fromEntries(
+      Object.entries(variants).map(([width, fileName]) => [width, `${baseUrl}/${fileName}`]),
+    );
+  }
+
+  /**
+   * ThumbHash للصورة (ملف محلي أو رابط) بترميز base64، يُخزَّن مع المحتوى أو المؤدي
+   * ليعرضه العميل فوراً مكان الصورة حتى تصل. null إن تعذّر قراءة الصورة.
+   */
+  async createThumbHash(source: string): Promise<string | null> {
+    try {
+      const size = await this.probeSize(source);
+      const scale = Math.min(1, THUMBHASH_MAX_SIDE / Math.max(size.width, size.height));
+      const width = Math.max(1, Math.round(size.width * scale));
+      const height = Math.max(1, Math.round(size.height * scale));
+      const rgba = await this.decodeRgba(source, width, height);
+      return Buffer.from(rgbaToThumbHash(width, height, rgba)).toString('base64');
+    } catch (error) {
+      this.logger.warn(`⚠️ تعذّر حساب ThumbHash: ${error.message}`);
+      return null;
+    }
+  }
+
+  private decodeRgba(source: string, width: number, height: number): Promise<Uint8Array> {
+    return new Promise((resolve, reject) => {
+      const chunks: Buffer[] = [];
+      const stream = ffmpeg(source)
+        .outputOptions([
+          '-frames:v', '1',
+          '-vf', `scale=${width}:${height}:flags=area`,
+          '-pix_fmt', 'rgba',
+        ])
+        .format('rawvideo')
+        .on('error', reject)
+        .pipe();
+      stream.on('data', (chunk: Buffer) => chunks.push(chunk));
+      stream.on('end', () => {
+        const pixels = Buffer.concat(chunks);
+        if (pixels.length !== width * height * 4) {
+          reject(new Error(`unexpected frame size ${pixels.length}`));
+          return;
+        }
+        resolve(new Uint8Array(pixels));
+      });
+      stream.on('error', reject);
+    });
+  }
+
+  private encode(sourcePath: string, outputPath: string, width: number): Promise<void> {
+    return new Promise((resolve, reject) => {
+      ffmpeg(sourcePath)
+        .outputOptions([
+          '-frames:v', '1',
+          '-vf', `scale=${width}:-2:flags=lanczos`,
+          '-c:v', 'libwebp',
+          '-quality', `${WEBP_QUALITY}`,
+          '-compression_level', '6',
+        ])
+        .output(outputPath)
+        .on('end', () => resolve())
+        .on('error', reject)
+        .run();
+    });
+  }
+
+  private probeSize(sourcePath: string): Promise<{ width: number; height: number }> {
+    return new Promise((resolve, reject) => {
+      ffmpeg.ffprobe(sourcePath, (err, metadata) => {
+        if (err) {
+          reject(err);
+          return;
+        }
+        const stream = metadata.streams.find((s) => s.codec_type === 'video');
+        const fallback = THUMBNAIL_WIDTHS[THUMBNAIL_WIDTHS.length - 1];
+        resolve({ width: stream?.width || fallback, height: stream?.height || fallback });
+      });
+    });
+  }
+}
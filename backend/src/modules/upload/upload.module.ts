@@ -6,6 +6,8 @@ import { UploadController } from './upload.controller';
 import { UploadService } from './upload.service';
 import { CloudStorageService } from './cloud-storage.service';
 import { MetadataService } from './metadata.service';
+import { HlsLadderService } from './hls-ladder.service';
+import { ThumbnailService } from './thumbnail.service';
 
 @Module({
   imports: [
@@ -15,7 +17,7 @@ import { MetadataService } from './metadata.service';
     }),
   ],
   controllers: [UploadController],
-  providers: [UploadService, CloudStorageService, MetadataService],
-  exports: [UploadService, CloudStorageService, MetadataService],
+  providers: [UploadService, CloudStorageService, MetadataService, HlsLadderService, ThumbnailService],
+  exports: [UploadService, CloudStorageService, MetadataService, HlsLadderService, ThumbnailService],
 })
 export class UploadModule {}
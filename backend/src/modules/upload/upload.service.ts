@@ -3,6 +3,8 @@ import { InjectRepository } from '@nestjs/typeorm';
 import { Repository } from 'typeorm';
 import { Content, ContentType } from '../content/content.entity';
 import { CloudStorageService } from './cloud-storage.service';
+import { HlsLadderService } from './hls-ladder.service';
+import { ThumbnailService, THUMBNAILS_DIR } from './thumbnail.service';
 import * as ffmpeg from 'fluent-ffmpeg';
 import * as path from 'path';
 import * as fs from 'fs';
@@ -16,6 +18,8 @@ export class UploadService {
     @InjectRepository(Content)
     private contentRepository: Repository<Content>,
     private cloudStorageService: CloudStorageService,
+    private hlsLadderService: HlsLadderService,
+    private thumbnailService: ThumbnailService,
   ) {
     // تكوين FFmpeg path
     const ffmpegPath = process.env.FFMPEG_PATH || 'ffmpeg';
@@ -74,8 +78,19 @@ export class UploadService {
       await this.extractMetadata(filePath, contentId);
       this.updateProgress(contentId, 10, 'تم استخراج المعلومات');
 
-      // 2. توليد thumbnail
+      // 2. توليد thumbnail وأحجامه
       await this.generateThumbnail(filePath, outputDir, contentId);
+      const thumbnailPath = path.join(outputDir, 'thumbnail.jpg');
+      try {
+        await this.thumbnailService.createVariants(thumbnailPath, outputDir);
+      } catch (error) {
+        // الصورة الأصلية تبقى متاحة في thumbnailUrl
+        this.logger.warn(`⚠️ فشل إنشاء أحجام الصورة المصغرة: ${error.message}`);
+      }
+      const thumbHash = await this.thumbnailService.createThumbHash(thumbnailPath);
+      if (thumbHash) {
+        await this.contentRepository.update(contentId, { thumbHash });
+      }
       this.updateProgress(contentId, 20, 'تم إنشاء الصورة المصغرة');
 
       // 3. إنشاء HLS فيديو (للبث)
@@ -159,37 +174,18 @@ export class UploadService {
   }
 
   /**
-   * إنشاء HLS بسيط (نسخ بدون إعادة تشفير)
+   * إنشاء HLS متعدد الجودات (ABR) مع master.m3u8
    */
-  private createSimpleHLS(
+  private async createSimpleHLS(
     filePath: string,
     outputDir: string,
     contentId: string,
   ): Promise<void> {
-    return new Promise((resolve, reject) => {
-      const hlsDir = path.join(outputDir, 'hls');
-      if (!fs.existsSync(hlsDir)) {
-        fs.mkdirSync(hlsDir, { recursive: true });
-      }
-
-      const playlistPath = path.join(hlsDir, 'master.m3u8');
-      const segmentPattern = path.join(hlsDir, 'segment_%03d.ts');
-
-      ffmpeg(filePath)
-        .output(playlistPath)
-        .videoCodec('copy')
-        .audioCodec('copy')
-        .outputOptions([
-          '-start_number 0',
-          '-hls_time 6',
-          '-hls_list_size 0',
-          '-f hls',
-          `-hls_segment_filename ${segmentPattern}`,
-        ])
-        .on('end', () => resolve())
-        .on('error', reject)
-        .run();
-    });
+    const hlsDir = path.join(outputDir, 'hls');
+    // الترميز هو أطول مرحلة، فتتقدم النسبة من 20 إلى 50 معه
+    await this.hlsLadderService.createLadder(filePath, hlsDir, (percent) =>
+      this.updateProgress(contentId, 20 + Math.floor(percent * 0.3), 'جاري إنشاء HLS'),
+    );
   }
 
   /**
@@ -267,12 +263,27 @@ export class UploadService {
       );
     }
 
-    // 5. تحديث قاعدة البيانات بالروابط
+    // 5. رفع أحجام الصورة المصغرة
+    const thumbnailVariants = this.thumbnailService.listVariants(outputDir);
+    let thumbnails: Record<string, string> = null;
+    if (Object.keys(thumbnailVariants).length > 0) {
+      await this.cloudStorageService.uploadDirectory(
+        path.join(outputDir, THUMBNAILS_DIR),
+        `${r2Prefix}/${THUMBNAILS_DIR}`,
+      );
+      thumbnails = this.thumbnailService.toUrls(
+        thumbnailVariants,
+        `${publicUrl}/${r2Prefix}/${THUMBNAILS_DIR}`,
+      );
+    }
+
+    // 6. تحديث قاعدة البيانات بالروابط
     await this.contentRepository.update(contentId, {
       originalFileUrl: `${publicUrl}/${r2Prefix}/original.mp4`,
       hlsUrl: `${publicUrl}/${r2Prefix}/hls/master.m3u8`,
       audioUrl: `${publicUrl}/${r2Prefix}/audio.mp3`,
       thumbnailUrl: `${publicUrl}/${r2Prefix}/thumbnail.jpg`,
+      thumbnails,
       isProcessed: true,
       isUploadedToCloud: true,
       cloudVideoUrl: `${publicUrl}/${r2Prefix}/original.mp4`,
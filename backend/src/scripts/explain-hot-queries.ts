@@ -0,0 +1,272 @@
+import { DataSource } from 'typeorm';
+import { databaseOptions } from '../database.options';
+import { normalizeArabic, toPrefixTsQuery } from '../modules/content/arabic-normalizer';
+import { searchSql } from '../modules/content/content.service';
+
+/**
+ * يتحقق أن كل استعلام متكرر يستخدم فهرساً: ينشئ المخطط ويطبّق الترحيلات على قاعدة تجريبية،
+ * يملؤها بـ 100 ألف محتوى إن لم تكن مملوءة، ثم يشغّل EXPLAIN (ANALYZE, BUFFERS) لكل استعلام
+ * ويفشل (exit 1) إذا وُجد Seq Scan على أحد الجداول المراقبة، أو تجاوز استعلام له maxMs زمنه.
+ *
+ * EXPLAIN_DATABASE_URL=postgres://.../heritage_explain npm run explain:hot-queries
+ * لا تشغّله على قاعدة الإنتاج: يُنشئ المخطط بـ synchronize ويضيف بيانات وهمية.
+ */
+
+const CONTENT_ROWS = Number(process.env.EXPLAIN_CONTENT_ROWS || 100000);
+const PERFORMER_ROWS = 500;
+const COMMENT_ROWS = 100000;
+const WATCHED_TABLES = new Set(['content', 'performers', 'comments']);
+// هدف البحث أثناء الكتابة
+const SEARCH_MAX_MS = 50;
+
+interface HotQuery {
+  name: string;
+  sql: string;
+  params?: any[];
+  // استعلامات لوحة الإدارة النادرة: تُطبع خطتها ولا يُفشل Seq Scan فيها الفحص
+  allowSeqScan?: boolean;
+  // زمن التنفيذ الأقصى (Execution Time) بالمللي ثانية
+  maxMs?: number;
+}
+
+interface PlanNode {
+  'Node Type': string;
+  'Relation Name'?: string;
+  'Index Name'?: string;
+  'Shared Hit Blocks'?: number;
+  'Shared Read Blocks'?: number;
+  Plans?: PlanNode[];
+}
+
+async function main() {
+  const url = process.env.EXPLAIN_DATABASE_URL;
+  if (!url) {
+    console.error('❌ EXPLAIN_DATABASE_URL غير محدد (قاعدة تجريبية، ليست قاعدة الإنتاج)');
+    process.exit(2);
+  }
+
+  const dataSource = new DataSource({
+    ...databaseOptions((key) => (key === 'DATABASE_URL' ? url : undefined)),
+    ssl: process.env.EXPLAIN_DATABASE_SSL === 'true' ? { rejectUnauthorized: false } : false,
+    synchronize: true,
+    migrationsRun: false,
+    logging: false,
+  });
+  await dataSource.initialize();
+
+  try {
+    const migrations = await dataSource.runMigrations();
+    console.log(`🧱 ترحيلات مطبّقة: ${migrations.map((m) => m.name).join(', ') || 'لا جديد'}`);
+
+    await seed(dataSource);
+    const queries = await hotQueries(dataSource);
+
+    let failures = 0;
+    for (const query of queries) {
+      const [row] = await dataSource.query(
+        `EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) ${query.sql}`,
+        query.params || [],
+      );
+      const explained = row['QUERY PLAN'][0];
+      const nodes = flatten(explained.Plan);
+      const seqScans = nodes.filter(
+        (node) => node['Node Type'] === 'Seq Scan' && WATCHED_TABLES.has(node['Relation Name']),
+      );
+      const indexes = [...new Set(nodes.map((node) => node['Index Name']).filter(Boolean))];
+      const tooSlow = query.maxMs !== undefined && explained['Execution Time'] > query.maxMs;
+      const failed = (seqScans.length > 0 && !query.allowSeqScan) || tooSlow;
+      const status = failed ? '❌' : seqScans.length > 0 ? '⚠️' : '✅';
+
+      console.log(
+        `${status} ${query.name}: ${explained['Execution Time'].toFixed(2)} ms` +
+          `${query.maxMs !== undefined ? ` (الحد ${query.maxMs} ms)` : ''}, ` +
+          `buffers hit=${explained.Plan['Shared Hit Blocks']} read=${explained.Plan['Shared Read Blocks']}, ` +
+          `indexes=${indexes.join(', ') || '-'}`,
+      );
+      if (failed) {
+        failures++;
+      }
+      if (seqScans.length > 0) {
+        console.log(`   Seq Scan على: ${seqScans.map((node) => node['Relation Name']).join(', ')}`);
+      }
+    }
+
+    if (failures > 0) {
+      console.error(`\n❌ ${failures} استعلام/استعلامات بدون فهرس أو أبطأ من حدها`);
+      process.exitCode = 1;
+    } else {
+      console.log('\n✅ كل الاستعلامات المتكررة تستخدم فهارس وضمن حدودها');
+    }
+  } finally {
+    await dataSource.destroy();
+  }
+}
+
+/**
+ * بيانات بتوزيع قريب من الإنتاج: ثلث صوتي، 10% فيديو بلا HLS، 4% غير فعّال، تواريخ على ثلاث سنوات،
+ * وعناوين من نوع التسجيل ورقمه (يملأ الـ trigger حقلَي البحث عند الإدراج)
+ */
+async function seed(dataSource: DataSource) {
+  const [{ count }] = await dataSource.query('SELECT COUNT(*)::int AS count FROM content');
+  if (count >= CONTENT_ROWS) {
+    console.log(`🌱 القاعدة مملوءة مسبقاً (${count} محتوى)`);
+    return;
+  }
+
+  console.log(`🌱 تعبئة ${PERFORMER_ROWS} مؤدٍ و ${CONTENT_ROWS} محتوى و ${COMMENT_ROWS} تعليق...`);
+  await dataSource.query(
+    `
+    INSERT INTO performers (name, "isActive", "createdAt")
+    SELECT 'مؤدي ' || g, g % 20 <> 0, now() - g * interval '1 day'
+    FROM generate_series(1, $1) g
+    `,
+    [PERFORMER_ROWS],
+  );
+  await dataSource.query(
+    `
+    WITH ids AS (SELECT array_agg(id) AS a FROM performers)
+    INSERT INTO content (
+      title, type, "hlsUrl", "thumbnailUrl", "audioUrl",
+      "viewCount", "downloadCount", "isActive", performer_id, "createdAt"
+    )
+    SELECT
+      (ARRAY['موال', 'قصيدة', 'ملحمة', 'نشيد', 'مديح', 'ربابة', 'سيرة', 'مربع'])[1 + g % 8] || ' ' || g,
+      (CASE WHEN g % 3 = 0 THEN 'audio' ELSE 'video' END)::content_type_enum,
+      CASE WHEN g % 3 <> 0 AND g % 10 <> 0 THEN 'https://cdn.example/' || g || '/hls/master.m3u8' END,
+      'https://cdn.example/' || g || '/thumbnail.jpg',
+      CASE WHEN g % 3 = 0 THEN 'https://cdn.example/' || g || '/audio.mp3' END,
+      (random() * 100000)::int,
+      (random() * 5000)::int,
+      g % 25 <> 0,
+      ids.a[1 + (g * 7919) % array_length(ids.a, 1)],
+      now() - random() * interval '1095 days'
+    FROM generate_series(1, $1) g, ids
+    `,
+    [CONTENT_ROWS],
+  );
+  await dataSource.query(
+    `
+    WITH ids AS (SELECT array_agg(id) AS a FROM content)
+    INSERT INTO comments ("contentId", "userName", text, "createdAt")
+    SELECT ids.a[1 + (g * 104729) % array_length(ids.a, 1)], 'مستخدم', 'تعليق ' || g,
+      now() - random() * interval '365 days'
+    FROM generate_series(1, $1) g, ids
+    `,
+    [COMMENT_ROWS],
+  );
+  await dataSource.query('VACUUM ANALYZE content');
+  await dataSource.query('VACUUM ANALYZE performers');
+  await dataSource.query('VACUUM ANALYZE comments');
+}
+
+/**
+ * نفس الاستعلامات التي ترسلها الخدمات (ContentService, PerformersService, AnalyticsService, CommentsService)
+ */
+async function hotQueries(dataSource: DataSource): Promise<HotQuery[]> {
+  const [deep] = await dataSource.query(`
+    SELECT c."createdAt"::text AS "createdAt", c.id
+    FROM content c
+    WHERE c."isActive" = true AND c.is_playable
+    ORDER BY c."createdAt" DESC, c.id DESC
+    OFFSET ${Math.floor(CONTENT_ROWS * 0.8)} LIMIT 1
+  `);
+  const [busiest] = await dataSource.query(`
+    SELECT performer_id AS id FROM content GROUP BY performer_id ORDER BY COUNT(*) DESC LIMIT 1
+  `);
+  const [performerCursor] = await dataSource.query(
+    `
+    SELECT c."createdAt"::text AS "createdAt", c.id
+    FROM content c
+    WHERE c."isActive" = true AND c.is_playable AND c.performer_id = $1
+    ORDER BY c."createdAt" DESC, c.id DESC
+    OFFSET 100 LIMIT 1
+    `,
+    [busiest.id],
+  );
+  const [commented] = await dataSource.query('SELECT "contentId" AS id FROM comments LIMIT 1');
+
+  const search = (name: string, query: string, fuzzy: boolean): HotQuery => {
+    const term = normalizeArabic(query).trim();
+    const tsQuery = toPrefixTsQuery(term);
+    return {
+      name,
+      sql: searchSql(fuzzy),
+      params: fuzzy ? [tsQuery, 20, 0, term] : [tsQuery, 20, 0],
+      maxMs: SEARCH_MAX_MS,
+    };
+  };
+
+  const feed = (extra: string) => `
+    SELECT c.id, c."createdAt"::text AS "createdAt"
+    FROM content c
+    WHERE c."isActive" = true AND c.is_playable ${extra}
+    ORDER BY c."createdAt" DESC, c.id DESC
+    LIMIT 21`;
+
+  return [
+    { name: 'GET /content (الصفحة الأولى)', sql: feed('') },
+    {
+      name: 'GET /content?after= (صفحة عميقة)',
+      sql: feed('AND (c."createdAt", c.id) < ($1::timestamp, $2::uuid)'),
+      params: [deep.createdAt, deep.id],
+    },
+    {
+      name: 'GET /content?performerId=&after=',
+      sql: feed('AND c.performer_id = $1 AND (c."createdAt", c.id) < ($2::timestamp, $3::uuid)'),
+      params: [busiest.id, performerCursor.createdAt, performerCursor.id],
+    },
+    {
+      name: 'COUNT محتوى المؤدي القابل للتشغيل',
+      sql: 'SELECT COUNT(*) FROM content WHERE "isActive" AND is_playable AND performer_id = $1',
+      params: [busiest.id],
+    },
+    {
+      name: 'GET /content/trending',
+      sql: `SELECT id FROM content WHERE "isActive" AND is_playable
+            ORDER BY "viewCount" DESC, "createdAt" DESC LIMIT 10`,
+    },
+    {
+      name: 'GET /content/recommended',
+      sql: `SELECT id FROM content WHERE "isActive" AND is_playable AND "viewCount" > 10
+            ORDER BY "viewCount" DESC, "downloadCount" DESC LIMIT 10`,
+    },
+    {
+      name: 'GET /performers/:id/content',
+      sql: `SELECT id FROM content WHERE performer_id = $1 AND "isActive"
+            ORDER BY "createdAt" DESC, id DESC LIMIT 20 OFFSET 40`,
+      params: [busiest.id],
+    },
+    search('GET /content/search?q= (حرفان، بادئة فقط)', 'مو', false),
+    search('GET /content/search?q= (كلمة شائعة)', 'قصيدة', true),
+    search('GET /content/search?q= (تسجيل محدد)', 'سيرة 4242', true),
+    search('GET /content/search?q= (خطأ إملائي، trigram)', 'ملخمة', true),
+    {
+      name: 'GET /performers',
+      sql: 'SELECT id FROM performers WHERE "isActive" ORDER BY "createdAt" DESC LIMIT 20',
+    },
+    {
+      name: 'analytics: الأكثر مشاهدة',
+      sql: 'SELECT id FROM content WHERE "isActive" ORDER BY "viewCount" DESC LIMIT 10',
+      allowSeqScan: true,
+    },
+    {
+      name: 'analytics: الأكثر تحميلاً',
+      sql: 'SELECT id FROM content WHERE "isActive" ORDER BY "downloadCount" DESC LIMIT 10',
+      allowSeqScan: true,
+    },
+    {
+      name: 'GET /comments/content/:id',
+      sql: 'SELECT id FROM comments WHERE "contentId" = $1 ORDER BY "createdAt" DESC',
+      params: [commented.id],
+    },
+  ];
+}
+
+function flatten(node: PlanNode): PlanNode[] {
+  return [node, ...(node.Plans || []).flatMap(flatten)];
+}
+
+main().catch((error) => {
+  console.error('❌', error);
+  process.exit(1);
+});
@@ -1,6 +1,8 @@
 import { Box, IconButton, Typography, Avatar, Slider, Paper, Fade } from '@mui/material'
 import { PlayArrow, Pause, Close, SkipNext, SkipPrevious } from '@mui/icons-material'
 import { useNavigate } from 'react-router-dom'
+import { thumbnailSrcSet } from '../services/thumbnails'
+import { thumbHashBackground } from '../services/thumbhash'
 
 interface MiniPlayerProps {
   content: any
@@ -90,11 +92,14 @@ export default function MiniPlayer({
           >
             <img
               src={content.thumbnailUrl}
+              srcSet={thumbnailSrcSet(content)}
+              sizes="80px"
               alt={content.title}
               style={{
                 width: '100%',
                 height: '100%',
                 objectFit: 'cover',
+                ...thumbHashBackground(content.thumbHash),
               }}
             />
           </Box>
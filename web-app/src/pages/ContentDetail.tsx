@@ -23,7 +23,9 @@ import {
   PlayArrow,
   Headphones,
 } from '@mui/icons-material'
-import api from '../services/api'
+import api, { deviceHeaders } from '../services/api'
+import { thumbnailFor, thumbnailSrcSet } from '../services/thumbnails'
+import { thumbHashBackground } from '../services/thumbhash'
 
 function formatDate(dateString: string) {
   if (!dateString) return ''
@@ -100,7 +102,7 @@ export default function ContentDetail() {
       const viewedList = viewedItems ? JSON.parse(viewedItems) : []
 
       if (!viewedList.includes(id) && !viewTracked.current) {
-        await api.post(`/content/${id}/view`)
+        await api.post(`/content/${id}/view`, null, { headers: deviceHeaders })
         viewedList.push(id)
         sessionStorage.setItem('viewedContent', JSON.stringify(viewedList))
         viewTracked.current = true
@@ -295,7 +297,7 @@ export default function ContentDetail() {
                     width: '100%',
                     height: '100%',
                     position: 'relative',
-                    backgroundImage: `url(${content.thumbnailUrl})`,
+                    backgroundImage: `url(${thumbnailFor(content, 1280)})`,
                     backgroundSize: 'cover',
                     backgroundPosition: 'center',
                     display: 'flex',
@@ -411,7 +413,9 @@ export default function ContentDetail() {
                     <CardMedia
                       component="img"
                       image={nextContent.thumbnailUrl}
-                      sx={{ width: 120, aspectRatio: '16/9', borderRadius: 1 }}
+                      srcSet={thumbnailSrcSet(nextContent)}
+                      sizes="120px"
+                      sx={{ width: 120, aspectRatio: '16/9', borderRadius: 1, ...thumbHashBackground(nextContent.thumbHash) }}
                     />
                     <Box sx={{ textAlign: 'right' }}>
                       <Typography variant="subtitle1" color="white" fontWeight="bold">
@@ -577,8 +581,10 @@ export default function ContentDetail() {
                     <Box sx={{ position: 'relative' }}>
                       <CardMedia
                         component="img"
-                        sx={{ width: 168, aspectRatio: '16/9', borderRadius: 1 }}
+                        sx={{ width: 168, aspectRatio: '16/9', borderRadius: 1, ...thumbHashBackground(item.thumbHash) }}
                         image={item.thumbnailUrl}
+                        srcSet={thumbnailSrcSet(item)}
+                        sizes="168px"
                         alt={item.title}
                       />
                       <Box
@@ -22,6 +22,8 @@ import {
 } from '@mui/material'
 import { PlayArrow, Headphones, Visibility, GetApp, AccessTime, Sort, TrendingUp } from '@mui/icons-material'
 import api from '../services/api'
+import { GRID_CARD_SIZES, thumbnailSrcSet } from '../services/thumbnails'
+import { thumbHashBackground } from '../services/thumbhash'
 
 function formatTimeAgo(date: string) {
   const now = new Date()
@@ -166,12 +168,15 @@ export default function Home() {
             <CardMedia
               component="img"
               image={item.thumbnailUrl}
+              srcSet={thumbnailSrcSet(item)}
+              sizes={GRID_CARD_SIZES}
               alt={item.title}
               className="thumbnail"
               sx={{
                 aspectRatio: '16/9',
                 transition: 'transform 0.4s cubic-bezier(0.4, 0, 0.2, 1)',
                 bgcolor: 'grey.300',
+                ...thumbHashBackground(item.thumbHash),
               }}
               onError={(e) => {
                 e.currentTarget.src = 'https://via.placeholder.com/640x360/1a1a1a/ffffff?text=No+Image';
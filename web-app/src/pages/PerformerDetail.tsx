@@ -15,6 +15,8 @@ import {
 } from '@mui/material'
 import { LocationOn, PlayArrow, Headphones, Visibility } from '@mui/icons-material'
 import api from '../services/api'
+import { GRID_CARD_SIZES, thumbnailSrcSet } from '../services/thumbnails'
+import { thumbHashBackground } from '../services/thumbhash'
 
 function formatDate(dateString: string) {
   if (!dateString) return ''
@@ -137,10 +139,13 @@ export default function PerformerDetail() {
                     <CardMedia
                       component="img"
                       image={item.thumbnailUrl}
+                      srcSet={thumbnailSrcSet(item)}
+                      sizes={GRID_CARD_SIZES}
                       alt={item.title}
                       sx={{
                         aspectRatio: '16/9',
                         objectFit: 'cover',
+                        ...thumbHashBackground(item.thumbHash),
                       }}
                       onError={(e) => {
                         e.target.src = 'https://via.placeholder.com/640x360/1a1a1a/ffffff?text=No+Image';
@@ -14,6 +14,7 @@ import {
 } from '@mui/material'
 import { Search as SearchIcon, PlayArrow, Headphones } from '@mui/icons-material'
 import api from '../services/api'
+import { thumbnailFor } from '../services/thumbnails'
 
 export default function Search() {
   const navigate = useNavigate()
@@ -30,7 +31,7 @@ export default function Search() {
 
     setSearching(true)
     try {
-      const response = await api.get(`/content?search=${searchQuery}`)
+      const response = await api.get('/content/search', { params: { q: searchQuery } })
       setResults(response.data.data)
     } catch (error) {
       console.error('Error:', error)
@@ -87,7 +88,7 @@ export default function Search() {
                       bgcolor: 'grey.300',
                       position: 'relative',
                     }}
-                    image={item.thumbnailUrl}
+                    image={thumbnailFor(item, 640)}
                   >
                     <Chip
                       icon={item.type === 'video' ? <PlayArrow /> : <Headphones />}
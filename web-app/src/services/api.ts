@@ -1,7 +1,26 @@
 import axios from 'axios'
 
+// معرف ثابت للمتصفح يحسب به الخادم المشاهدين المختلفين. يُرسل مع /view فقط:
+// ترويسة مخصصة على كل طلب تفرض preflight (OPTIONS) إضافياً على الطلبات عبر النطاقات
+const DEVICE_ID_KEY = 'deviceId'
+
+const deviceId = (() => {
+  try {
+    let id = localStorage.getItem(DEVICE_ID_KEY)
+    if (!id) {
+      id = crypto.randomUUID()
+      localStorage.setItem(DEVICE_ID_KEY, id)
+    }
+    return id
+  } catch {
+    return undefined
+  }
+})()
+
 const api = axios.create({
   baseURL: import.meta.env.VITE_API_BASE_URL || '/api',
 })
 
+export const deviceHeaders: Record<string, string> = deviceId ? { 'X-Device-Id': deviceId } : {}
+
 export default api
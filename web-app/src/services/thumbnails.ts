@@ -0,0 +1,34 @@
+// Content.thumbnails: عرض الصورة بالبكسل ← رابط WebP بذلك العرض (قد تغيب في المحتوى القديم)
+type WithThumbnails = {
+  thumbnailUrl?: string
+  thumbnails?: Record<string, string> | null
+}
+
+// نفس أعمدة شبكة البطاقات: xs=12 sm=6 md=4 lg=3
+export const GRID_CARD_SIZES = '(min-width: 1200px) 25vw, (min-width: 900px) 33vw, (min-width: 600px) 50vw, 100vw'
+
+function variants(item: WithThumbnails): [number, string][] {
+  return Object.entries(item.thumbnails || {})
+    .map(([width, url]): [number, string] => [Number(width), url])
+    .filter(([width]) => width > 0)
+    .sort((a, b) => a[0] - b[0])
+}
+
+/**
+ * قيمة srcSet للمتصفح ليختار الحجم المناسب لعرض الصورة وكثافة الشاشة
+ */
+export function thumbnailSrcSet(item: WithThumbnails): string | undefined {
+  const list = variants(item)
+  if (list.length === 0) return undefined
+  return list.map(([width, url]) => `${url} ${width}w`).join(', ')
+}
+
+/**
+ * أصغر حجم لا يقل عن width (للخلفيات وأماكن لا تدعم srcSet)
+ */
+export function thumbnailFor(item: WithThumbnails, width: number): string | undefined {
+  const list = variants(item)
+  if (list.length === 0) return item.thumbnailUrl
+  const match = list.find(([w]) => w >= width) || list[list.length - 1]
+  return match[1]
+}